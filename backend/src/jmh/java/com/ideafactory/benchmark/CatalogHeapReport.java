@@ -0,0 +1,274 @@
+package com.ideafactory.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ideafactory.model.Idea;
+import com.ideafactory.service.CatalogSnapshot;
+import com.ideafactory.service.CatalogView;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catalog Heap Report
+ * Holds loadtest.ideas ideas (with TEXT-sized descriptions) in memory two
+ * ways, each in its own JVM with the same heap: as Idea objects on the
+ * heap, and as an off-heap CatalogSnapshot. Both then serve the same mix
+ * of pages, lookups by id and filters, serialized to JSON, from
+ * loadtest.concurrency threads. Reports heap occupancy after a full GC,
+ * buffer memory outside the heap, and GC pause count, total, p99 and max
+ * while serving.
+ *
+ * Run with: mvn -Pbenchmarks compile exec:exec@catalog-heap -Dloadtest.ideas=200000
+ */
+public class CatalogHeapReport {
+
+    private static final String[] MODES = {"heap", "offheap"};
+    private static final String[] CATEGORIES = {"Manufacturing", "Services", "Retail", "Agriculture", "Unicorn"};
+    private static final String[] SECTORS = {"Food", "Technology", "Healthcare", "Education", "Textiles", "Finance"};
+    private static final int PAGE_SIZE = 20;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            serve(args[0]);
+            return;
+        }
+        String reportFile = System.getProperty("loadtest.report", "target/catalog-heap-report.json");
+        String heap = System.getProperty("loadtest.heap", "2g");
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("ideas", Integer.getInteger("loadtest.ideas", 200_000));
+        report.put("concurrency", Integer.getInteger("loadtest.concurrency", 4));
+        report.put("heap", heap);
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (String mode : MODES) {
+            List<String> command = new ArrayList<>(List.of(
+                    ProcessHandle.current().info().command().orElse("java"),
+                    "-Xms" + heap, "-Xmx" + heap, "-XX:MaxDirectMemorySize=4g", "-XX:+UseG1GC"));
+            for (String property : List.of("loadtest.ideas", "loadtest.concurrency", "loadtest.durationSeconds")) {
+                if (System.getProperty(property) != null) {
+                    command.add("-D" + property + "=" + System.getProperty(property));
+                }
+            }
+            command.addAll(List.of("-cp", System.getProperty("java.class.path"), CatalogHeapReport.class.getName(), mode));
+            Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+
+            String last = null;
+            try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                for (String line = out.readLine(); line != null; line = out.readLine()) {
+                    last = line;
+                }
+            }
+            if (process.waitFor() != 0 || last == null) {
+                throw new RuntimeException("The " + mode + " run failed");
+            }
+            Object result = objectMapper.readValue(last, Map.class);
+            report.put(mode, result);
+            System.out.printf("%-8s %s%n", mode, result);
+        }
+
+        File file = new File(reportFile);
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("Report written to " + file.getAbsolutePath());
+    }
+
+    // One mode in this JVM; the result is the last line of stdout
+    private static void serve(String mode) throws Exception {
+        int ideas = Integer.getInteger("loadtest.ideas", 200_000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 4);
+        int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 60);
+
+        Catalog catalog = mode.equals("heap") ? new HeapCatalog(catalogIdeas(ideas)) : new OffHeapCatalog(catalogIdeas(ideas));
+        collectGarbage();
+        long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        long buffers = 0;
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            buffers += pool.getMemoryUsed();
+        }
+
+        ConcurrentLinkedQueue<long[]> pauses = new ConcurrentLinkedQueue<>();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) collector).addNotificationListener((notification, handback) -> {
+                if (notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                    GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from(
+                            (CompositeData) notification.getUserData());
+                    pauses.add(new long[] {info.getGcInfo().getDuration()});
+                }
+            }, null, null);
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        AtomicLong operations = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int w = 0; w < concurrency; w++) {
+            long seed = w;
+            workers.submit(() -> {
+                Random random = new Random(seed);
+                CountingStream out = new CountingStream();
+                while (System.nanoTime() < deadline) {
+                    int ticket = random.nextInt(100);
+                    Object response;
+                    if (ticket < 70) {
+                        response = catalog.page(random.nextInt(Math.max(1, ideas / PAGE_SIZE)));
+                    } else if (ticket < 95) {
+                        response = catalog.byId(1 + random.nextInt(ideas));
+                    } else {
+                        response = catalog.filter(CATEGORIES[random.nextInt(CATEGORIES.length)],
+                                SECTORS[random.nextInt(SECTORS.length)]);
+                    }
+                    objectMapper.writeValue(out, response);
+                    operations.incrementAndGet();
+                }
+                bytes.addAndGet(out.count);
+                return null;
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(durationSeconds + 60L, TimeUnit.SECONDS);
+
+        long[] sorted = pauses.stream().mapToLong(p -> p[0]).sorted().toArray();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("heapUsedAfterGcMb", heapUsed / (1024 * 1024));
+        result.put("buffersOutsideHeapMb", buffers / (1024 * 1024));
+        result.put("operationsPerSecond", operations.get() / durationSeconds);
+        result.put("responseMbPerSecond", bytes.get() / (1024 * 1024) / durationSeconds);
+        result.put("gcPauses", sorted.length);
+        result.put("gcPauseTotalMs", Arrays.stream(sorted).sum());
+        result.put("gcPauseP99Ms", sorted.length > 0 ? sorted[Math.max(0, (int) Math.ceil(0.99 * sorted.length) - 1)] : 0);
+        result.put("gcPauseMaxMs", sorted.length > 0 ? sorted[sorted.length - 1] : 0);
+        System.out.println(objectMapper.writeValueAsString(result));
+        System.exit(0);
+    }
+
+    // Synthetic ideas with description, resources and success stories at TEXT-column length
+    private static List<Idea> catalogIdeas(int count) {
+        List<Idea> ideas = SyntheticIdeas.ideas(count);
+        for (Idea idea : ideas) {
+            idea.setDescription(text(idea.getDescription(), 1200));
+            idea.setResources(text(idea.getResources(), 300));
+            idea.setSuccessExamples(text(idea.getSuccessExamples(), 300));
+        }
+        return ideas;
+    }
+
+    private static String text(String seed, int length) {
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            text.append(seed).append(' ');
+        }
+        return text.substring(0, length);
+    }
+
+    private static void collectGarbage() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+    }
+
+    private interface Catalog {
+        Object page(int page);
+
+        Object byId(long id);
+
+        Object filter(String category, String sector);
+    }
+
+    // What caching the entities amounts to: every idea and its text as objects
+    private static final class HeapCatalog implements Catalog {
+
+        private final List<Idea> ideas;
+        private final Map<Long, Idea> byId = new HashMap<>();
+
+        HeapCatalog(List<Idea> ideas) {
+            this.ideas = ideas;
+            for (Idea idea : ideas) {
+                byId.put(idea.getId(), idea);
+            }
+        }
+
+        @Override
+        public Object page(int page) {
+            int from = Math.min(page * PAGE_SIZE, ideas.size());
+            return new PageImpl<>(ideas.subList(from, Math.min(from + PAGE_SIZE, ideas.size())),
+                    PageRequest.of(page, PAGE_SIZE), ideas.size());
+        }
+
+        @Override
+        public Object byId(long id) {
+            return byId.get(id);
+        }
+
+        @Override
+        public Object filter(String category, String sector) {
+            List<Idea> matches = new ArrayList<>();
+            for (Idea idea : ideas) {
+                if (category.equals(idea.getCategory()) && sector.equals(idea.getSector())) {
+                    matches.add(idea);
+                }
+            }
+            return matches;
+        }
+    }
+
+    private static final class OffHeapCatalog implements Catalog {
+
+        private final CatalogView view;
+
+        OffHeapCatalog(List<Idea> ideas) {
+            CatalogSnapshot snapshot = CatalogSnapshot.build(1, 1, ideas);
+            ideas.clear();
+            CatalogSnapshot none = CatalogSnapshot.build(1, 1, List.of());
+            view = new CatalogView(snapshot, none, Set.of(), 1);
+        }
+
+        @Override
+        public Object page(int page) {
+            return view.findPage(CatalogSnapshot.Filter.ALL, PageRequest.of(page, PAGE_SIZE));
+        }
+
+        @Override
+        public Object byId(long id) {
+            return view.findById(id).orElse(null);
+        }
+
+        @Override
+        public Object filter(String category, String sector) {
+            return view.find(new CatalogSnapshot.Filter(category, sector, null, null, null, false));
+        }
+    }
+
+    private static final class CountingStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.ideafactory.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ideafactory.model.Idea;
+import com.ideafactory.service.CatalogIdea;
+import com.ideafactory.service.CatalogSnapshot;
+import com.ideafactory.service.CatalogView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog snapshot over 10k ideas: mapping the file at startup, and the
+ * catalog reads served from it with 1% of the ideas changed since, and
+ * a page of 20 serialized from the snapshot buffers vs from decoded ideas
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogSnapshotBenchmark {
+
+    @Param({"10000"})
+    public int ideas;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Path file;
+    private CatalogView view;
+    private long id;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Idea> catalog = SyntheticIdeas.ideas(ideas);
+        file = Files.createTempFile("catalog-snapshot", ".bin");
+        CatalogSnapshot.build(1, 1, catalog).writeTo(file);
+        CatalogSnapshot changes = CatalogSnapshot.build(2, 2, catalog.subList(0, ideas / 100));
+        view = new CatalogView(CatalogSnapshot.map(file), changes, Set.of(), 2);
+        id = ideas / 2;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public CatalogSnapshot mapSnapshot() throws IOException {
+        return CatalogSnapshot.map(file);
+    }
+
+    @Benchmark
+    public Optional<Idea> findById() {
+        return view.findById(id);
+    }
+
+    @Benchmark
+    public Page<CatalogIdea> findActivePage() {
+        return view.findPage(CatalogSnapshot.Filter.ACTIVE, PageRequest.of(10, 20));
+    }
+
+    @Benchmark
+    public List<CatalogIdea> findWithFilters() {
+        return view.find(new CatalogSnapshot.Filter("Services", "Technology", null, null,
+                BigDecimal.valueOf(1_000_000), true));
+    }
+
+    @Benchmark
+    public List<String> findDistinctCategories() {
+        return view.findDistinct(CatalogSnapshot.Facet.CATEGORY);
+    }
+
+    @Benchmark
+    public byte[] serializePageFromBuffer() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(view.findPage(CatalogSnapshot.Filter.ACTIVE, PageRequest.of(10, 20)));
+    }
+
+    @Benchmark
+    public byte[] serializePageOfDecodedIdeas() throws JsonProcessingException {
+        Page<Idea> page = view.findPage(CatalogSnapshot.Filter.ACTIVE, PageRequest.of(10, 20)).map(CatalogIdea::toIdea);
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
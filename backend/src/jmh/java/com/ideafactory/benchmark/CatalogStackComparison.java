@@ -0,0 +1,249 @@
+package com.ideafactory.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ideafactory.IdeasApplication;
+import com.ideafactory.config.JwtTokenUtil;
+import com.ideafactory.reactive.ReactiveCatalogApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catalog Stack Comparison
+ * Serves one seeded H2 catalog from both stacks in this JVM: the servlet
+ * application (Tomcat, JPA) and the reactive catalog (Netty, R2DBC on the
+ * same in-memory database). For each stack it measures
+ *  - tail latency and throughput of the read endpoints both serve, with
+ *    loadtest.concurrency clients issuing requests back to back
+ *  - memory per connection: heap and threads held while loadtest.slowClients
+ *    clients each request the full /api/ideas list and stop reading
+ *
+ * Run with: mvn -Pbenchmarks,reactive-catalog compile exec:exec@catalog-stacks -Dloadtest.concurrency=2000
+ */
+public class CatalogStackComparison {
+
+    private static final String[] STACKS = {"servlet", "reactive"};
+
+    // Request-serving thread name prefixes: Tomcat workers, Reactor Netty event loops
+    private static final Map<String, String> SERVER_THREADS = Map.of("servlet", "http-nio-", "reactive", "reactor-http-");
+
+    public static void main(String[] args) throws Exception {
+        int ideas = Integer.getInteger("loadtest.ideas", 2000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 1000);
+        int slowClients = Integer.getInteger("loadtest.slowClients", 500);
+        int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 30);
+        String reportFile = System.getProperty("loadtest.report", "target/catalog-stacks-report.json");
+
+        ConfigurableApplicationContext servlet = new SpringApplicationBuilder(IdeasApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:catalogstacks;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.web.cors.allowed-origins=http://localhost:3000",
+                        "app.similar-ideas.initial-delay-ms=3600000",
+                        "app.recommendations.initial-delay-ms=3600000",
+                        "logging.level.root=WARN")
+                .run(args);
+        ConfigurableApplicationContext reactive = null;
+        try {
+            List<Long> ideaIds = new SyntheticCatalogSeeder(servlet).seed(ideas, 0, 2, 2, 0, 0);
+            // Command-line arguments, since the profile's own port and URL outrank default properties
+            reactive = ReactiveCatalogApplication.builder().run(
+                    "--server.port=0",
+                    "--spring.r2dbc.url=r2dbc:h2:mem:///catalogstacks;DB_CLOSE_DELAY=-1",
+                    "--spring.r2dbc.username=sa",
+                    "--spring.r2dbc.password=",
+                    "--spring.web.cors.allowed-origins=http://localhost:3000",
+                    "--logging.level.root=WARN");
+
+            String token = servlet.getBean(JwtTokenUtil.class).generateToken("admin", "ADMIN");
+            Map<String, Integer> ports = Map.of(
+                    "servlet", ((WebServerApplicationContext) servlet).getWebServer().getPort(),
+                    "reactive", ((WebServerApplicationContext) reactive).getWebServer().getPort());
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("ideas", ideaIds.size());
+            report.put("concurrency", concurrency);
+            report.put("slowClients", slowClients);
+            for (String stack : STACKS) {
+                int port = ports.get(stack);
+                CatalogStackComparison comparison = new CatalogStackComparison(port, token, ideaIds);
+                comparison.drive(concurrency, warmupSeconds);
+                Map<String, Object> result = new LinkedHashMap<>(comparison.drive(concurrency, durationSeconds));
+                result.putAll(slowClientFootprint(port, token, slowClients, SERVER_THREADS.get(stack)));
+                report.put(stack, result);
+                System.out.printf("%-8s %s%n", stack, result);
+            }
+
+            File file = new File(reportFile);
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+            System.out.println("Report written to " + file.getAbsolutePath());
+        } finally {
+            if (reactive != null) {
+                reactive.close();
+            }
+            servlet.close();
+        }
+    }
+
+    private final String baseUrl;
+    private final String token;
+    private final List<Long> ideaIds;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private CatalogStackComparison(int port, String token, List<Long> ideaIds) {
+        this.baseUrl = "http://localhost:" + port;
+        this.token = token;
+        this.ideaIds = ideaIds;
+    }
+
+    // Paths served by both stacks, weighted like the public browse traffic
+    private String nextPath(Random random) {
+        int ticket = random.nextInt(100);
+        long ideaId = ideaIds.get(random.nextInt(ideaIds.size()));
+        if (ticket < 30) {
+            return "/api/ideas/paginated?page=" + random.nextInt(50) + "&size=20";
+        } else if (ticket < 60) {
+            return "/api/ideas/" + ideaId;
+        } else if (ticket < 70) {
+            return "/api/ideas/filter?category=Services&sector=Technology";
+        } else if (ticket < 80) {
+            return "/api/categories";
+        } else if (ticket < 90) {
+            return "/api/idea-details/" + ideaId + "/schemes";
+        }
+        return "/api/idea-details/" + ideaId + "/bank-loans";
+    }
+
+    private Map<String, Object> drive(int concurrency, int seconds) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        for (int w = 0; w < concurrency; w++) {
+            long seed = w;
+            workers.submit(() -> {
+                Random random = new Random(seed);
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + nextPath(random)))
+                            .header("Authorization", "Bearer " + token)
+                            .GET()
+                            .build();
+                    long t0 = System.nanoTime();
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies.add(System.nanoTime() - t0);
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", sorted.length);
+        stats.put("errors", errors.get());
+        stats.put("throughputPerSecond", Math.round(sorted.length / elapsedSeconds));
+        stats.put("p50Ms", percentile(sorted, 0.50));
+        stats.put("p99Ms", percentile(sorted, 0.99));
+        stats.put("p999Ms", percentile(sorted, 0.999));
+        stats.put("maxMs", sorted.length > 0 ? sorted[sorted.length - 1] / 1e6 : 0.0);
+        return stats;
+    }
+
+    // Open the connections, send the request, never read: the server has to hold each response
+    private static Map<String, Object> slowClientFootprint(int port, String token, int clients, String threadPrefix)
+            throws IOException, InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        byte[] request = ("GET /api/ideas HTTP/1.1\r\nHost: localhost\r\nAuthorization: Bearer " + token
+                + "\r\nAccept: application/json\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+
+        collectGarbage();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+
+        List<Socket> sockets = new ArrayList<>(clients);
+        try {
+            for (int c = 0; c < clients; c++) {
+                Socket socket = new Socket();
+                socket.setReceiveBufferSize(4096);
+                socket.connect(new InetSocketAddress("localhost", port), 10_000);
+                OutputStream out = socket.getOutputStream();
+                out.write(request);
+                out.flush();
+                sockets.add(socket);
+            }
+            Thread.sleep(10_000);
+
+            int started = 0;
+            for (Socket socket : sockets) {
+                if (socket.getInputStream().available() > 0) {
+                    started++;
+                }
+            }
+            collectGarbage();
+            long heapDuring = memory.getHeapMemoryUsage().getUsed();
+            long serverThreads = Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> thread.getName().startsWith(threadPrefix))
+                    .count();
+
+            Map<String, Object> footprint = new LinkedHashMap<>();
+            footprint.put("slowResponsesStarted", started);
+            footprint.put("heapPerSlowConnectionKb", (heapDuring - heapBefore) / 1024 / clients);
+            footprint.put("serverThreads", serverThreads);
+            return footprint;
+        } finally {
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+            // Let the server notice the closed connections before the next stack runs
+            Thread.sleep(5_000);
+        }
+    }
+
+    private static void collectGarbage() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
@@ -0,0 +1,80 @@
+package com.ideafactory.benchmark;
+
+import com.ideafactory.IdeasApplication;
+import com.ideafactory.model.Idea;
+import com.ideafactory.repository.IdeaRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Idea inserts per second on H2, saved the way bulk uploads and proposal
+ * promotion save them: a chunk of ideas (each with its audience and
+ * advantage rows) per transaction through IdeaRepository.saveAll
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(IdeaInsertBenchmark.CHUNK)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IdeaInsertBenchmark {
+
+    static final int CHUNK = 500;
+
+    private ConfigurableApplicationContext context;
+    private IdeaRepository ideaRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private List<Idea> chunk;
+
+    @Setup(Level.Trial)
+    public void boot() {
+        context = new SpringApplicationBuilder(IdeasApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:inserts;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.web.cors.allowed-origins=http://localhost:3000",
+                        "app.similar-ideas.initial-delay-ms=3600000",
+                        "app.recommendations.initial-delay-ms=3600000",
+                        "logging.level.root=WARN")
+                .run();
+        ideaRepository = context.getBean(IdeaRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void newChunk() {
+        chunk = SyntheticIdeas.ideas(CHUNK);
+        // New rows: let the generator assign ids
+        chunk.forEach(idea -> idea.setId(null));
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        jdbcTemplate.update("DELETE FROM idea_target_audience");
+        jdbcTemplate.update("DELETE FROM idea_special_advantages");
+        jdbcTemplate.update("DELETE FROM ideas WHERE id > 2");
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Idea> saveChunk() {
+        return transactionTemplate.execute(status -> ideaRepository.saveAll(chunk));
+    }
+}
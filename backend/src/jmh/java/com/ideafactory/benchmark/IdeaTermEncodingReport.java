@@ -0,0 +1,279 @@
+package com.ideafactory.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ideafactory.model.Idea;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * Idea Term Encoding Report
+ * Stores loadtest.ideas synthetic ideas in H2 twice: with the attribute
+ * columns as VARCHAR(255), the way Hibernate mapped them before, and as
+ * INTEGER codes into an idea_terms table, the way IdeaTermConverter maps
+ * them now. For each layout it reports table and index storage, the time
+ * of the findWithAllFilters equality filters, and the heap taken by the
+ * loaded ideas when every row brings its own strings versus when they are
+ * resolved through a shared dictionary.
+ *
+ * Run with: mvn -Pbenchmarks compile exec:exec@term-encoding -Dloadtest.ideas=200000
+ */
+public class IdeaTermEncodingReport {
+
+    private static final String[] LAYOUTS = {"text", "coded"};
+    private static final int QUERIES = 2_000;
+    // The values SyntheticIdeas draws from
+    private static final String[] CATEGORIES = {"Manufacturing", "Services", "Retail", "Agriculture", "Unicorn"};
+    private static final String[] SECTORS = {"Food", "Technology", "Healthcare", "Education", "Textiles", "Finance"};
+    private static final String[] AUDIENCES = {"Students", "Women", "Farmers", "Retirees", "Professionals"};
+
+    public static void main(String[] args) throws Exception {
+        int count = Integer.getInteger("loadtest.ideas", 200_000);
+        String reportFile = System.getProperty("loadtest.report", "target/term-encoding-report.json");
+        List<Idea> ideas = SyntheticIdeas.ideas(count);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("ideas", count);
+        Map<String, Integer> codes = codes(ideas);
+        report.put("terms", codes.size());
+        for (String layout : LAYOUTS) {
+            boolean coded = layout.equals("coded");
+            // One database file per layout; its compacted size is what the layout stores
+            Path database = Path.of("target", "term-encoding-" + layout);
+            Files.deleteIfExists(Path.of(database + ".mv.db"));
+            String url = "jdbc:h2:file:" + database.toAbsolutePath() + ";CACHE_SIZE=1024";
+            Map<String, Object> result = new LinkedHashMap<>();
+            try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+                createTables(connection, codes, layout, coded);
+                insert(connection, layout, ideas, codes, coded);
+                compact(connection);
+            }
+            long tableBytes = Files.size(Path.of(database + ".mv.db"));
+            try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+                createIndexes(connection, layout);
+                compact(connection);
+            }
+            long indexedBytes = Files.size(Path.of(database + ".mv.db"));
+            result.put("tableKb", tableBytes / 1024);
+            result.put("indexKb", (indexedBytes - tableBytes) / 1024);
+            try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+                result.put("categorySectorFilterMicros", filterMicros(connection, layout, codes, coded, false));
+                result.put("withAudienceFilterMicros", filterMicros(connection, layout, codes, coded, true));
+                result.put("loadedHeapKb", loadedHeap(connection, layout, codes, coded) / 1024);
+            }
+            report.put(layout, result);
+            System.out.printf("%-6s %s%n", layout, result);
+        }
+
+        File file = new File(reportFile);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("Report written to " + file.getAbsolutePath());
+    }
+
+    private static Map<String, Integer> codes(List<Idea> ideas) {
+        Map<String, Integer> codes = new LinkedHashMap<>();
+        for (Idea idea : ideas) {
+            for (String term : terms(idea)) {
+                codes.putIfAbsent(term, codes.size() + 1);
+            }
+        }
+        return codes;
+    }
+
+    private static void createTables(Connection connection, Map<String, Integer> codes, String layout, boolean coded)
+            throws SQLException {
+        String type = coded ? "INTEGER" : "VARCHAR(255)";
+        try (Statement statement = connection.createStatement()) {
+            if (coded) {
+                statement.execute("CREATE TABLE idea_terms (id INTEGER PRIMARY KEY, term VARCHAR(255) NOT NULL UNIQUE)");
+                try (PreparedStatement insert = connection.prepareStatement("INSERT INTO idea_terms VALUES (?, ?)")) {
+                    for (Map.Entry<String, Integer> code : codes.entrySet()) {
+                        insert.setInt(1, code.getValue());
+                        insert.setString(2, code.getKey());
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+            }
+            statement.execute("CREATE TABLE ideas_" + layout + " (id BIGINT PRIMARY KEY, title VARCHAR(255), "
+                    + "category " + type + ", sector " + type + ", difficulty_level " + type + ", "
+                    + "time_to_market " + type + ", location " + type + ", investment_needed NUMERIC(38,2), "
+                    + "active BOOLEAN)");
+            statement.execute("CREATE TABLE audience_" + layout + " (idea_id BIGINT, target_audience " + type + ")");
+            statement.execute("CREATE TABLE advantages_" + layout + " (idea_id BIGINT, special_advantages " + type + ")");
+        }
+    }
+
+    // The indexes init.sql keeps on these columns, plus the collection values
+    private static void createIndexes(Connection connection, String layout) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String columns : List.of("category", "sector", "difficulty_level", "location", "category, sector")) {
+                statement.execute("CREATE INDEX ON ideas_" + layout + " (" + columns + ")");
+            }
+            statement.execute("CREATE INDEX ON audience_" + layout + " (idea_id, target_audience)");
+            statement.execute("CREATE INDEX ON advantages_" + layout + " (idea_id, special_advantages)");
+        }
+    }
+
+    private static void insert(Connection connection, String layout, List<Idea> ideas, Map<String, Integer> codes,
+                               boolean coded) throws SQLException {
+        try (PreparedStatement idea = connection.prepareStatement(
+                     "INSERT INTO ideas_" + layout + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement audience = connection.prepareStatement(
+                     "INSERT INTO audience_" + layout + " VALUES (?, ?)");
+             PreparedStatement advantage = connection.prepareStatement(
+                     "INSERT INTO advantages_" + layout + " VALUES (?, ?)")) {
+            for (Idea row : ideas) {
+                idea.setLong(1, row.getId());
+                idea.setString(2, row.getTitle());
+                set(idea, 3, row.getCategory(), codes, coded);
+                set(idea, 4, row.getSector(), codes, coded);
+                set(idea, 5, row.getDifficultyLevel(), codes, coded);
+                set(idea, 6, row.getTimeToMarket(), codes, coded);
+                set(idea, 7, row.getLocation(), codes, coded);
+                idea.setBigDecimal(8, row.getInvestmentNeeded());
+                idea.setBoolean(9, row.isActive());
+                idea.addBatch();
+                for (String value : row.getTargetAudience()) {
+                    audience.setLong(1, row.getId());
+                    set(audience, 2, value, codes, coded);
+                    audience.addBatch();
+                }
+                for (String value : row.getSpecialAdvantages()) {
+                    advantage.setLong(1, row.getId());
+                    set(advantage, 2, value, codes, coded);
+                    advantage.addBatch();
+                }
+                if (row.getId() % 1000 == 0) {
+                    idea.executeBatch();
+                    audience.executeBatch();
+                    advantage.executeBatch();
+                }
+            }
+            idea.executeBatch();
+            audience.executeBatch();
+            advantage.executeBatch();
+        }
+    }
+
+    private static void compact(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN COMPACT");
+        }
+    }
+
+    // findWithAllFilters with category and sector set, and optionally a target audience
+    private static double filterMicros(Connection connection, String layout, Map<String, Integer> codes,
+                                       boolean coded, boolean audience) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM ideas_" + layout + " i WHERE i.category = ? AND i.sector = ?"
+                + (audience ? " AND EXISTS (SELECT 1 FROM audience_" + layout + " a "
+                        + "WHERE a.idea_id = i.id AND a.target_audience = ?)" : "");
+        Random random = new Random(7);
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            long start = 0;
+            for (int q = 0; q < QUERIES * 2; q++) {
+                // First half warms up
+                if (q == QUERIES) {
+                    start = System.nanoTime();
+                }
+                set(statement, 1, CATEGORIES[random.nextInt(CATEGORIES.length)], codes, coded);
+                set(statement, 2, SECTORS[random.nextInt(SECTORS.length)], codes, coded);
+                if (audience) {
+                    set(statement, 3, AUDIENCES[random.nextInt(AUDIENCES.length)], codes, coded);
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                }
+            }
+            return Math.round((System.nanoTime() - start) / 1000.0 / QUERIES * 10) / 10.0;
+        }
+    }
+
+    // Heap held by every idea loaded with its attributes and collections
+    private static long loadedHeap(Connection connection, String layout, Map<String, Integer> codes, boolean coded)
+            throws SQLException, InterruptedException {
+        String[] terms = new String[codes.size() + 1];
+        codes.forEach((term, code) -> terms[code] = term);
+        Map<Long, Idea> loaded = new HashMap<>();
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("SELECT id, title, category, sector, difficulty_level, "
+                    + "time_to_market, location FROM ideas_" + layout)) {
+                while (rs.next()) {
+                    Idea idea = new Idea();
+                    idea.setId(rs.getLong(1));
+                    idea.setTitle(rs.getString(2));
+                    idea.setCategory(get(rs, 3, terms, coded));
+                    idea.setSector(get(rs, 4, terms, coded));
+                    idea.setDifficultyLevel(get(rs, 5, terms, coded));
+                    idea.setTimeToMarket(get(rs, 6, terms, coded));
+                    idea.setLocation(get(rs, 7, terms, coded));
+                    idea.setTargetAudience(new ArrayList<>(2));
+                    idea.setSpecialAdvantages(new ArrayList<>(1));
+                    loaded.put(idea.getId(), idea);
+                }
+            }
+            try (ResultSet rs = statement.executeQuery("SELECT idea_id, target_audience FROM audience_" + layout)) {
+                while (rs.next()) {
+                    loaded.get(rs.getLong(1)).getTargetAudience().add(get(rs, 2, terms, coded));
+                }
+            }
+            try (ResultSet rs = statement.executeQuery("SELECT idea_id, special_advantages FROM advantages_" + layout)) {
+                while (rs.next()) {
+                    loaded.get(rs.getLong(1)).getSpecialAdvantages().add(get(rs, 2, terms, coded));
+                }
+            }
+        }
+        // Measured by dropping the ideas, so whatever H2 holds on to is the same on both sides
+        long withIdeas = usedHeap();
+        if (loaded.isEmpty()) {
+            throw new RuntimeException("Nothing loaded from " + layout);
+        }
+        loaded = null;
+        return withIdeas - usedHeap();
+    }
+
+    private static void set(PreparedStatement statement, int index, String value, Map<String, Integer> codes,
+                            boolean coded) throws SQLException {
+        if (coded) {
+            statement.setObject(index, value == null ? null : codes.get(value));
+        } else {
+            statement.setString(index, value);
+        }
+    }
+
+    private static String get(ResultSet rs, int index, String[] terms, boolean coded) throws SQLException {
+        if (!coded) {
+            // H2 shares repeated strings it reads; a networked driver such as PostgreSQL's decodes each value anew
+            String value = rs.getString(index);
+            return value == null ? null : new String(value);
+        }
+        int code = rs.getInt(index);
+        return rs.wasNull() ? null : terms[code];
+    }
+
+    private static List<String> terms(Idea idea) {
+        List<String> terms = new ArrayList<>(List.of(idea.getCategory(), idea.getSector(), idea.getDifficultyLevel(),
+                idea.getTimeToMarket(), idea.getLocation()));
+        terms.addAll(idea.getTargetAudience());
+        terms.addAll(idea.getSpecialAdvantages());
+        return terms;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,47 @@
+package com.ideafactory.benchmark;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+
+/**
+ * Minimal MultipartFile over a byte array so upload parsing can be driven without a servlet container
+ */
+public class InMemoryMultipartFile implements MultipartFile {
+
+    private final String filename;
+    private final byte[] content;
+
+    public InMemoryMultipartFile(String filename, byte[] content) {
+        this.filename = filename;
+        this.content = content;
+    }
+
+    @Override
+    public String getName() { return "file"; }
+
+    @Override
+    public String getOriginalFilename() { return filename; }
+
+    @Override
+    public String getContentType() { return null; }
+
+    @Override
+    public boolean isEmpty() { return content.length == 0; }
+
+    @Override
+    public long getSize() { return content.length; }
+
+    @Override
+    public byte[] getBytes() { return content; }
+
+    @Override
+    public InputStream getInputStream() { return new ByteArrayInputStream(content); }
+
+    @Override
+    public void transferTo(File dest) {
+        throw new UnsupportedOperationException("Not supported for in-memory files");
+    }
+}
@@ -0,0 +1,307 @@
+package com.ideafactory.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ideafactory.IdeasApplication;
+import com.ideafactory.config.JwtTokenUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Load Test Harness
+ * Boots the application against an in-memory H2 database, seeds a synthetic
+ * catalog through the bulk upload path and drives a weighted mix of idea,
+ * idea-detail and user traffic. Reports p50/p95/p99 latency, throughput and
+ * SQL statements per request for every endpoint.
+ *
+ * Run with: mvn -Pbenchmarks compile exec:exec@load-test -Dloadtest.ideas=20000
+ * Add -Dloadtest.virtualThreads=true to serve with the virtual-threads
+ * profile (Java 21+) and compare against a platform-thread run.
+ */
+public class LoadTestHarness {
+
+    static final String USER_PASSWORD = "loadtest123";
+
+    private static final int PROBE_REQUESTS = 20;
+
+    static String userEmail(int index) {
+        return "loadtest.user" + index + "@10000ideas.com";
+    }
+
+    public static void main(String[] args) throws Exception {
+        int ideas = Integer.getInteger("loadtest.ideas", 5000);
+        int reviewsPerIdea = Integer.getInteger("loadtest.reviewsPerIdea", 5);
+        int schemesPerIdea = Integer.getInteger("loadtest.schemesPerIdea", 2);
+        int loansPerIdea = Integer.getInteger("loadtest.loansPerIdea", 2);
+        int investmentsPerIdea = Integer.getInteger("loadtest.investmentsPerIdea", 3);
+        int users = Integer.getInteger("loadtest.users", 500);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 60);
+        String reportFile = System.getProperty("loadtest.report", "target/loadtest-report.json");
+        boolean virtualThreads = Boolean.getBoolean("loadtest.virtualThreads");
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            System.out.println("Virtual threads need Java 21; this run serves requests on platform threads");
+            virtualThreads = false;
+        }
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(IdeasApplication.class)
+                .profiles(virtualThreads ? new String[] {"virtual-threads"} : new String[0])
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.open-in-view=true",
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "spring.web.cors.allowed-origins=http://localhost:3000",
+                        "logging.level.root=WARN")
+                .run(args);
+
+        try {
+            long seedStart = System.nanoTime();
+            List<Long> ideaIds = new SyntheticCatalogSeeder(context)
+                    .seed(ideas, reviewsPerIdea, schemesPerIdea, loansPerIdea, investmentsPerIdea, users);
+            System.out.printf("Seeded %d ideas and %d users in %d s%n", ideaIds.size(), users,
+                    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - seedStart));
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String token = context.getBean(JwtTokenUtil.class).generateToken("admin", "ADMIN");
+            Statistics statistics = context.getBean(EntityManagerFactory.class)
+                    .unwrap(SessionFactory.class).getStatistics();
+
+            LoadTestHarness harness = new LoadTestHarness("http://localhost:" + port, token, ideaIds, users);
+            Map<String, Double> statementsPerRequest = harness.probeStatements(statistics);
+
+            harness.run(concurrency, warmupSeconds, null);
+            Map<String, Recorder> recorders = new TreeMap<>();
+            long elapsedNanos = harness.run(concurrency, durationSeconds, recorders);
+
+            Map<String, Object> report = harness.report(recorders, statementsPerRequest, elapsedNanos);
+            report.put("catalog", Map.of("ideas", ideaIds.size(), "reviewsPerIdea", reviewsPerIdea,
+                    "schemesPerIdea", schemesPerIdea, "loansPerIdea", loansPerIdea,
+                    "investmentsPerIdea", investmentsPerIdea, "users", users));
+            report.put("concurrency", concurrency);
+            report.put("threads", virtualThreads ? "virtual" : "platform");
+
+            File file = new File(reportFile);
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+            System.out.println("Report written to " + file.getAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    private final String baseUrl;
+    private final String token;
+    private final List<Long> ideaIds;
+    private final int users;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newFixedThreadPool(4, runnable -> {
+                Thread thread = new Thread(runnable, "loadtest-http");
+                thread.setDaemon(true);
+                return thread;
+            }))
+            .build();
+    private final List<Endpoint> mix = new ArrayList<>();
+    private int totalWeight;
+
+    private LoadTestHarness(String baseUrl, String token, List<Long> ideaIds, int users) {
+        this.baseUrl = baseUrl;
+        this.token = token;
+        this.ideaIds = ideaIds;
+        this.users = users;
+
+        // IdeaController
+        endpoint("GET /api/ideas/paginated", 25, r -> get("/api/ideas/paginated?page=" + r.nextInt(50) + "&size=20"));
+        endpoint("GET /api/ideas/{id}", 20, r -> get("/api/ideas/" + randomIdea(r)));
+        endpoint("GET /api/ideas/filter", 8, r -> get("/api/ideas/filter?category=Services&sector=Technology"));
+        endpoint("GET /api/categories", 5, r -> get("/api/categories"));
+        // IdeaDetailController
+        endpoint("GET /api/idea-details/{id}/complete", 20, r -> get("/api/idea-details/" + randomIdea(r) + "/complete"));
+        endpoint("GET /api/idea-details/{id}/reviews", 8, r -> get("/api/idea-details/" + randomIdea(r) + "/reviews"));
+        endpoint("GET /api/idea-details/{id}/rating-summary", 6, r -> get("/api/idea-details/" + randomIdea(r) + "/rating-summary"));
+        endpoint("GET /api/idea-details/{id}/bank-loans", 4, r -> get("/api/idea-details/" + randomIdea(r) + "/bank-loans"));
+        // UserController
+        endpoint("POST /api/users/login", 4, r -> post("/api/users/login",
+                "{\"email\":\"" + userEmail(r.nextInt(Math.max(users, 1))) + "\",\"password\":\"" + USER_PASSWORD + "\"}"));
+    }
+
+    private void endpoint(String name, int weight, Function<Random, HttpRequest> request) {
+        mix.add(new Endpoint(name, weight, request));
+        totalWeight += weight;
+    }
+
+    // Issue a few serial requests per endpoint and read the Hibernate statement counter around them
+    private Map<String, Double> probeStatements(Statistics statistics) throws Exception {
+        Map<String, Double> result = new TreeMap<>();
+        Random random = new Random(1);
+        for (Endpoint endpoint : mix) {
+            long before = statistics.getPrepareStatementCount();
+            for (int i = 0; i < PROBE_REQUESTS; i++) {
+                client.send(endpoint.request.apply(random), HttpResponse.BodyHandlers.discarding());
+            }
+            result.put(endpoint.name, (statistics.getPrepareStatementCount() - before) / (double) PROBE_REQUESTS);
+        }
+        return result;
+    }
+
+    private long run(int concurrency, int seconds, Map<String, Recorder> recorders) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long start = System.nanoTime();
+        if (recorders != null) {
+            for (Endpoint endpoint : mix) {
+                recorders.put(endpoint.name, new Recorder());
+            }
+        }
+        for (int w = 0; w < concurrency; w++) {
+            long seed = w;
+            workers.submit(() -> {
+                Random random = new Random(seed);
+                while (System.nanoTime() < deadline) {
+                    Endpoint endpoint = pickEndpoint(random);
+                    long t0 = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(endpoint.request.apply(random), HttpResponse.BodyHandlers.discarding())
+                                .statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    if (recorders != null) {
+                        recorders.get(endpoint.name).record(System.nanoTime() - t0, status);
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        return System.nanoTime() - start;
+    }
+
+    private Map<String, Object> report(Map<String, Recorder> recorders, Map<String, Double> statementsPerRequest,
+                                       long elapsedNanos) {
+        double elapsedSeconds = elapsedNanos / 1e9;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        Recorder overall = new Recorder();
+
+        System.out.printf("%n%-42s %8s %9s %8s %8s %8s %7s %6s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "sql/req", "errors");
+        for (Map.Entry<String, Recorder> entry : recorders.entrySet()) {
+            Recorder recorder = entry.getValue();
+            overall.merge(recorder);
+            Map<String, Object> stats = recorder.summary(elapsedSeconds);
+            stats.put("sqlStatementsPerRequest", statementsPerRequest.get(entry.getKey()));
+            endpoints.put(entry.getKey(), stats);
+            print(entry.getKey(), stats);
+        }
+        Map<String, Object> total = overall.summary(elapsedSeconds);
+        print("TOTAL", total);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationSeconds", elapsedSeconds);
+        report.put("total", total);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private void print(String name, Map<String, Object> stats) {
+        Object sql = stats.get("sqlStatementsPerRequest");
+        System.out.printf("%-42s %8d %9.1f %8.2f %8.2f %8.2f %7s %6d%n", name,
+                stats.get("requests"), stats.get("throughputPerSecond"),
+                stats.get("p50Ms"), stats.get("p95Ms"), stats.get("p99Ms"),
+                sql == null ? "-" : String.format("%.1f", (Double) sql), stats.get("errors"));
+    }
+
+    private Endpoint pickEndpoint(Random random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Endpoint endpoint : mix) {
+            ticket -= endpoint.weight;
+            if (ticket < 0) {
+                return endpoint;
+            }
+        }
+        return mix.get(mix.size() - 1);
+    }
+
+    private long randomIdea(Random random) {
+        return ideaIds.get(random.nextInt(ideaIds.size()));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private record Endpoint(String name, int weight, Function<Random, HttpRequest> request) {}
+
+    // Collects raw latencies; sorted once at report time
+    private static class Recorder {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong errors = new AtomicLong();
+        private final Map<Integer, AtomicLong> statusCodes = new ConcurrentSkipListMap<>();
+
+        void record(long nanos, int status) {
+            latencies.add(nanos);
+            statusCodes.computeIfAbsent(status, s -> new AtomicLong()).incrementAndGet();
+            if (status < 200 || status >= 300) {
+                errors.incrementAndGet();
+            }
+        }
+
+        void merge(Recorder other) {
+            latencies.addAll(other.latencies);
+            errors.addAndGet(other.errors.get());
+            other.statusCodes.forEach((status, count) ->
+                    statusCodes.computeIfAbsent(status, s -> new AtomicLong()).addAndGet(count.get()));
+        }
+
+        Map<String, Object> summary(double elapsedSeconds) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", sorted.length);
+            stats.put("errors", errors.get());
+            stats.put("statusCodes", new TreeMap<>(statusCodes));
+            stats.put("throughputPerSecond", sorted.length / elapsedSeconds);
+            stats.put("p50Ms", percentile(sorted, 0.50));
+            stats.put("p95Ms", percentile(sorted, 0.95));
+            stats.put("p99Ms", percentile(sorted, 0.99));
+            return stats;
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+    }
+}
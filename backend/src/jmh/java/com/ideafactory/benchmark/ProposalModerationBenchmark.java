@@ -0,0 +1,146 @@
+package com.ideafactory.benchmark;
+
+import com.ideafactory.IdeasApplication;
+import com.ideafactory.model.ProposedIdea;
+import com.ideafactory.model.User;
+import com.ideafactory.repository.UserRepository;
+import com.ideafactory.service.ProposalModerationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains a queue of 10k proposals through ProposalModerationService on H2:
+ * one admin working the queue head, and two admins racing for the same
+ * pages (every proposal must still be promoted exactly once)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ProposalModerationBenchmark {
+
+    private static final int PROPOSALS = 10_000;
+    private static final int PAGE = 200;
+    private static final String[] CATEGORIES = {"Manufacturing", "Services", "Retail", "Agriculture"};
+
+    private ConfigurableApplicationContext context;
+    private ProposalModerationService moderationService;
+    private JdbcTemplate jdbcTemplate;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void boot() {
+        context = new SpringApplicationBuilder(IdeasApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:moderation;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.web.cors.allowed-origins=http://localhost:3000",
+                        "app.similar-ideas.initial-delay-ms=3600000",
+                        "app.recommendations.initial-delay-ms=3600000",
+                        "logging.level.root=WARN")
+                .run();
+        moderationService = context.getBean(ProposalModerationService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        User user = new User();
+        user.setUsername("proposer");
+        user.setEmail("proposer@example.com");
+        user.setPasswordHash("x");
+        user.setPasswordSalt("x");
+        userId = context.getBean(UserRepository.class).save(user).getId();
+    }
+
+    @Setup(Level.Iteration)
+    public void seedQueue() {
+        jdbcTemplate.update("DELETE FROM proposed_ideas");
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        List<Object[]> rows = new ArrayList<>(PROPOSALS);
+        for (int i = 0; i < PROPOSALS; i++) {
+            rows.add(new Object[] {userId, "Proposal " + i, "Description of proposal " + i,
+                    CATEGORIES[i % CATEGORIES.length], 50_000L + i, "Medium",
+                    i % 10 == 0 ? "UNDER_REVIEW" : "PENDING",
+                    Timestamp.valueOf(start.plusSeconds(i * 60L)), i % 5, i + 1});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO proposed_ideas (user_id, title, description, category, " +
+                "investment_needed, difficulty_level, status, submitted_at, priority, id, version) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        context.close();
+    }
+
+    // Approve four of every five proposals from the head of the queue, reject the rest
+    @Benchmark
+    public int singleAdmin() {
+        int processed = drain("admin-1");
+        check(processed);
+        return processed;
+    }
+
+    @Benchmark
+    public int twoAdminsRacing() throws Exception {
+        ExecutorService admins = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = admins.submit(() -> drain("admin-1"));
+            Future<Integer> second = admins.submit(() -> drain("admin-2"));
+            int processed = first.get() + second.get();
+            check(processed);
+            return processed;
+        } finally {
+            admins.shutdown();
+        }
+    }
+
+    private int drain(String admin) {
+        int processed = 0;
+        while (true) {
+            @SuppressWarnings("unchecked")
+            List<ProposedIdea> page = (List<ProposedIdea>) moderationService.getQueue(null, PAGE).get("proposals");
+            if (page.isEmpty()) {
+                return processed;
+            }
+            List<Long> approve = new ArrayList<>();
+            List<Long> reject = new ArrayList<>();
+            for (ProposedIdea proposal : page) {
+                (proposal.getId() % 5 == 0 ? reject : approve).add(proposal.getId());
+            }
+            processed += processedCount(moderationService.approve(approve, admin, null));
+            processed += processedCount(moderationService.reject(reject, admin, "Out of scope"));
+        }
+    }
+
+    private static int processedCount(Map<String, Object> result) {
+        return ((List<?>) result.get("processed")).size();
+    }
+
+    // Each proposal processed once, and one idea per approval
+    private void check(int processed) {
+        Integer promoted = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM proposed_ideas WHERE status = 'APPROVED' AND idea_id IS NOT NULL", Integer.class);
+        Integer linkedIdeas = jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT idea_id) FROM proposed_ideas WHERE idea_id IS NOT NULL", Integer.class);
+        if (processed != PROPOSALS || !promoted.equals(linkedIdeas)) {
+            throw new IllegalStateException("processed " + processed + ", promoted " + promoted + ", ideas " + linkedIdeas);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.ideafactory.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Startup Time Report
+ * Starts the packaged application startup.runs times in each configuration,
+ * against in-memory H2 with startup.heap of heap: the boot jar as built,
+ * the boot jar with the fast-start profile, and, when mvn -Pfast-start has
+ * built target/fast-start, the class-path jar with the class-data sharing
+ * archive, with and without the profile. Reports the medians of the time
+ * until the context is started, until /actuator/health/liveness and
+ * /readiness are UP, and of the first /api/ideas request after that.
+ *
+ * Run with: mvn -Pbenchmarks,fast-start package exec:exec@startup-time
+ */
+public class StartupTimeReport {
+
+    private static final Pattern STARTED = Pattern.compile("Started IdeasApplication in [0-9.]+ seconds \\(process running for ([0-9.]+)\\)");
+    private static final long TIMEOUT_MS = 300_000;
+
+    private static final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("startup.runs", 3);
+        String heap = System.getProperty("startup.heap", "512m");
+        File bootJar = new File(System.getProperty("startup.jar", "target/10000ideas-0.0.1-SNAPSHOT.jar"));
+        File fastStart = new File(System.getProperty("startup.fastStartDirectory", "target/fast-start"));
+        String reportFile = System.getProperty("startup.report", "target/startup-time-report.json");
+        File logs = new File(bootJar.getParentFile(), "startup-time");
+        logs.mkdirs();
+
+        File archive = new File(fastStart, "application.jsa");
+        File[] classPathJars = fastStart.listFiles((dir, name) -> name.endsWith("-fast-start.jar"));
+        Map<String, List<String>> configurations = new LinkedHashMap<>();
+        configurations.put("default", List.of("-jar", bootJar.getAbsolutePath()));
+        configurations.put("fast-start", List.of("-jar", bootJar.getAbsolutePath(), "--spring.profiles.active=dev,fast-start"));
+        if (archive.exists() && classPathJars != null && classPathJars.length == 1) {
+            String jar = classPathJars[0].getAbsolutePath();
+            String shared = "-XX:SharedArchiveFile=" + archive.getAbsolutePath();
+            configurations.put("cds", List.of(shared, "-jar", jar));
+            configurations.put("fast-start+cds", List.of(shared, "-jar", jar, "--spring.profiles.active=dev,fast-start"));
+        } else {
+            System.out.println("No class-data sharing archive in " + fastStart + "; build with -Pfast-start to compare it");
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runs", runs);
+        report.put("heap", heap);
+        report.put("processors", Runtime.getRuntime().availableProcessors());
+        for (Map.Entry<String, List<String>> configuration : configurations.entrySet()) {
+            List<Map<String, Long>> results = new ArrayList<>();
+            for (int run = 1; run <= runs; run++) {
+                File log = new File(logs, configuration.getKey().replace('+', '-') + "-" + run + ".log");
+                Map<String, Long> result = start(configuration.getValue(), heap, log);
+                System.out.printf("%-15s run %d %s%n", configuration.getKey(), run, result);
+                results.add(result);
+            }
+            Map<String, Object> medians = new LinkedHashMap<>();
+            for (String metric : results.get(0).keySet()) {
+                medians.put(metric, median(results.stream().mapToLong(r -> r.get(metric)).toArray()));
+            }
+            report.put(configuration.getKey(), medians);
+            System.out.printf("%-15s median %s%n", configuration.getKey(), medians);
+        }
+
+        File file = new File(reportFile);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("Report written to " + file.getAbsolutePath());
+    }
+
+    private static Map<String, Long> start(List<String> launch, String heap, File log) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(
+                ProcessHandle.current().info().command().orElse("java"), "-Xms" + heap, "-Xmx" + heap));
+        command.addAll(launch);
+        command.addAll(List.of("--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup-" + port,
+                "--spring.web.cors.allowed-origins=http://localhost:3000"));
+        long launchedAt = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+        try {
+            String base = "http://localhost:" + port;
+            long live = waitUntilUp(process, base + "/actuator/health/liveness", launchedAt);
+            long ready = waitUntilUp(process, base + "/actuator/health/readiness", launchedAt);
+            long requestStart = System.nanoTime();
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(base + "/api/ideas")).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("/api/ideas returned " + response.statusCode() + "; see " + log);
+            }
+            Map<String, Long> result = new LinkedHashMap<>();
+            result.put("startedMs", startedMillis(log));
+            result.put("liveMs", live);
+            result.put("readyMs", ready);
+            result.put("firstRequestMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestStart));
+            return result;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    // Milliseconds from launch until the probe first answers UP
+    private static long waitUntilUp(Process process, String url, long launchedAt) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(5)).build();
+        while (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launchedAt) < TIMEOUT_MS) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("The application exited with " + process.exitValue() + " before " + url + " was UP");
+            }
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200 && response.body().contains("\"UP\"")) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launchedAt);
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException(url + " was not UP within " + TIMEOUT_MS + " ms");
+    }
+
+    // As measured by the application itself, from JVM start
+    private static long startedMillis(File log) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(log.toPath()));
+        return matcher.find() ? Math.round(Double.parseDouble(matcher.group(1)) * 1000) : -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,151 @@
+package com.ideafactory.benchmark;
+
+import com.ideafactory.model.*;
+import com.ideafactory.repository.*;
+import com.ideafactory.service.BulkUploadService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic Catalog Seeder
+ * Loads ideas through the bulk upload path (CSV parse + saveIdeas) and
+ * fills the detail tables and users with deterministic synthetic rows
+ */
+public class SyntheticCatalogSeeder {
+
+    private static final String[] SCHEME_TYPES = {"GOVERNMENT", "BANK", "PRIVATE", "NGO"};
+    private static final String[] SCHEME_CATEGORIES = {"SUBSIDY", "LOAN", "GRANT", "TRAINING"};
+    private static final String[] STATES = {"Maharashtra", "Karnataka", "Tamil Nadu", "Gujarat", "Delhi", "Kerala"};
+    private static final String[] BANKS = {"SBI", "HDFC", "ICICI", "Canara", "PNB"};
+    private static final String[] LOAN_TYPES = {"BUSINESS_LOAN", "MSME_LOAN", "STARTUP_LOAN", "MUDRA_LOAN"};
+    private static final String[] PRIORITIES = {"HIGH", "MEDIUM", "LOW"};
+    private static final String[] INVESTMENT_CATEGORIES = {"Machinery", "Land", "Marketing", "Raw Materials"};
+    private static final int BATCH = 1000;
+
+    private final ApplicationContext context;
+    private final Random random = new Random(7);
+
+    public SyntheticCatalogSeeder(ApplicationContext context) {
+        this.context = context;
+    }
+
+    public List<Long> seed(int ideaCount, int reviewsPerIdea, int schemesPerIdea, int loansPerIdea,
+                           int investmentsPerIdea, int userCount) throws IOException {
+        BulkUploadService bulkUploadService = context.getBean(BulkUploadService.class);
+        List<Idea> parsed = bulkUploadService.processFile(
+                new InMemoryMultipartFile("catalog.csv", SyntheticIdeas.csv(ideaCount)), "loadtest");
+        List<Idea> ideas = bulkUploadService.saveIdeas(parsed);
+
+        List<Long> ideaIds = new ArrayList<>(ideas.size());
+        for (Idea idea : ideas) {
+            ideaIds.add(idea.getId());
+        }
+
+        seedReviews(ideas, reviewsPerIdea);
+        seedSchemes(ideas, schemesPerIdea);
+        seedBankLoans(ideas, loansPerIdea);
+        seedInvestments(ideas, investmentsPerIdea);
+        seedUsers(userCount);
+        return ideaIds;
+    }
+
+    private void seedReviews(List<Idea> ideas, int perIdea) {
+        IdeaReviewRepository repository = context.getBean(IdeaReviewRepository.class);
+        List<IdeaReview> batch = new ArrayList<>(BATCH);
+        for (Idea idea : ideas) {
+            for (int i = 0; i < perIdea; i++) {
+                IdeaReview review = new IdeaReview(idea, "Reviewer " + i, "Synthetic review " + i, 1 + random.nextInt(5));
+                review.setHelpfulVotes(random.nextInt(50));
+                review.setUnhelpfulVotes(random.nextInt(10));
+                review.setIsApproved(random.nextInt(10) > 0);
+                batch.add(review);
+                flush(repository, batch);
+            }
+        }
+        repository.saveAll(batch);
+    }
+
+    private void seedSchemes(List<Idea> ideas, int perIdea) {
+        IdeaSchemeRepository repository = context.getBean(IdeaSchemeRepository.class);
+        List<IdeaScheme> batch = new ArrayList<>(BATCH);
+        for (Idea idea : ideas) {
+            for (int i = 0; i < perIdea; i++) {
+                IdeaScheme scheme = new IdeaScheme(idea, "Scheme " + i, pick(SCHEME_TYPES));
+                scheme.setSchemeCategory(pick(SCHEME_CATEGORIES));
+                scheme.setRegionState(pick(STATES));
+                scheme.setMaximumAmount(BigDecimal.valueOf(100_000L + random.nextInt(5_000_000)));
+                scheme.setInterestRate(BigDecimal.valueOf(4 + random.nextInt(10)));
+                scheme.setApplicationDeadline(LocalDateTime.now().plusDays(random.nextInt(365)));
+                batch.add(scheme);
+                flush(repository, batch);
+            }
+        }
+        repository.saveAll(batch);
+    }
+
+    private void seedBankLoans(List<Idea> ideas, int perIdea) {
+        IdeaBankLoanRepository repository = context.getBean(IdeaBankLoanRepository.class);
+        List<IdeaBankLoan> batch = new ArrayList<>(BATCH);
+        for (Idea idea : ideas) {
+            for (int i = 0; i < perIdea; i++) {
+                IdeaBankLoan loan = new IdeaBankLoan(idea, pick(BANKS), pick(LOAN_TYPES));
+                long minimum = 50_000L + random.nextInt(500_000);
+                loan.setMinimumAmount(BigDecimal.valueOf(minimum));
+                loan.setMaximumAmount(BigDecimal.valueOf(minimum + random.nextInt(10_000_000)));
+                loan.setInterestRateMin(BigDecimal.valueOf(7 + random.nextInt(4)));
+                loan.setInterestRateMax(BigDecimal.valueOf(11 + random.nextInt(6)));
+                batch.add(loan);
+                flush(repository, batch);
+            }
+        }
+        repository.saveAll(batch);
+    }
+
+    private void seedInvestments(List<Idea> ideas, int perIdea) {
+        IdeaInvestmentRepository repository = context.getBean(IdeaInvestmentRepository.class);
+        List<IdeaInvestment> batch = new ArrayList<>(BATCH);
+        for (Idea idea : ideas) {
+            for (int i = 0; i < perIdea; i++) {
+                IdeaInvestment investment = new IdeaInvestment(idea, pick(INVESTMENT_CATEGORIES),
+                        BigDecimal.valueOf(10_000L + random.nextInt(1_000_000)));
+                investment.setPriorityLevel(pick(PRIORITIES));
+                investment.setIsOptional(random.nextBoolean());
+                batch.add(investment);
+                flush(repository, batch);
+            }
+        }
+        repository.saveAll(batch);
+    }
+
+    private void seedUsers(int count) {
+        UserRepository repository = context.getBean(UserRepository.class);
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(LoadTestHarness.USER_PASSWORD);
+        List<User> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < count; i++) {
+            User user = new User("loadtest.user" + i, LoadTestHarness.userEmail(i), passwordHash, "loadtest_salt");
+            user.setEmailVerified(true);
+            batch.add(user);
+            flush(repository, batch);
+        }
+        repository.saveAll(batch);
+    }
+
+    private <T> void flush(JpaRepository<T, Long> repository, List<T> batch) {
+        if (batch.size() >= BATCH) {
+            repository.saveAll(batch);
+            batch.clear();
+        }
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
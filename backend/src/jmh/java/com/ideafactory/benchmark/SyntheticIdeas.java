@@ -0,0 +1,138 @@
+package com.ideafactory.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ideafactory.model.Idea;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic Ideas
+ * Deterministic idea rows in every bulk upload format, shared by the benchmarks
+ */
+public final class SyntheticIdeas {
+
+    public static final String[] COLUMNS = {
+        "title", "description", "category", "sector", "investmentNeeded",
+        "expertiseNeeded", "trainingNeeded", "resources", "successExamples", "videoUrl",
+        "governmentSubsidies", "fundingOptions", "bankAssistance", "targetAudience",
+        "specialAdvantages", "difficultyLevel", "timeToMarket", "location", "imageUrl"
+    };
+
+    private static final String[] CATEGORIES = {"Manufacturing", "Services", "Retail", "Agriculture", "Unicorn"};
+    private static final String[] SECTORS = {"Food", "Technology", "Healthcare", "Education", "Textiles", "Finance"};
+    private static final String[] DIFFICULTY = {"Easy", "Medium", "Hard"};
+    private static final String[] LOCATIONS = {"Urban", "Rural", "Both"};
+    private static final String[] TIME_TO_MARKET = {"1-3 months", "3-6 months", "6-12 months", "1+ years"};
+    private static final String[] AUDIENCES = {"Students", "Women", "Farmers", "Retirees", "Professionals"};
+    private static final String[] ADVANTAGES = {"Low Investment", "Home Based", "Eco Friendly", "Scalable"};
+
+    private SyntheticIdeas() {}
+
+    public static List<Idea> ideas(int count) {
+        Random random = new Random(42);
+        List<Idea> ideas = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Idea idea = new Idea(
+                    "Idea " + i,
+                    "Synthetic description for idea " + i + " with enough text to look like a real pitch.",
+                    pick(CATEGORIES, random),
+                    pick(SECTORS, random),
+                    BigDecimal.valueOf(10_000L + random.nextInt(5_000_000)));
+            idea.setId((long) i + 1);
+            idea.setExpertiseNeeded("Basic business skills");
+            idea.setTrainingNeeded("Short course");
+            idea.setResources("Workspace, internet");
+            idea.setSuccessExamples("Several regional businesses");
+            idea.setVideoUrl("https://example.com/video/" + i);
+            idea.setGovernmentSubsidies("MSME subsidy");
+            idea.setFundingOptions("Bank loan, savings");
+            idea.setBankAssistance("Mudra loan");
+            idea.setTargetAudience(new ArrayList<>(Arrays.asList(pick(AUDIENCES, random), pick(AUDIENCES, random))));
+            idea.setSpecialAdvantages(new ArrayList<>(Arrays.asList(pick(ADVANTAGES, random))));
+            idea.setDifficultyLevel(pick(DIFFICULTY, random));
+            idea.setTimeToMarket(pick(TIME_TO_MARKET, random));
+            idea.setLocation(pick(LOCATIONS, random));
+            idea.setImageUrl("https://example.com/image/" + i + ".png");
+            ideas.add(idea);
+        }
+        return ideas;
+    }
+
+    public static byte[] csv(int count) {
+        StringBuilder sb = new StringBuilder(String.join(",", COLUMNS)).append('\n');
+        for (Idea idea : ideas(count)) {
+            String[] values = values(idea);
+            for (int c = 0; c < values.length; c++) {
+                if (c > 0) {
+                    sb.append(',');
+                }
+                sb.append('"').append(values[c].replace("\"", "\"\"")).append('"');
+            }
+            sb.append('\n');
+        }
+        return sb.toString().getBytes();
+    }
+
+    public static byte[] xlsx(int count) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("ideas");
+            Row header = sheet.createRow(0);
+            for (int c = 0; c < COLUMNS.length; c++) {
+                header.createCell(c).setCellValue(COLUMNS[c]);
+            }
+            int r = 1;
+            for (Idea idea : ideas(count)) {
+                Row row = sheet.createRow(r++);
+                String[] values = values(idea);
+                for (int c = 0; c < values.length; c++) {
+                    row.createCell(c).setCellValue(values[c]);
+                }
+            }
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    public static byte[] json(int count) throws IOException {
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (Idea idea : ideas(count)) {
+            String[] values = values(idea);
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int c = 0; c < COLUMNS.length; c++) {
+                row.put(COLUMNS[c], values[c]);
+            }
+            row.put("investmentNeeded", idea.getInvestmentNeeded());
+            row.put("targetAudience", idea.getTargetAudience());
+            row.put("specialAdvantages", idea.getSpecialAdvantages());
+            rows.add(row);
+        }
+        return new ObjectMapper().writeValueAsBytes(rows);
+    }
+
+    private static String[] values(Idea idea) {
+        return new String[] {
+            idea.getTitle(), idea.getDescription(), idea.getCategory(), idea.getSector(),
+            idea.getInvestmentNeeded().toPlainString(), idea.getExpertiseNeeded(), idea.getTrainingNeeded(),
+            idea.getResources(), idea.getSuccessExamples(), idea.getVideoUrl(), idea.getGovernmentSubsidies(),
+            idea.getFundingOptions(), idea.getBankAssistance(), String.join(",", idea.getTargetAudience()),
+            String.join(",", idea.getSpecialAdvantages()), idea.getDifficultyLevel(), idea.getTimeToMarket(),
+            idea.getLocation(), idea.getImageUrl()
+        };
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
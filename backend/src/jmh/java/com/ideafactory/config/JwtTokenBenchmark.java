@@ -0,0 +1,52 @@
+package com.ideafactory.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT signing and parsing, which runs on every authenticated request
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenBenchmark {
+
+    private JwtTokenUtil jwtTokenUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtil = new JwtTokenUtil();
+        setField("secret", "10000IdeasSecretKeyForJWTTokenGenerationAndValidation2024");
+        setField("jwtExpiration", 18000000L);
+        jwtTokenUtil.init();
+        token = jwtTokenUtil.generateToken("bench.user", "USER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenUtil.generateToken("bench.user", "USER");
+    }
+
+    @Benchmark
+    public String parseToken() {
+        return jwtTokenUtil.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtTokenUtil.validateToken(token, "bench.user");
+    }
+
+    private void setField(String name, Object value) {
+        Field field = ReflectionUtils.findField(JwtTokenUtil.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, jwtTokenUtil, value);
+    }
+}
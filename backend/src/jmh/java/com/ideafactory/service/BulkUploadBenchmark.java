@@ -0,0 +1,59 @@
+package com.ideafactory.service;
+
+import com.ideafactory.benchmark.InMemoryMultipartFile;
+import com.ideafactory.benchmark.SyntheticIdeas;
+import com.ideafactory.model.Idea;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk upload parsing cost per file of {@code rows} ideas, plus the list splitter used for every row
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkUploadBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    private BulkUploadService bulkUploadService;
+    private InMemoryMultipartFile csvFile;
+    private InMemoryMultipartFile xlsxFile;
+    private InMemoryMultipartFile jsonFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        bulkUploadService = new BulkUploadService();
+        csvFile = new InMemoryMultipartFile("ideas.csv", SyntheticIdeas.csv(rows));
+        xlsxFile = new InMemoryMultipartFile("ideas.xlsx", SyntheticIdeas.xlsx(rows));
+        jsonFile = new InMemoryMultipartFile("ideas.json", SyntheticIdeas.json(rows));
+    }
+
+    @Benchmark
+    public List<Idea> parseCsv() throws IOException {
+        return bulkUploadService.processFile(csvFile, "bench");
+    }
+
+    @Benchmark
+    public List<Idea> parseXlsx() throws IOException {
+        return bulkUploadService.processFile(xlsxFile, "bench");
+    }
+
+    @Benchmark
+    public List<Idea> parseJson() throws IOException {
+        return bulkUploadService.processFile(jsonFile, "bench");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public List<String> parseListString() {
+        return bulkUploadService.parseListString("Students,Women,Farmers,Retirees,Professionals");
+    }
+}
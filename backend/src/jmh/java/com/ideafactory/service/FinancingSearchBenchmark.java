@@ -0,0 +1,94 @@
+package com.ideafactory.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Financing index build and cross-idea searches over 100k schemes and
+ * loans: a selective multi-criteria query, a broad amount-only query, and a
+ * query whose region matches nothing but national schemes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FinancingSearchBenchmark {
+
+    private static final int OFFERS = 100_000;
+    private static final String[] REGIONS = {
+            "Maharashtra", "Karnataka", "Tamil Nadu", "Gujarat", "Delhi", "Kerala", "Punjab", "Rajasthan",
+            "Telangana", "West Bengal", "Uttar Pradesh", "Bihar", "Odisha", "Assam", "Goa", "Haryana"
+    };
+    private static final String[] SCHEME_TYPES = {"GOVERNMENT", "BANK", "PRIVATE", "NGO"};
+    private static final String[] LOAN_TYPES = {"BUSINESS_LOAN", "MSME_LOAN", "STARTUP_LOAN", "MUDRA_LOAN", "TERM_LOAN"};
+
+    private List<FinancingSearchIndex.Offer> offers;
+    private FinancingSearchIndex index;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        now = LocalDateTime.now();
+        offers = new ArrayList<>(OFFERS);
+        for (int i = 0; i < OFFERS; i++) {
+            long ideaId = 1 + random.nextInt(OFFERS / 4);
+            BigDecimal maximum = BigDecimal.valueOf(50_000L * (1 + random.nextInt(400)));
+            if (i % 3 == 0) {
+                BigDecimal rate = random.nextInt(5) == 0 ? null : BigDecimal.valueOf(4 + random.nextInt(120) / 10.0);
+                offers.add(new FinancingSearchIndex.Offer(FinancingSearchIndex.Kind.SCHEME, i, ideaId, "Idea " + ideaId,
+                        "Scheme " + i, null, SCHEME_TYPES[random.nextInt(SCHEME_TYPES.length)], "LOAN",
+                        random.nextInt(4) == 0 ? null : REGIONS[random.nextInt(REGIONS.length)],
+                        null, maximum, rate, rate, now.plusDays(random.nextInt(400) - 100)));
+            } else {
+                BigDecimal minRate = BigDecimal.valueOf(7 + random.nextInt(80) / 10.0);
+                offers.add(new FinancingSearchIndex.Offer(FinancingSearchIndex.Kind.LOAN, i, ideaId, "Idea " + ideaId,
+                        "Loan " + i, "Bank " + random.nextInt(40), LOAN_TYPES[random.nextInt(LOAN_TYPES.length)], null, null,
+                        BigDecimal.valueOf(10_000L * random.nextInt(50)), maximum, minRate, minRate.add(BigDecimal.valueOf(3)),
+                        null));
+            }
+        }
+        index = FinancingSearchIndex.build(offers);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public FinancingSearchIndex build() {
+        return FinancingSearchIndex.build(offers);
+    }
+
+    // "An MSME loan of 5 lakh under 9%"
+    @Benchmark
+    public FinancingSearchIndex.Result selectiveLoanSearch() {
+        return index.search(new FinancingSearchIndex.Query(BigDecimal.valueOf(500_000), BigDecimal.valueOf(9),
+                null, "MSME_LOAN", FinancingSearchIndex.Kind.LOAN, now, 50));
+    }
+
+    // "Any financing of 15 lakh in Kerala, under 10%, open today"
+    @Benchmark
+    public FinancingSearchIndex.Result regionalSearch() {
+        return index.search(new FinancingSearchIndex.Query(BigDecimal.valueOf(1_500_000), BigDecimal.valueOf(10),
+                "Kerala", null, null, now, 50));
+    }
+
+    @Benchmark
+    public FinancingSearchIndex.Result amountOnlySearch() {
+        return index.search(new FinancingSearchIndex.Query(BigDecimal.valueOf(19_000_000), null,
+                null, null, null, now, 500));
+    }
+
+    @Benchmark
+    public FinancingSearchIndex.Result unknownRegionSearch() {
+        return index.search(new FinancingSearchIndex.Query(BigDecimal.valueOf(19_900_000), BigDecimal.valueOf(5),
+                "Atlantis", null, null, now, 50));
+    }
+}
@@ -0,0 +1,47 @@
+package com.ideafactory.service;
+
+import com.ideafactory.repository.IdeaReviewRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rating summary assembly with the repository stubbed out, so only the service-side work is measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdeaReviewSummaryBenchmark {
+
+    private IdeaReviewService reviewService;
+
+    @Setup
+    public void setUp() {
+        IdeaReviewRepository repository = (IdeaReviewRepository) Proxy.newProxyInstance(
+                IdeaReviewRepository.class.getClassLoader(),
+                new Class<?>[] {IdeaReviewRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getAverageRatingByIdeaId" -> 4.2;
+                    case "getReviewCountByIdeaId" -> 1200L;
+                    case "getReviewCountByRating" -> 240L;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        reviewService = new IdeaReviewService();
+        Field field = ReflectionUtils.findField(IdeaReviewService.class, "reviewRepository");
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, reviewService, repository);
+    }
+
+    @Benchmark
+    public Map<String, Object> ratingSummary() {
+        return reviewService.getRatingSummaryByIdeaId(1L);
+    }
+}
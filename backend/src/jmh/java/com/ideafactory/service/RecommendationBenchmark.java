@@ -0,0 +1,82 @@
+package com.ideafactory.service;
+
+import com.ideafactory.benchmark.SyntheticIdeas;
+import com.ideafactory.model.Idea;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offline index build and per-user feed serving over synthetic 10k and 100k idea catalogs;
+ * the build should grow about tenfold between the two
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecommendationBenchmark {
+
+    @Param({"10000", "100000"})
+    private int ideas;
+
+    private List<Object[]> ideaRows;
+    private List<Object[]> audienceRows;
+    private Map<Long, List<Long>> likesByUser;
+    private RecommendationIndex index;
+    private Map<Long, Float> seeds;
+    private Map<String, String> browsed;
+
+    @Setup
+    public void setUp() {
+        ideaRows = new ArrayList<>();
+        audienceRows = new ArrayList<>();
+        for (Idea idea : SyntheticIdeas.ideas(ideas)) {
+            ideaRows.add(new Object[] {idea.getId(), idea.getCategory(), idea.getSector(),
+                    idea.getDifficultyLevel(), idea.getLocation(), idea.getInvestmentNeeded()});
+            for (String audience : idea.getTargetAudience()) {
+                audienceRows.add(new Object[] {idea.getId(), audience});
+            }
+        }
+
+        Random random = new Random(42);
+        likesByUser = new HashMap<>();
+        for (long user = 1; user <= ideas / 5; user++) {
+            List<Long> likes = new ArrayList<>();
+            for (int k = 0; k < 10; k++) {
+                likes.add((long) random.nextInt(ideas) + 1);
+            }
+            likesByUser.put(user, likes);
+        }
+
+        index = RecommendationIndex.build(ideaRows, audienceRows, likesByUser);
+
+        seeds = new HashMap<>();
+        for (int k = 0; k < 15; k++) {
+            seeds.put((long) random.nextInt(ideas) + 1, k % 5 == 0 ? -0.5f : 1f);
+        }
+        browsed = Map.of("category", "Manufacturing", "location", "Rural");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public RecommendationIndex buildIndex() {
+        return RecommendationIndex.build(ideaRows, audienceRows, likesByUser);
+    }
+
+    @Benchmark
+    public long[] recommend() {
+        return index.recommend(seeds, browsed, 20);
+    }
+
+    @Benchmark
+    public long[] recommendColdStart() {
+        return index.recommend(Map.of(), browsed, 20);
+    }
+}
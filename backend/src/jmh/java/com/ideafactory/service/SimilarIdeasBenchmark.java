@@ -0,0 +1,112 @@
+package com.ideafactory.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Similar-ideas index: full build at catalog scale and incremental upserts.
+ * Text is drawn from a Zipf-distributed vocabulary so buckets look like real
+ * prose rather than one repeated template.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SimilarIdeasBenchmark {
+
+    private static final String[] CATEGORIES = {"Manufacturing", "Services", "Retail", "Agriculture", "Unicorn"};
+    private static final String[] SECTORS = {"Food", "Technology", "Healthcare", "Education", "Textiles", "Finance"};
+
+    @Param({"10000", "100000"})
+    private int ideas;
+
+    private List<SimilarIdeasIndex.Document> documents;
+    private SimilarIdeasIndex index;
+    private Random random;
+    private String[] vocabulary;
+    private double[] cumulative;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(7);
+        vocabulary = new String[8000];
+        cumulative = new double[vocabulary.length];
+        double total = 0;
+        for (int w = 0; w < vocabulary.length; w++) {
+            vocabulary[w] = word(random);
+            total += 1.0 / (w + 1);
+            cumulative[w] = total;
+        }
+        for (int w = 0; w < cumulative.length; w++) {
+            cumulative[w] /= total;
+        }
+
+        documents = new ArrayList<>(ideas);
+        for (int i = 1; i <= ideas; i++) {
+            documents.add(document(i));
+        }
+        // Served lists are filled right after a build, as SimilarIdeasService does
+        index = SimilarIdeasIndex.build(documents);
+        index.allNeighbours();
+        nextId = ideas + 1;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public Map<Long, long[]> buildWithNeighbours() {
+        return SimilarIdeasIndex.build(documents).allNeighbours();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 2, time = 1)
+    @Measurement(iterations = 3, time = 1)
+    public int upsertAndRefresh() {
+        List<Long> affected = index.upsert(document(nextId++));
+        int refreshed = 0;
+        for (Long ideaId : affected) {
+            refreshed += index.neighboursOf(ideaId).length;
+        }
+        return refreshed;
+    }
+
+    private SimilarIdeasIndex.Document document(long id) {
+        StringBuilder text = new StringBuilder();
+        int words = 30 + random.nextInt(90);
+        for (int w = 0; w < words; w++) {
+            text.append(vocabulary[zipf()]).append(' ');
+        }
+        return new SimilarIdeasIndex.Document(id, text.toString(),
+                CATEGORIES[random.nextInt(CATEGORIES.length)],
+                SECTORS[random.nextInt(SECTORS.length)],
+                BigDecimal.valueOf(10_000L + random.nextInt(5_000_000)));
+    }
+
+    private int zipf() {
+        double u = random.nextDouble();
+        int low = 0, high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < u) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[4 + random.nextInt(6)];
+        for (int c = 0; c < letters.length; c++) {
+            letters[c] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ideafactory.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of counting an idea view from many request threads, and of the
+ * per-flush sketch decay
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrendingBenchmark {
+
+    private static final int IDEAS = 10_000;
+
+    private TrendingService trendingService;
+    private DecayingCountMinSketch sketch;
+
+    @Setup
+    public void setUp() {
+        trendingService = new TrendingService();
+        sketch = new DecayingCountMinSketch(4, 1 << 14);
+    }
+
+    // Skewed towards low ids so a few ideas are hot, as in real traffic
+    @Benchmark
+    @Threads(8)
+    public void recordView() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        trendingService.recordView(1 + (long) (IDEAS * u * u * u));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public void decaySketch() {
+        sketch.decay(0.99);
+    }
+}
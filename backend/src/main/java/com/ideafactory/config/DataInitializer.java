@@ -8,9 +8,12 @@ import com.ideafactory.repository.IdeaRepository;
 import com.ideafactory.repository.UserRepository;
 import com.ideafactory.repository.CategoryRepository;
 import com.ideafactory.repository.AdminRepository;
+import com.ideafactory.warmup.WarmUpTask;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -18,8 +21,10 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
+// The first warm-up task when deferred: the ones after it read the seeded data
 @Component
-public class DataInitializer implements CommandLineRunner {
+@Order(0)
+public class DataInitializer implements CommandLineRunner, WarmUpTask {
 
     private final IdeaRepository ideaRepository;
     private final UserRepository userRepository;
@@ -41,8 +46,28 @@ public class DataInitializer implements CommandLineRunner {
         this.passwordEncoder = passwordEncoder;
     }
 
+    // With the fast-start profile, seeding is a StartupWarmUp task, after the web server is up
+    @Value("${app.data-initializer.deferred:false}")
+    private boolean deferred;
+
     @Override
     public void run(String... args) throws Exception {
+        if (!deferred) {
+            seed();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "seed-data";
+    }
+
+    @Override
+    public List<Runnable> getSteps() {
+        return deferred ? List.of(this::seed) : List.of();
+    }
+
+    public void seed() {
         try {
             // Initialize categories
             initializeCategories();
@@ -0,0 +1,56 @@
+package com.ideafactory.config;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Hibernate Statistics Configuration
+ * Hooks a statement inspector and a post-load listener into Hibernate so
+ * every prepared statement and loaded entity is counted against the
+ * current request
+ */
+@Configuration
+public class HibernateStatisticsConfig {
+    
+    @Bean
+    public HibernatePropertiesCustomizer requestStatisticsCustomizer() {
+        StatementInspector inspector = sql -> {
+            RequestStatistics.statementPrepared(sql);
+            return sql;
+        };
+        IntegratorProvider integrators = () -> List.of(new EntityLoadCountingIntegrator());
+        
+        return properties -> {
+            properties.put("hibernate.session_factory.statement_inspector", inspector);
+            properties.put("hibernate.integrator_provider", integrators);
+        };
+    }
+    
+    private static class EntityLoadCountingIntegrator implements Integrator {
+        
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                              SessionFactoryImplementor sessionFactory) {
+            sessionFactory.getServiceRegistry()
+                    .getService(EventListenerRegistry.class)
+                    .appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> RequestStatistics.entityLoaded());
+        }
+        
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+}
@@ -55,7 +55,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             } catch (Exception e) {
                 logger.error("JWT Token has expired");
             }
-        } else {
+        } else if (requestTokenHeader != null) {
+            // Anonymous requests (and the warm-up replay) carry no header at all
             logger.warn("JWT Token does not begin with Bearer String");
         }
         
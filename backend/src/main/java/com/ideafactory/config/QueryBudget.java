@@ -0,0 +1,21 @@
+package com.ideafactory.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Query Budget
+ * Overrides the per-request statement budget enforced by QueryDetector
+ * for a single controller method
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    // Maximum JDBC statements the endpoint may prepare per request
+    int value();
+}
@@ -0,0 +1,12 @@
+package com.ideafactory.config;
+
+/**
+ * Thrown in strict mode when a request goes over its statement budget
+ * or repeats the same statement shape too often
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
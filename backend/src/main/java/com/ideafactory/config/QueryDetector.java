@@ -0,0 +1,139 @@
+package com.ideafactory.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Query Detector
+ * Flags endpoints that prepare too many statements per request or run
+ * the same statement shape over and over (the usual N+1 signature).
+ * Offenders are logged with the endpoint and query shape and counted in
+ * Micrometer; in strict mode the offending statement fails the request
+ * so integration tests catch the regression.
+ */
+@Component
+public class QueryDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryDetector.class);
+
+    private static final int MAX_LOGGED_SHAPE_LENGTH = 300;
+
+    @Value("${app.query-detector.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.query-detector.max-statements:30}")
+    private int maxStatements;
+
+    @Value("${app.query-detector.max-repeated-statements:10}")
+    private int maxRepeatedStatements;
+
+    @Value("${app.query-detector.strict:false}")
+    private boolean strict;
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryDetector(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Listener to attach to the request scope; null unless strict mode is on
+    public RequestStatistics.Listener listenerFor(HttpServletRequest request) {
+        if (!enabled || !strict) {
+            return null;
+        }
+        return new StrictListener(request);
+    }
+
+    // Check a finished request against its budget and report offenders
+    public void inspect(HttpServletRequest request, RequestStatistics statistics) {
+        if (!enabled) {
+            return;
+        }
+        String method = request.getMethod();
+        String uri = endpointOf(request);
+
+        int budget = budgetFor(request);
+        if (statistics.getStatements() > budget) {
+            logger.warn("Query budget exceeded on {} {}: {} statements (budget {})",
+                    method, uri, statistics.getStatements(), budget);
+            counter("hibernate.request.budget.exceeded",
+                    "Requests that prepared more statements than their budget", method, uri).increment();
+        }
+
+        if (statistics.getMaxRepeats() > maxRepeatedStatements) {
+            logger.warn("Possible N+1 on {} {}: {} executions of [{}]",
+                    method, uri, statistics.getMaxRepeats(), abbreviate(statistics.getMostRepeatedShape()));
+            counter("hibernate.request.repeated.statements",
+                    "Requests that repeated one statement shape past the threshold", method, uri).increment();
+        }
+    }
+
+    int budgetFor(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+            if (budget != null) {
+                return budget.value();
+            }
+        }
+        return maxStatements;
+    }
+
+    static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNMATCHED";
+    }
+
+    private Counter counter(String name, String description, String method, String uri) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+
+    private static String abbreviate(String shape) {
+        if (shape == null || shape.length() <= MAX_LOGGED_SHAPE_LENGTH) {
+            return shape;
+        }
+        return shape.substring(0, MAX_LOGGED_SHAPE_LENGTH) + "...";
+    }
+
+    private class StrictListener implements RequestStatistics.Listener {
+
+        private final HttpServletRequest request;
+        private boolean failed;
+
+        StrictListener(HttpServletRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public void statementPrepared(RequestStatistics statistics, String shape, int repeats) {
+            // Fail once; statements run while handling the failure are let through
+            if (failed) {
+                return;
+            }
+            String endpoint = request.getMethod() + " " + endpointOf(request);
+
+            int budget = budgetFor(request);
+            if (statistics.getStatements() > budget) {
+                failed = true;
+                throw new QueryBudgetExceededException(
+                        endpoint + " exceeded its query budget of " + budget + " statements");
+            }
+            if (repeats > maxRepeatedStatements) {
+                failed = true;
+                throw new QueryBudgetExceededException(
+                        endpoint + " ran the same statement " + repeats + " times: " + abbreviate(shape));
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.ideafactory.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read Replica Configuration
+ * Enabled with app.datasource.replicas.enabled=true. The primary keeps the
+ * usual spring.datasource settings; each replica URL gets its own Hikari
+ * pool, and the application's DataSource routes between them per
+ * transaction (see ReplicaRoutingDataSource).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource, MeterRegistry meterRegistry,
+            @Value("${app.datasource.replicas.urls}") List<String> urls,
+            @Value("${app.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${app.datasource.replicas.connection-timeout-ms:1000}") long connectionTimeoutMillis,
+            @Value("${app.datasource.replicas.read-only-packages:com.ideafactory.service}") List<String> readOnlyPackages,
+            @Value("${app.datasource.replicas.sticky-window-ms:5000}") long stickyWindowMillis,
+            @Value("${app.datasource.replicas.lag-query:}") String lagQuery,
+            @Value("${app.datasource.replicas.max-lag-ms:10000}") long maxLagMillis) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            // Fail fast so a dead replica costs a read this long before it falls back to the primary
+            replica.setConnectionTimeout(connectionTimeoutMillis);
+            // Start even while a replica is down; the health check brings it in later
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicaRoutingDataSource.Replica(replica.getPoolName(), replica));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readOnlyPackages,
+                stickyWindowMillis, lagQuery, maxLagMillis, meterRegistry);
+    }
+
+    // Connections are fetched on first statement, once the transaction's read-only flag is known
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    // Release after every transaction, or open-in-view would keep one connection for the whole request
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    @Bean
+    public HealthIndicator readReplicasHealthIndicator(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        // Reads fall back to the primary, so a lost replica degrades capacity but not availability
+        return () -> Health.up().withDetails(replicaRoutingDataSource.describe()).build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.ideafactory.config;
+
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * Replica Aware Region Factory
+ * The JCache region factory, except that entity, collection and query
+ * result regions ignore puts made inside a transaction a read replica may
+ * serve (see ReplicaRoutingDataSource). Reads and evictions are unchanged;
+ * the timestamps region is only written by primary transactions and is
+ * left alone.
+ *
+ * Filtering at the region rather than through the session's CacheMode,
+ * since Hibernate 6.3 resolves a query's cache mode from the query alone.
+ */
+public class ReplicaAwareRegionFactory extends JCacheRegionFactory {
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return new ReplicaAwareStorageAccess(super.createDomainDataStorageAccess(regionConfig, buildingContext));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return new ReplicaAwareStorageAccess(super.createQueryResultsRegionStorageAccess(regionName, sessionFactory));
+    }
+
+    private static final class ReplicaAwareStorageAccess implements DomainDataStorageAccess {
+        private final StorageAccess delegate;
+
+        private ReplicaAwareStorageAccess(StorageAccess delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return delegate.getFromCache(key, session);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            if (!ReplicaRoutingDataSource.isCachePutSkipped()) {
+                delegate.putIntoCache(key, value, session);
+            }
+        }
+
+        @Override
+        public void putFromLoad(Object key, Object value, SharedSessionContractImplementor session) {
+            putIntoCache(key, value, session);
+        }
+
+        @Override
+        public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+            delegate.removeFromCache(key, session);
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor session) {
+            delegate.clearCache(session);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return delegate.contains(key);
+        }
+
+        @Override
+        public void evictData() {
+            delegate.evictData();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            delegate.evictData(key);
+        }
+
+        @Override
+        public void release() {
+            delegate.release();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.ideafactory.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replica Routing Data Source
+ * Sends read-only transactions started by service methods to a read
+ * replica and everything else to the primary. Repository-level read-only
+ * transactions stay on the primary, since callers without a service
+ * transaction often read an entity and then save it.
+ *
+ * A signed-in user whose transaction wrote in the last sticky window is
+ * pinned to the primary so they always see their own writes. Replicas failing the
+ * health check, lagging past the limit, or refusing a connection are
+ * skipped until they recover; with none left, reads go to the primary.
+ *
+ * Transactions a replica may serve read the second-level cache but do
+ * not put into it (see ReplicaAwareRegionFactory): a lagging replica's
+ * rows would otherwise be served from the shared cache to primary reads,
+ * sticky users included, until the region expires.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the connection has to
+ * be fetched after the transaction's read-only flag is set.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements TransactionExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Bound for the length of a transaction a replica may serve
+    private static final Object SKIP_CACHE_PUTS = new Object();
+
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile String lastError;
+        private volatile Double lagSeconds;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final List<String> readOnlyPackages;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final MeterRegistry meterRegistry;
+
+    // Users who wrote within the sticky window
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, List<String> readOnlyPackages,
+                                    long stickyWindowMillis, String lagQuery, long maxLagMillis,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readOnlyPackages = List.copyOf(readOnlyPackages);
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.meterRegistry = meterRegistry;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofMillis(stickyWindowMillis))
+                .build();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String reason = primaryReason();
+        if (reason == null) {
+            Replica replica = nextHealthyReplica();
+            if (replica != null) {
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    count("replica", "read-only");
+                    return connection;
+                } catch (SQLException e) {
+                    markDown(replica, e.getMessage());
+                }
+            }
+            reason = "no-healthy-replica";
+        }
+        Connection connection = primary.getConnection();
+        count("primary", reason);
+        rememberWrite();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Scheduled(initialDelayString = "${app.datasource.replicas.health-check-interval-ms:5000}",
+               fixedDelayString = "${app.datasource.replicas.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(2)) {
+                    throw new SQLException("Connection is not valid");
+                }
+                if (lagQuery != null) {
+                    try (Statement statement = connection.createStatement();
+                         ResultSet rs = statement.executeQuery(lagQuery)) {
+                        // A null lag (nothing replayed yet) counts as caught up
+                        replica.lagSeconds = rs.next() ? rs.getDouble(1) : 0.0;
+                    }
+                    if (replica.lagSeconds * 1000 > maxLagMillis) {
+                        markDown(replica, "Replication lag " + replica.lagSeconds + " s");
+                        continue;
+                    }
+                }
+                if (!replica.healthy) {
+                    logger.info("Read replica {} is back in rotation", replica.name);
+                }
+                replica.healthy = true;
+                replica.lastError = null;
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        for (Replica replica : replicas) {
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("healthy", replica.healthy);
+            if (replica.lagSeconds != null) {
+                state.put("lagSeconds", replica.lagSeconds);
+            }
+            if (replica.lastError != null) {
+                state.put("error", replica.lastError);
+            }
+            details.put(replica.name, state);
+        }
+        details.put("stickyUsers", recentWriters.estimatedSize());
+        return details;
+    }
+
+    // Why this connection must come from the primary, or null if a replica may serve it
+    private String primaryReason() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return "read-write";
+        }
+        String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transactionName == null || readOnlyPackages.stream().noneMatch(transactionName::startsWith)) {
+            return "not-service-read";
+        }
+        String user = currentUser();
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            return "sticky";
+        }
+        return null;
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int k = 0; k < size; k++) {
+            Replica replica = replicas.get((start + k) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // Pin the user to the primary from now until the window after their transaction completes
+    private void rememberWrite() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        recentWriters.put(user, Boolean.TRUE);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    recentWriters.put(user, Boolean.TRUE);
+                }
+            });
+        }
+    }
+
+    // Decided at begin: Hibernate decides to cache a result before the statement fetches the routed connection
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null && transaction.isNewTransaction()
+                && TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(SKIP_CACHE_PUTS)
+                && primaryReason() == null && replicas.stream().anyMatch(replica -> replica.healthy)) {
+            TransactionSynchronizationManager.bindResource(SKIP_CACHE_PUTS, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SKIP_CACHE_PUTS);
+                }
+            });
+        }
+    }
+
+    // Checked by ReplicaAwareRegionFactory before every entity, collection and query result put
+    public static boolean isCachePutSkipped() {
+        return TransactionSynchronizationManager.hasResource(SKIP_CACHE_PUTS);
+    }
+
+    private void markDown(Replica replica, String error) {
+        if (replica.healthy) {
+            logger.warn("Read replica {} taken out of rotation: {}", replica.name, error);
+        }
+        replica.healthy = false;
+        replica.lastError = error;
+    }
+
+    private void count(String target, String reason) {
+        meterRegistry.counter("datasource.routing.connections", "target", target, "reason", reason).increment();
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,96 @@
+package com.ideafactory.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Request Statistics
+ * Per-request counters for Hibernate work, bound to the request thread
+ * by RequestStatisticsFilter and fed by the statement inspector and
+ * post-load listener registered in HibernateStatisticsConfig.
+ * Statements are also grouped by shape (the SQL with IN lists collapsed)
+ * so the same query run with different parameters shows up as repeats.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Listener listener;
+    private final Map<String, Integer> statementShapes = new HashMap<>();
+
+    private int statements;
+    private int entitiesLoaded;
+    private int maxRepeats;
+    private String mostRepeatedShape;
+
+    private RequestStatistics(Listener listener) {
+        this.listener = listener;
+    }
+
+    public static RequestStatistics start() {
+        return start(null);
+    }
+
+    public static RequestStatistics start(Listener listener) {
+        RequestStatistics statistics = new RequestStatistics(listener);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    static void statementPrepared(String sql) {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics == null) {
+            return;
+        }
+        statistics.statements++;
+
+        String shape = shapeOf(sql);
+        int repeats = statistics.statementShapes.merge(shape, 1, Integer::sum);
+        if (repeats > statistics.maxRepeats) {
+            statistics.maxRepeats = repeats;
+            statistics.mostRepeatedShape = shape;
+        }
+        if (statistics.listener != null) {
+            statistics.listener.statementPrepared(statistics, shape, repeats);
+        }
+    }
+
+    static void entityLoaded() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.entitiesLoaded++;
+        }
+    }
+
+    // Hibernate already binds parameters as '?', so only IN lists and whitespace vary
+    static String shapeOf(String sql) {
+        String shape = IN_LIST.matcher(sql).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    public int getStatements() { return statements; }
+    public int getEntitiesLoaded() { return entitiesLoaded; }
+    public int getMaxRepeats() { return maxRepeats; }
+    public String getMostRepeatedShape() { return mostRepeatedShape; }
+    public Map<String, Integer> getStatementShapes() { return statementShapes; }
+
+    /**
+     * Called on the request thread after each statement is counted
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void statementPrepared(RequestStatistics statistics, String shape, int repeats);
+    }
+}
@@ -0,0 +1,72 @@
+package com.ideafactory.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Request Statistics Filter
+ * Opens a RequestStatistics scope for each request, publishes the
+ * Hibernate statement and entity-load counts per endpoint to Micrometer
+ * and hands the finished scope to QueryDetector
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+    
+    private final MeterRegistry meterRegistry;
+    private final QueryDetector queryDetector;
+    
+    public RequestStatisticsFilter(MeterRegistry meterRegistry, QueryDetector queryDetector) {
+        this.meterRegistry = meterRegistry;
+        this.queryDetector = queryDetector;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        
+        if (request.getRequestURI().startsWith("/actuator/")) {
+            chain.doFilter(request, response);
+            return;
+        }
+        
+        RequestStatistics statistics = RequestStatistics.start(queryDetector.listenerFor(request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestStatistics.end();
+            record(request, statistics);
+            queryDetector.inspect(request, statistics);
+        }
+    }
+    
+    private void record(HttpServletRequest request, RequestStatistics statistics) {
+        String uri = QueryDetector.endpointOf(request);
+        
+        DistributionSummary.builder("hibernate.request.statements")
+                .description("JDBC statements prepared per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        
+        DistributionSummary.builder("hibernate.request.entities.loaded")
+                .description("Entities loaded per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statistics.getEntitiesLoaded());
+    }
+}
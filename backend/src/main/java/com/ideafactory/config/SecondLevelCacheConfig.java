@@ -0,0 +1,72 @@
+package com.ideafactory.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Second-Level Cache Configuration
+ * Creates Hibernate's cache regions up front on a dedicated Caffeine JCache
+ * manager, each bounded in size and age. Hibernate is told to fail on any
+ * region not listed here, so a newly cached entity cannot end up in an
+ * unbounded cache by accident.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Entity and collection regions, named in the @Cache annotations of the model classes
+    private static final List<String> ENTITY_REGIONS = List.of(
+            "category", "ideaScheme", "ideaBankLoan", "ideaInvestment",
+            "ideaInternalFactors", "ideaInternalFactors.factors",
+            "idea.targetAudience", "idea.specialAdvantages");
+
+    // Query result regions, named in the @QueryHints of the repositories
+    private static final List<String> QUERY_REGIONS = List.of(
+            "ideaDetailQueries", "categoryQueries", "default-query-results-region");
+
+    // One entry per table, checked by every cached query; must never be evicted
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.second-level-cache.entity-max-entries:10000}") long entityMaxEntries,
+            @Value("${app.second-level-cache.query-max-entries:5000}") long queryMaxEntries,
+            @Value("${app.second-level-cache.expire-after-write-minutes:10}") long expireAfterWriteMinutes) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-second-level-cache"), getClass().getClassLoader());
+        for (String region : ENTITY_REGIONS) {
+            cacheManager.createCache(region, regionConfiguration(entityMaxEntries, expireAfterWriteMinutes));
+        }
+        for (String region : QUERY_REGIONS) {
+            cacheManager.createCache(region, regionConfiguration(queryMaxEntries, expireAfterWriteMinutes));
+        }
+        cacheManager.createCache(TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maxEntries, long expireAfterWriteMinutes) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        // Bounds the staleness of rows changed outside Hibernate (cascades, manual SQL)
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(expireAfterWriteMinutes)));
+        return configuration;
+    }
+}
@@ -0,0 +1,124 @@
+package com.ideafactory.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Virtual Thread Pinning Monitor
+ * Active with spring.threads.virtual.enabled=true. A virtual thread that
+ * blocks inside a synchronized block or a native frame keeps its carrier
+ * thread, and a handful of those (a lock held around JDBC, say) is enough
+ * to stall every request. Streams the JDK's jdk.VirtualThreadPinned event
+ * into the jvm.threads.virtual.pinned timer, tagged with the application
+ * frame that pinned, and logs the first stack seen for each site.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String APPLICATION_PACKAGE = "com.ideafactory.";
+
+    private static final int LOGGED_FRAMES = 20;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.virtual-threads.pinned-threshold-ms:20}")
+    private long pinnedThresholdMillis;
+
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        int feature = Runtime.version().feature();
+        if (feature < 21) {
+            // Spring Boot ignores the flag below Java 21, so there is nothing to watch
+            logger.warn("spring.threads.virtual.enabled needs Java 21 or later; running on platform threads (Java {})",
+                    feature);
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(pinnedThresholdMillis)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        logger.info("Reporting virtual threads pinned for {} ms or longer", pinnedThresholdMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String site = site(stackTrace);
+        meterRegistry.timer("jvm.threads.virtual.pinned", "site", site).record(event.getDuration());
+        if (reportedSites.add(site)) {
+            logger.warn("Virtual thread pinned its carrier for {} ms at {}{}",
+                    event.getDuration().toMillis(), site, format(stackTrace));
+        }
+    }
+
+    // First application frame, else the first frame outside the JDK (a driver or pool), else the top frame
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        RecordedFrame library = null;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APPLICATION_PACKAGE)) {
+                return name(frame);
+            }
+            if (library == null && !type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                library = frame;
+            }
+        }
+        return name(library != null ? library : stackTrace.getFrames().get(0));
+    }
+
+    private static String name(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName();
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        int shown = 0;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (shown++ == LOGGED_FRAMES) {
+                text.append(System.lineSeparator()).append("\t...");
+                break;
+            }
+            text.append(System.lineSeparator()).append("\tat ")
+                    .append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber());
+        }
+        return text.toString();
+    }
+}
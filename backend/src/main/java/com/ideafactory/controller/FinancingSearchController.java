@@ -0,0 +1,52 @@
+package com.ideafactory.controller;
+
+import com.ideafactory.config.QueryBudget;
+import com.ideafactory.service.FinancingSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Financing Search Controller
+ * Public search over the schemes and bank loans of all ideas, served from
+ * the in-memory financing index
+ */
+@RestController
+@RequestMapping("/api/ideas/financing")
+@CrossOrigin(origins = "${spring.web.cors.allowed-origins}")
+public class FinancingSearchController {
+
+    @Autowired
+    private FinancingSearchService financingSearchService;
+
+    /**
+     * Search Financing
+     * e.g. ?amount=500000&maxRate=9.5&region=Maharashtra&type=MSME_LOAN&kind=loan;
+     * openOn (yyyy-MM-dd) keeps only schemes still accepting applications on that day
+     */
+    @GetMapping("/search")
+    @QueryBudget(0)
+    public ResponseEntity<Map<String, Object>> search(
+            @RequestParam(required = false) BigDecimal amount,
+            @RequestParam(required = false) BigDecimal maxRate,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String kind,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate openOn,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(financingSearchService.search(amount, maxRate, region, type, kind,
+                    openOn != null ? openOn.atStartOfDay() : null, limit));
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
@@ -1,7 +1,14 @@
 package com.ideafactory.controller;
 
+import com.ideafactory.config.QueryBudget;
 import com.ideafactory.model.Idea;
+import com.ideafactory.service.CatalogSnapshot;
+import com.ideafactory.service.CatalogSnapshotService;
 import com.ideafactory.service.IdeaService;
+import com.ideafactory.service.PerformanceMetricsService;
+import com.ideafactory.service.SimilarIdeasService;
+import com.ideafactory.service.TrendingService;
+import com.ideafactory.warmup.RequestMixReplay;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -22,49 +29,100 @@ public class IdeaController {
     @Autowired
     private IdeaService ideaService;
     
+    @Autowired
+    private PerformanceMetricsService performanceMetricsService;
+    
+    @Autowired
+    private SimilarIdeasService similarIdeasService;
+    
+    @Autowired
+    private TrendingService trendingService;
+    
+    // Serves the plain catalog reads below from the local snapshot once one is loaded
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+    
     @GetMapping("/ideas")
-    public ResponseEntity<List<Idea>> getAllIdeas() {
-        List<Idea> ideas = ideaService.getAllIdeas();
+    public ResponseEntity<List<?>> getAllIdeas() {
+        List<?> ideas = catalogSnapshotService.read(
+                catalog -> catalog.find(CatalogSnapshot.Filter.ACTIVE), ideaService::getAllIdeas);
         return ResponseEntity.ok(ideas);
     }
     
     @GetMapping("/ideas/paginated")
-    public ResponseEntity<Page<Idea>> getAllIdeasPaginated(
+    @QueryBudget(4)
+    public ResponseEntity<Page<?>> getAllIdeasPaginated(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Idea> ideas = ideaService.getAllIdeasPaginated(pageable);
+        Page<?> ideas = "popular".equalsIgnoreCase(sort)
+                ? trendingService.getPopularIdeas(pageable)
+                : catalogSnapshotService.read(catalog -> catalog.findPage(CatalogSnapshot.Filter.ACTIVE, pageable),
+                        () -> ideaService.getAllIdeasPaginated(pageable));
+        return ResponseEntity.ok(ideas);
+    }
+    
+    @GetMapping("/ideas/trending")
+    @QueryBudget(3)
+    public ResponseEntity<List<Idea>> getTrendingIdeas(@RequestParam(defaultValue = "10") int limit) {
+        List<Idea> ideas = trendingService.getTrendingIdeas(Math.max(1, Math.min(limit, 100)));
         return ResponseEntity.ok(ideas);
     }
     
     @GetMapping("/ideas/{id}")
-    public ResponseEntity<Idea> getIdeaById(@PathVariable Long id) {
-        Optional<Idea> idea = ideaService.getIdeaById(id);
+    @QueryBudget(3)
+    public ResponseEntity<Idea> getIdeaById(
+            @PathVariable Long id,
+            @RequestHeader(value = RequestMixReplay.WARM_UP_HEADER, required = false) String warmUp) {
+        Optional<Idea> idea = catalogSnapshotService.read(catalog -> catalog.findById(id),
+                () -> ideaService.getIdeaById(id));
+        // Requests replayed by the startup warm-up are not views
+        if (warmUp == null) {
+            idea.ifPresent(found -> trendingService.recordView(found.getId()));
+        }
         return idea.map(ResponseEntity::ok)
                   .orElse(ResponseEntity.notFound().build());
     }
     
+    @GetMapping("/ideas/{id}/similar")
+    @QueryBudget(3)
+    public ResponseEntity<List<Idea>> getSimilarIdeas(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<Idea> ideas = similarIdeasService.getSimilarIdeas(id, Math.min(limit, 50));
+        return ResponseEntity.ok(ideas);
+    }
+    
     @GetMapping("/ideas/category/{category}")
-    public ResponseEntity<List<Idea>> getIdeasByCategory(@PathVariable String category) {
-        List<Idea> ideas = ideaService.getIdeasByCategory(category);
+    public ResponseEntity<List<?>> getIdeasByCategory(@PathVariable String category) {
+        List<?> ideas = catalogSnapshotService.read(
+                catalog -> catalog.find(CatalogSnapshot.Filter.of(CatalogSnapshot.Facet.CATEGORY, category)),
+                () -> ideaService.getIdeasByCategory(category));
         return ResponseEntity.ok(ideas);
     }
     
     @GetMapping("/ideas/sector/{sector}")
-    public ResponseEntity<List<Idea>> getIdeasBySector(@PathVariable String sector) {
-        List<Idea> ideas = ideaService.getIdeasBySector(sector);
+    public ResponseEntity<List<?>> getIdeasBySector(@PathVariable String sector) {
+        List<?> ideas = catalogSnapshotService.read(
+                catalog -> catalog.find(CatalogSnapshot.Filter.of(CatalogSnapshot.Facet.SECTOR, sector)),
+                () -> ideaService.getIdeasBySector(sector));
         return ResponseEntity.ok(ideas);
     }
     
     @GetMapping("/ideas/difficulty/{difficultyLevel}")
-    public ResponseEntity<List<Idea>> getIdeasByDifficultyLevel(@PathVariable String difficultyLevel) {
-        List<Idea> ideas = ideaService.getIdeasByDifficultyLevel(difficultyLevel);
+    public ResponseEntity<List<?>> getIdeasByDifficultyLevel(@PathVariable String difficultyLevel) {
+        List<?> ideas = catalogSnapshotService.read(
+                catalog -> catalog.find(CatalogSnapshot.Filter.of(CatalogSnapshot.Facet.DIFFICULTY_LEVEL, difficultyLevel)),
+                () -> ideaService.getIdeasByDifficultyLevel(difficultyLevel));
         return ResponseEntity.ok(ideas);
     }
     
     @GetMapping("/ideas/location/{location}")
-    public ResponseEntity<List<Idea>> getIdeasByLocation(@PathVariable String location) {
-        List<Idea> ideas = ideaService.getIdeasByLocation(location);
+    public ResponseEntity<List<?>> getIdeasByLocation(@PathVariable String location) {
+        List<?> ideas = catalogSnapshotService.read(
+                catalog -> catalog.find(CatalogSnapshot.Filter.of(CatalogSnapshot.Facet.LOCATION, location)),
+                () -> ideaService.getIdeasByLocation(location));
         return ResponseEntity.ok(ideas);
     }
     
@@ -96,50 +154,48 @@ public class IdeaController {
     }
     
     @GetMapping("/ideas/filter")
-    public ResponseEntity<List<Idea>> getIdeasWithFilters(
+    public ResponseEntity<List<?>> getIdeasWithFilters(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String sector,
             @RequestParam(required = false) String difficultyLevel,
             @RequestParam(required = false) String location,
             @RequestParam(required = false) BigDecimal maxInvestment) {
-        List<Idea> ideas = ideaService.getIdeasWithFilters(category, sector, difficultyLevel, location, maxInvestment);
+        List<?> ideas = catalogSnapshotService.read(
+                catalog -> catalog.find(new CatalogSnapshot.Filter(category, sector, difficultyLevel, location, maxInvestment, true)),
+                () -> ideaService.getIdeasWithFilters(category, sector, difficultyLevel, location, maxInvestment));
         return ResponseEntity.ok(ideas);
     }
     
     @GetMapping("/ideas/performance")
-    public ResponseEntity<Object> getPerformanceInfo() {
-        long startTime = System.currentTimeMillis();
-        List<Idea> ideas = ideaService.getAllIdeas();
-        long endTime = System.currentTimeMillis();
-        
-        return ResponseEntity.ok(Map.of(
-            "totalIdeas", ideas.size(),
-            "queryTimeMs", endTime - startTime,
-            "timestamp", System.currentTimeMillis()
-        ));
+    public ResponseEntity<Map<String, Object>> getPerformanceInfo() {
+        return ResponseEntity.ok(performanceMetricsService.getSummary());
     }
     
     @GetMapping("/categories")
     public ResponseEntity<List<String>> getAllCategories() {
-        List<String> categories = ideaService.getAllCategories();
+        List<String> categories = catalogSnapshotService.read(
+                catalog -> catalog.findDistinct(CatalogSnapshot.Facet.CATEGORY), ideaService::getAllCategories);
         return ResponseEntity.ok(categories);
     }
     
     @GetMapping("/sectors")
     public ResponseEntity<List<String>> getAllSectors() {
-        List<String> sectors = ideaService.getAllSectors();
+        List<String> sectors = catalogSnapshotService.read(
+                catalog -> catalog.findDistinct(CatalogSnapshot.Facet.SECTOR), ideaService::getAllSectors);
         return ResponseEntity.ok(sectors);
     }
     
     @GetMapping("/difficulty-levels")
     public ResponseEntity<List<String>> getAllDifficultyLevels() {
-        List<String> difficultyLevels = ideaService.getAllDifficultyLevels();
+        List<String> difficultyLevels = catalogSnapshotService.read(
+                catalog -> catalog.findDistinct(CatalogSnapshot.Facet.DIFFICULTY_LEVEL), ideaService::getAllDifficultyLevels);
         return ResponseEntity.ok(difficultyLevels);
     }
     
     @GetMapping("/locations")
     public ResponseEntity<List<String>> getAllLocations() {
-        List<String> locations = ideaService.getAllLocations();
+        List<String> locations = catalogSnapshotService.read(
+                catalog -> catalog.findDistinct(CatalogSnapshot.Facet.LOCATION), ideaService::getAllLocations);
         return ResponseEntity.ok(locations);
     }
     
@@ -151,8 +207,8 @@ public class IdeaController {
     
     @PutMapping("/ideas/{id}")
     public ResponseEntity<Idea> updateIdea(@PathVariable Long id, @RequestBody Idea idea) {
-        Optional<Idea> existingIdea = ideaService.getIdeaById(id);
-        if (existingIdea.isPresent()) {
+        // Existence check only: an entity loaded read-only would swallow the merge
+        if (ideaService.ideaExists(id)) {
             idea.setId(id);
             Idea updatedIdea = ideaService.saveIdea(idea);
             return ResponseEntity.ok(updatedIdea);
@@ -163,8 +219,7 @@ public class IdeaController {
     
     @DeleteMapping("/ideas/{id}")
     public ResponseEntity<Void> deleteIdea(@PathVariable Long id) {
-        Optional<Idea> idea = ideaService.getIdeaById(id);
-        if (idea.isPresent()) {
+        if (ideaService.ideaExists(id)) {
             ideaService.deleteIdea(id);
             return ResponseEntity.ok().build();
         } else {
@@ -1,5 +1,6 @@
 package com.ideafactory.controller;
 
+import com.ideafactory.config.QueryBudget;
 import com.ideafactory.model.*;
 import com.ideafactory.service.IdeaDetailService;
 import com.ideafactory.service.IdeaReviewService;
@@ -7,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -23,6 +25,7 @@ public class IdeaDetailController {
     
     // Complete Idea Details
     @GetMapping("/{ideaId}/complete")
+    @QueryBudget(16)
     public ResponseEntity<Map<String, Object>> getCompleteIdeaDetails(@PathVariable Long ideaId) {
         Map<String, Object> details = ideaDetailService.getCompleteIdeaDetails(ideaId);
         return ResponseEntity.ok(details);
@@ -58,6 +61,24 @@ public class IdeaDetailController {
         return ResponseEntity.ok(investments);
     }
     
+    // Totals only, by priority level and required/optional
+    @GetMapping("/{ideaId}/investments/summary")
+    public ResponseEntity<Map<String, Object>> getInvestmentAggregate(@PathVariable Long ideaId) {
+        return ResponseEntity.ok(ideaDetailService.getInvestmentAggregate(ideaId));
+    }
+    
+    // Investment totals for a page of ideas in one query, e.g. ?ideaIds=1,2,3
+    @GetMapping("/investments/totals")
+    public ResponseEntity<?> getInvestmentTotals(@RequestParam List<Long> ideaIds) {
+        try {
+            return ResponseEntity.ok(ideaDetailService.getInvestmentTotals(ideaIds));
+        } catch (RuntimeException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
     @PostMapping("/{ideaId}/investments")
     public ResponseEntity<IdeaInvestment> createInvestment(
             @PathVariable Long ideaId, 
@@ -137,10 +158,20 @@ public class IdeaDetailController {
     }
     
     // Reviews
+    // sort = recent | rating | helpful; pass nextCursor back as `cursor` for the next page
     @GetMapping("/{ideaId}/reviews")
-    public ResponseEntity<List<IdeaReview>> getReviews(@PathVariable Long ideaId) {
-        List<IdeaReview> reviews = reviewService.getApprovedReviewsByIdeaId(ideaId);
-        return ResponseEntity.ok(reviews);
+    public ResponseEntity<Map<String, Object>> getReviews(
+            @PathVariable Long ideaId,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            return ResponseEntity.ok(reviewService.getApprovedReviews(ideaId, sort, cursor, size));
+        } catch (RuntimeException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
     
     @GetMapping("/{ideaId}/rating-summary")
@@ -149,14 +180,21 @@ public class IdeaDetailController {
         return ResponseEntity.ok(summary);
     }
     
+    // Auto-approved, queued or rejected by the moderation rules; a rejection comes back as 400
     @PostMapping("/{ideaId}/reviews")
-    public ResponseEntity<IdeaReview> createReview(
+    public ResponseEntity<?> createReview(
             @PathVariable Long ideaId, 
             @RequestBody IdeaReview review) {
         review.setIdea(new Idea());
         review.getIdea().setId(ideaId);
-        IdeaReview saved = reviewService.createReview(review);
-        return ResponseEntity.ok(saved);
+        try {
+            IdeaReview saved = reviewService.createReview(review);
+            return ResponseEntity.ok(saved);
+        } catch (RuntimeException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
     
     @PostMapping("/reviews/{reviewId}/vote")
@@ -169,9 +207,16 @@ public class IdeaDetailController {
     
     // Admin endpoints for review management
     @GetMapping("/admin/reviews/pending")
-    public ResponseEntity<List<IdeaReview>> getPendingReviews() {
-        List<IdeaReview> reviews = reviewService.getPendingReviews();
-        return ResponseEntity.ok(reviews);
+    public ResponseEntity<Map<String, Object>> getPendingReviews(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(reviewService.getPendingReviews(cursor, size));
+        } catch (RuntimeException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
     
     @PostMapping("/admin/reviews/{reviewId}/approve")
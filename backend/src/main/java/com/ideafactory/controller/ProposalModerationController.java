@@ -0,0 +1,124 @@
+package com.ideafactory.controller;
+
+import com.ideafactory.model.ProposedIdea;
+import com.ideafactory.service.ProposalModerationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Proposal Moderation Controller
+ * Admin queue for user-proposed ideas: keyset-paged listing and batch
+ * approve/reject
+ * All endpoints require ADMIN role
+ */
+@RestController
+@RequestMapping("/api/admin/proposals")
+@PreAuthorize("hasRole('ADMIN')")
+@CrossOrigin(origins = "*")
+public class ProposalModerationController {
+    
+    @Autowired
+    private ProposalModerationService proposalModerationService;
+    
+    /**
+     * Moderation Queue
+     * Open proposals, highest priority and oldest first; pass nextCursor
+     * back as `cursor` for the next page
+     */
+    @GetMapping("/queue")
+    public ResponseEntity<Map<String, Object>> getQueue(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(proposalModerationService.getQueue(cursor, size));
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Queue Counts
+     * Number of proposals in each status
+     */
+    @GetMapping("/counts")
+    public ResponseEntity<Map<String, Object>> getQueueCounts() {
+        return ResponseEntity.ok(proposalModerationService.getQueueCounts());
+    }
+    
+    /**
+     * Batch Approve
+     * Body: {"ids": [..], "notes": ".."}. Proposals already processed by
+     * another admin are returned under "conflicts"
+     */
+    @PostMapping("/approve")
+    public ResponseEntity<Map<String, Object>> approve(@RequestBody Map<String, Object> body) {
+        try {
+            Map<String, Object> result = proposalModerationService.approve(
+                    idsOf(body), currentAdmin(), (String) body.get("notes"));
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Batch Reject
+     * Body: {"ids": [..], "notes": ".."}
+     */
+    @PostMapping("/reject")
+    public ResponseEntity<Map<String, Object>> reject(@RequestBody Map<String, Object> body) {
+        try {
+            Map<String, Object> result = proposalModerationService.reject(
+                    idsOf(body), currentAdmin(), (String) body.get("notes"));
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Set Priority
+     * Body: {"priority": 5, "version": 3}; version is optional and guards
+     * against overwriting another admin's change
+     */
+    @PutMapping("/{proposalId}/priority")
+    public ResponseEntity<?> setPriority(@PathVariable Long proposalId, @RequestBody Map<String, Object> body) {
+        try {
+            Number version = (Number) body.get("version");
+            ProposedIdea updated = proposalModerationService.setPriority(proposalId,
+                    ((Number) body.get("priority")).intValue(), version != null ? version.longValue() : null);
+            return ResponseEntity.ok(updated);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    private static List<Long> idsOf(Map<String, Object> body) {
+        Object ids = body.get("ids");
+        if (!(ids instanceof List<?> list)) {
+            throw new RuntimeException("ids is required");
+        }
+        return list.stream().map(id -> ((Number) id).longValue()).toList();
+    }
+    
+    private static String currentAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
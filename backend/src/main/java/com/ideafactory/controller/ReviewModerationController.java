@@ -0,0 +1,93 @@
+package com.ideafactory.controller;
+
+import com.ideafactory.service.IdeaReviewService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Review Moderation Controller
+ * Keyset-paged pending queue and bulk approve/delete, each batch applied
+ * as a single UPDATE or DELETE
+ * All endpoints require ADMIN role
+ */
+@RestController
+@RequestMapping("/api/admin/reviews")
+@PreAuthorize("hasRole('ADMIN')")
+@CrossOrigin(origins = "*")
+public class ReviewModerationController {
+
+    @Autowired
+    private IdeaReviewService reviewService;
+
+    /**
+     * Pending Queue
+     * Reviews the moderation rules held back, newest first; pass nextCursor
+     * back as `cursor` for the next page
+     */
+    @GetMapping("/queue")
+    public ResponseEntity<Map<String, Object>> getQueue(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            Map<String, Object> queue = reviewService.getPendingReviews(cursor, size);
+            queue.put("totalPending", reviewService.countPendingReviews());
+            return ResponseEntity.ok(queue);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Bulk Approve
+     * Body: {"ids": [..]}
+     */
+    @PostMapping("/approve")
+    public ResponseEntity<Map<String, Object>> approve(@RequestBody Map<String, Object> body) {
+        try {
+            List<Long> ids = idsOf(body);
+            Map<String, Object> result = new HashMap<>();
+            result.put("requested", ids.size());
+            result.put("approved", reviewService.approveReviews(ids));
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Bulk Delete
+     * Body: {"ids": [..]}
+     */
+    @PostMapping("/delete")
+    public ResponseEntity<Map<String, Object>> delete(@RequestBody Map<String, Object> body) {
+        try {
+            List<Long> ids = idsOf(body);
+            Map<String, Object> result = new HashMap<>();
+            result.put("requested", ids.size());
+            result.put("deleted", reviewService.deleteReviews(ids));
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    private static List<Long> idsOf(Map<String, Object> body) {
+        Object ids = body.get("ids");
+        if (!(ids instanceof List<?> list)) {
+            throw new RuntimeException("ids is required");
+        }
+        return list.stream().map(id -> ((Number) id).longValue()).toList();
+    }
+}
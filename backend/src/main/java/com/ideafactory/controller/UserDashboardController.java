@@ -1,15 +1,27 @@
 package com.ideafactory.controller;
 
+import com.ideafactory.dto.UserDashboardSummary;
+import com.ideafactory.dto.UserProfileResponse;
+import com.ideafactory.model.Idea;
+import com.ideafactory.model.SavedIdea;
 import com.ideafactory.model.User;
+import com.ideafactory.service.RecommendationService;
+import com.ideafactory.service.SavedIdeaService;
+import com.ideafactory.service.UserDashboardService;
 import com.ideafactory.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -26,6 +38,15 @@ public class UserDashboardController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private SavedIdeaService savedIdeaService;
+    
+    @Autowired
+    private RecommendationService recommendationService;
+    
+    @Autowired
+    private UserDashboardService userDashboardService;
+    
     /**
      * Get User Dashboard Data
      * Returns user-specific dashboard information
@@ -34,14 +55,14 @@ public class UserDashboardController {
     public ResponseEntity<Map<String, Object>> getUserDashboard() {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String userEmail = authentication.getName();
-            
-            User user = userService.getProfile(userEmail);
+            UserDashboardSummary summary = userDashboardService.getSummary(authentication.getName());
             
             Map<String, Object> dashboardData = new HashMap<>();
             dashboardData.put("message", "User dashboard data");
             dashboardData.put("role", "USER");
-            dashboardData.put("user", user);
+            dashboardData.put("user", summary.getProfile());
+            dashboardData.put("summary", summary);
+            dashboardData.put("recommendations", recommendationService.getRecommendations(summary.getProfile().getId(), null, 6));
             dashboardData.put("timestamp", System.currentTimeMillis());
             
             return ResponseEntity.ok(dashboardData);
@@ -52,6 +73,23 @@ public class UserDashboardController {
         }
     }
     
+    /**
+     * Get Dashboard Summary
+     * Returns profile basics plus saved, review, reward and proposal
+     * totals, cached per user
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<?> getDashboardSummary() {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            return ResponseEntity.ok(userDashboardService.getSummary(authentication.getName()));
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
     /**
      * Get User Profile
      * Returns user profile information
@@ -60,13 +98,11 @@ public class UserDashboardController {
     public ResponseEntity<Map<String, Object>> getUserProfile() {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String userEmail = authentication.getName();
-            
-            User user = userService.getProfile(userEmail);
+            UserDashboardSummary summary = userDashboardService.getSummary(authentication.getName());
             
             Map<String, Object> profile = new HashMap<>();
             profile.put("role", "USER");
-            profile.put("user", user);
+            profile.put("user", summary.getProfile());
             profile.put("message", "User profile data");
             
             return ResponseEntity.ok(profile);
@@ -84,21 +120,18 @@ public class UserDashboardController {
     @PutMapping("/profile")
     public ResponseEntity<Map<String, Object>> updateUserProfile(@RequestBody Map<String, String> profileData) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String userEmail = authentication.getName();
-            
-            User user = userService.getProfile(userEmail);
+            Long userId = currentUserId();
             
             // Update user profile
             String bio = profileData.get("bio");
             String phoneNumber = profileData.get("phoneNumber");
             String location = profileData.get("location");
             
-            User updatedUser = userService.updateProfile(user.getId(), bio, phoneNumber, location);
+            User updatedUser = userService.updateProfile(userId, bio, phoneNumber, location);
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Profile updated successfully");
-            response.put("user", updatedUser);
+            response.put("user", UserProfileResponse.from(updatedUser));
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -125,4 +158,151 @@ public class UserDashboardController {
             return ResponseEntity.badRequest().body(error);
         }
     }
+    
+    /**
+     * Get Saved Ideas
+     * Returns a page of the user's saved ideas, newest first
+     */
+    @GetMapping("/saved-ideas")
+    public ResponseEntity<?> getSavedIdeas(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            Long userId = currentUserId();
+            PageRequest pageable = PageRequest.of(Math.max(0, page),
+                    Math.max(1, Math.min(size, SavedIdeaService.MAX_PAGE_SIZE)), Sort.by(Sort.Direction.DESC, "savedAt"));
+            Page<SavedIdea> savedIdeas = savedIdeaService.getSavedIdeas(userId, pageable);
+            return ResponseEntity.ok(savedIdeas);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Get Recently Saved Ideas
+     * Returns at most `limit` of the user's latest saves
+     */
+    @GetMapping("/saved-ideas/recent")
+    public ResponseEntity<?> getRecentSavedIdeas(@RequestParam(defaultValue = "5") int limit) {
+        try {
+            Long userId = currentUserId();
+            List<SavedIdea> recent = savedIdeaService.getRecentSavedIdeas(userId, limit);
+            return ResponseEntity.ok(recent);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Get Saved Idea Ids
+     * Returns every idea id the user has saved, or only those among
+     * `ideaIds` when given, so a page of idea cards can be flagged
+     */
+    @GetMapping("/saved-ideas/ids")
+    public ResponseEntity<Map<String, Object>> getSavedIdeaIds(@RequestParam(required = false) List<Long> ideaIds) {
+        try {
+            Long userId = currentUserId();
+            Map<String, Object> response = new HashMap<>();
+            if (ideaIds != null) {
+                response.put("savedIdeaIds", savedIdeaService.filterSaved(userId, ideaIds));
+            } else {
+                response.put("savedIdeaIds", Arrays.stream(savedIdeaService.getSavedIdeaIds(userId)).boxed().toList());
+            }
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Save Idea
+     * Bookmarks an idea for the user; saving again updates the notes
+     */
+    @PostMapping("/saved-ideas/{ideaId}")
+    public ResponseEntity<Map<String, Object>> saveIdea(
+            @PathVariable Long ideaId,
+            @RequestBody(required = false) Map<String, String> body) {
+        try {
+            Long userId = currentUserId();
+            String notes = body != null ? body.get("notes") : null;
+            SavedIdea savedIdea = savedIdeaService.saveIdea(userId, ideaId, notes);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Idea saved successfully");
+            response.put("savedIdea", savedIdea);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Unsave Idea
+     * Removes an idea from the user's saved ideas
+     */
+    @DeleteMapping("/saved-ideas/{ideaId}")
+    public ResponseEntity<Map<String, Object>> unsaveIdea(@PathVariable Long ideaId) {
+        try {
+            Long userId = currentUserId();
+            boolean removed = savedIdeaService.unsaveIdea(userId, ideaId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", removed ? "Idea removed from saved ideas" : "Idea was not saved");
+            response.put("removed", removed);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Get Recommendations
+     * Returns the "recommended for you" feed, optionally steered by the
+     * listing filters the user is currently browsing with
+     */
+    @GetMapping("/recommendations")
+    public ResponseEntity<?> getRecommendations(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String sector,
+            @RequestParam(required = false) String difficultyLevel,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String targetAudience,
+            @RequestParam(required = false) String maxInvestment) {
+        try {
+            Long userId = currentUserId();
+            
+            Map<String, String> browsedFacets = new HashMap<>();
+            browsedFacets.put("category", category);
+            browsedFacets.put("sector", sector);
+            browsedFacets.put("difficultyLevel", difficultyLevel);
+            browsedFacets.put("location", location);
+            browsedFacets.put("targetAudience", targetAudience);
+            browsedFacets.put("maxInvestment", maxInvestment);
+            browsedFacets.values().removeIf(value -> value == null || value.isBlank());
+            
+            List<Idea> recommendations = recommendationService.getRecommendations(
+                    userId, browsedFacets, Math.min(Math.max(limit, 1), 50));
+            return ResponseEntity.ok(recommendations);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return userDashboardService.getUserId(authentication.getName());
+    }
 }
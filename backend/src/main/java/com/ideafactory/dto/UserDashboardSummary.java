@@ -0,0 +1,39 @@
+package com.ideafactory.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Everything the user dashboard header needs, built from one aggregate query
+ */
+public class UserDashboardSummary {
+    
+    private UserProfileResponse profile;
+    private long savedIdeasCount;
+    private long reviewsCount;
+    private long rewardPoints;
+    private Map<String, Long> proposalsByStatus;
+    private LocalDateTime generatedAt;
+
+    // Constructors
+    public UserDashboardSummary() {}
+
+    // Getters and Setters
+    public UserProfileResponse getProfile() { return profile; }
+    public void setProfile(UserProfileResponse profile) { this.profile = profile; }
+    
+    public long getSavedIdeasCount() { return savedIdeasCount; }
+    public void setSavedIdeasCount(long savedIdeasCount) { this.savedIdeasCount = savedIdeasCount; }
+    
+    public long getReviewsCount() { return reviewsCount; }
+    public void setReviewsCount(long reviewsCount) { this.reviewsCount = reviewsCount; }
+    
+    public long getRewardPoints() { return rewardPoints; }
+    public void setRewardPoints(long rewardPoints) { this.rewardPoints = rewardPoints; }
+    
+    public Map<String, Long> getProposalsByStatus() { return proposalsByStatus; }
+    public void setProposalsByStatus(Map<String, Long> proposalsByStatus) { this.proposalsByStatus = proposalsByStatus; }
+    
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+}
@@ -0,0 +1,77 @@
+package com.ideafactory.dto;
+
+import com.ideafactory.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Public-safe view of a user's own profile: no password hash, salt,
+ * tokens or session ids
+ */
+public class UserProfileResponse {
+    
+    private Long id;
+    private String username;
+    private String email;
+    private String profileImageUrl;
+    private String bio;
+    private String phoneNumber;
+    private String location;
+    private String role;
+    private boolean emailVerified;
+    private LocalDateTime memberSince;
+    private LocalDateTime lastLogin;
+
+    // Constructors
+    public UserProfileResponse() {}
+    
+    public static UserProfileResponse from(User user) {
+        UserProfileResponse profile = new UserProfileResponse();
+        profile.setId(user.getId());
+        profile.setUsername(user.getUsername());
+        profile.setEmail(user.getEmail());
+        profile.setProfileImageUrl(user.getProfileImageUrl());
+        profile.setBio(user.getBio());
+        profile.setPhoneNumber(user.getPhoneNumber());
+        profile.setLocation(user.getLocation());
+        profile.setRole(user.getRole() != null ? user.getRole().name() : null);
+        profile.setEmailVerified(user.isEmailVerified());
+        profile.setMemberSince(user.getCreatedAt());
+        profile.setLastLogin(user.getLastLogin());
+        return profile;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    
+    public String getProfileImageUrl() { return profileImageUrl; }
+    public void setProfileImageUrl(String profileImageUrl) { this.profileImageUrl = profileImageUrl; }
+    
+    public String getBio() { return bio; }
+    public void setBio(String bio) { this.bio = bio; }
+    
+    public String getPhoneNumber() { return phoneNumber; }
+    public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
+    
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+    
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+    
+    public boolean isEmailVerified() { return emailVerified; }
+    public void setEmailVerified(boolean emailVerified) { this.emailVerified = emailVerified; }
+    
+    public LocalDateTime getMemberSince() { return memberSince; }
+    public void setMemberSince(LocalDateTime memberSince) { this.memberSince = memberSince; }
+    
+    public LocalDateTime getLastLogin() { return lastLogin; }
+    public void setLastLogin(LocalDateTime lastLogin) { this.lastLogin = lastLogin; }
+}
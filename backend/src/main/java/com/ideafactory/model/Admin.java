@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 public class Admin {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "admins_id_seq")
+    @SequenceGenerator(name = "admins_id_seq", sequenceName = "admins_id_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Username is required")
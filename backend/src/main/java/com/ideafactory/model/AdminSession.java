@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 public class AdminSession {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "admin_sessions_id_seq")
+    @SequenceGenerator(name = "admin_sessions_id_seq", sequenceName = "admin_sessions_id_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -3,18 +3,26 @@ package com.ideafactory.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "ideas")
+@EntityListeners(IdeaTermListener.class)
+@Table(name = "ideas", indexes = {
+    @Index(name = "idx_ideas_updated_at", columnList = "updated_at")
+})
 public class Idea {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ideas_id_seq")
+    @SequenceGenerator(name = "ideas_id_seq", sequenceName = "ideas_id_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank
@@ -23,10 +31,13 @@ public class Idea {
     @Column(columnDefinition = "TEXT")
     private String description;
     
+    // Stored as an idea_terms code, as are the other @Convert attributes and collections below
     @NotBlank
+    @Convert(converter = IdeaTermConverter.class)
     private String category; // Business, Manufacturing, Service, Unicorn, etc.
     
     @NotBlank
+    @Convert(converter = IdeaTermConverter.class)
     private String sector; // Tech, Healthcare, Education, etc.
     
     @NotNull
@@ -54,16 +65,24 @@ public class Idea {
     private String bankAssistance;
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "idea.targetAudience")
     @Fetch(FetchMode.SUBSELECT) // <-- Add this line
+    @Convert(converter = IdeaTermConverter.class)
     private List<String> targetAudience; 
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "idea.specialAdvantages")
+    @Fetch(FetchMode.SUBSELECT)
+    @Convert(converter = IdeaTermConverter.class)
     private List<String> specialAdvantages;
     
+    @Convert(converter = IdeaTermConverter.class)
     private String difficultyLevel; // Easy, Medium, Hard
     
+    @Convert(converter = IdeaTermConverter.class)
     private String timeToMarket; // 1-3 months, 3-6 months, 6-12 months, 1+ years
     
+    @Convert(converter = IdeaTermConverter.class)
     private String location; // Urban, Rural, Both
     
     private String imageUrl;
@@ -74,6 +93,16 @@ public class Idea {
 
     @Column(name = "upload_batch_id")
     private String uploadBatchId;
+
+    // Log of the forward-decayed engagement weight; written only by TrendingService
+    @JsonIgnore
+    @Column(name = "popularity_score", insertable = false, updatable = false)
+    private Double popularityScore;
+
+    // Set on every insert and update; the catalog snapshot catches up on ideas changed since it was written
+    @JsonIgnore
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
     
     // Constructors
     public Idea() {
@@ -270,4 +299,18 @@ public class Idea {
     public void setUploadBatchId(String uploadBatchId) {
         this.uploadBatchId = uploadBatchId;
     }
+
+    public Double getPopularityScore() {
+        return popularityScore;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        this.updatedAt = LocalDateTime.now();
+    }
 } 
\ No newline at end of file
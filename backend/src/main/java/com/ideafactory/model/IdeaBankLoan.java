@@ -3,21 +3,28 @@ package com.ideafactory.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ideaBankLoan")
 @Table(name = "idea_bank_loans")
 public class IdeaBankLoan {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idea_bank_loans_id_seq")
+    @SequenceGenerator(name = "idea_bank_loans_id_seq", sequenceName = "idea_bank_loans_id_seq", allocationSize = 50)
     private Long id;
     
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "idea_id", nullable = false)
+    @JsonIgnore
     private Idea idea;
     
     @NotBlank
@@ -104,6 +111,11 @@ public class IdeaBankLoan {
         this.idea = idea;
     }
     
+    @JsonProperty("ideaId")
+    public Long ideaId() {
+        return idea != null ? idea.getId() : null;
+    }
+    
     public String getBankName() {
         return bankName;
     }
@@ -3,26 +3,34 @@ package com.ideafactory.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ideaInternalFactors")
 @Table(name = "idea_internal_factors")
 public class IdeaInternalFactors {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idea_internal_factors_id_seq")
+    @SequenceGenerator(name = "idea_internal_factors_id_seq", sequenceName = "idea_internal_factors_id_seq", allocationSize = 50)
     private Long id;
     
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "idea_id", nullable = false)
+    @JsonIgnore
     private Idea idea;
     
     @NotBlank
     private String factorType; // STRENGTHS, WEAKNESSES, OPPORTUNITIES, THREATS
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ideaInternalFactors.factors")
     private List<String> factors;
     
     @Column(name = "color_code")
@@ -57,6 +65,11 @@ public class IdeaInternalFactors {
         this.idea = idea;
     }
     
+    @JsonProperty("ideaId")
+    public Long ideaId() {
+        return idea != null ? idea.getId() : null;
+    }
+    
     public String getFactorType() {
         return factorType;
     }
@@ -3,20 +3,30 @@ package com.ideafactory.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "idea_investments")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ideaInvestment")
+@Table(name = "idea_investments", indexes = {
+    // Covers the grouped summary queries without touching the table rows
+    @Index(name = "idx_idea_investments_summary", columnList = "idea_id, priority_level, is_optional, amount")
+})
 public class IdeaInvestment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idea_investments_id_seq")
+    @SequenceGenerator(name = "idea_investments_id_seq", sequenceName = "idea_investments_id_seq", allocationSize = 50)
     private Long id;
     
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "idea_id", nullable = false)
+    @JsonIgnore
     private Idea idea;
     
     @NotBlank
@@ -66,6 +76,11 @@ public class IdeaInvestment {
         this.idea = idea;
     }
     
+    @JsonProperty("ideaId")
+    public Long ideaId() {
+        return idea != null ? idea.getId() : null;
+    }
+    
     public String getInvestmentCategory() {
         return investmentCategory;
     }
@@ -2,20 +2,28 @@ package com.ideafactory.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "idea_reviews")
+@Table(name = "idea_reviews", indexes = {
+    @Index(name = "idx_idea_reviews_pending", columnList = "is_approved, created_at, id"),
+    @Index(name = "idx_idea_reviews_recent", columnList = "idea_id, is_approved, created_at, id"),
+    @Index(name = "idx_idea_reviews_rating", columnList = "idea_id, is_approved, rating, id"),
+    @Index(name = "idx_idea_reviews_helpful", columnList = "idea_id, is_approved, helpfulness_score, id")
+})
 public class IdeaReview {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idea_reviews_id_seq")
+    @SequenceGenerator(name = "idea_reviews_id_seq", sequenceName = "idea_reviews_id_seq", allocationSize = 50)
     private Long id;
     
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "idea_id", nullable = false)
+    @JsonIgnore
     private Idea idea;
     
     @NotBlank
@@ -44,6 +52,10 @@ public class IdeaReview {
     @Column(name = "unhelpful_votes", columnDefinition = "INT DEFAULT 0")
     private Integer unhelpfulVotes = 0;
     
+    // Wilson lower bound of the helpful share, kept in step with the votes so sort=helpful reads an index
+    @Column(name = "helpfulness_score", nullable = false)
+    private Double helpfulnessScore = 0.0;
+    
     @Column(name = "is_recommended", columnDefinition = "BOOLEAN DEFAULT FALSE")
     private Boolean isRecommended = false;
     
@@ -87,6 +99,11 @@ public class IdeaReview {
         this.idea = idea;
     }
     
+    @JsonProperty("ideaId")
+    public Long ideaId() {
+        return idea != null ? idea.getId() : null;
+    }
+    
     public String getReviewerName() {
         return reviewerName;
     }
@@ -143,6 +160,10 @@ public class IdeaReview {
         this.unhelpfulVotes = unhelpfulVotes;
     }
     
+    public Double getHelpfulnessScore() {
+        return helpfulnessScore;
+    }
+    
     public Boolean getIsRecommended() {
         return isRecommended;
     }
@@ -175,8 +196,30 @@ public class IdeaReview {
         this.isApproved = isApproved;
     }
     
+    @PrePersist
+    protected void onCreate() {
+        this.helpfulnessScore = wilsonLowerBound(helpfulVotes, unhelpfulVotes);
+    }
+    
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
+        this.helpfulnessScore = wilsonLowerBound(helpfulVotes, unhelpfulVotes);
+    }
+    
+    /**
+     * Lower bound of the 95% Wilson score interval for the share of helpful
+     * votes. Unlike the raw ratio it ranks 40 of 50 above 2 of 2, and a
+     * review with no votes scores 0.
+     */
+    public static double wilsonLowerBound(Integer helpful, Integer unhelpful) {
+        double up = helpful != null ? helpful : 0;
+        double n = up + (unhelpful != null ? unhelpful : 0);
+        if (n <= 0) {
+            return 0.0;
+        }
+        double z = 1.96;
+        double p = up / n;
+        return (p + z * z / (2 * n) - z * Math.sqrt((p * (1 - p) + z * z / (4 * n)) / n)) / (1 + z * z / n);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.ideafactory.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Idea Term
+ * One row of the code table behind Idea's low-cardinality attributes
+ * (category, sector, difficulty level, time to market, location, target
+ * audiences and special advantages). The idea columns hold the integer
+ * id; IdeaTermDictionary adds rows and resolves them in memory.
+ */
+@Entity
+@Table(name = "idea_terms", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_idea_terms_term", columnNames = "term")
+})
+public class IdeaTerm {
+
+    // Drawn by IdeaTermDictionary's own insert; one at a time, as new terms are rare
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idea_terms_id_seq")
+    @SequenceGenerator(name = "idea_terms_id_seq", sequenceName = "idea_terms_id_seq", allocationSize = 1)
+    private Integer id;
+
+    @Column(nullable = false)
+    private String term;
+
+    public IdeaTerm() {}
+
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public String getTerm() { return term; }
+    public void setTerm(String term) { this.term = term; }
+}
@@ -0,0 +1,31 @@
+package com.ideafactory.model;
+
+import com.ideafactory.service.IdeaTermDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Idea Term Converter
+ * Stores a low-cardinality Idea attribute as its idea_terms code and
+ * reads it back as the dictionary's shared String. Applies to query
+ * parameters too, so i.category = :category compares integers; a value
+ * no idea has becomes IdeaTermDictionary.UNKNOWN and matches nothing.
+ * Hibernate gets the instance from Spring, so the dictionary is injected.
+ */
+@Converter
+public class IdeaTermConverter implements AttributeConverter<String, Integer> {
+
+    @Autowired
+    private IdeaTermDictionary ideaTermDictionary;
+
+    @Override
+    public Integer convertToDatabaseColumn(String term) {
+        return ideaTermDictionary.code(term);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer code) {
+        return ideaTermDictionary.term(code);
+    }
+}
@@ -0,0 +1,38 @@
+package com.ideafactory.model;
+
+import com.ideafactory.service.IdeaTermDictionary;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Idea Term Listener
+ * Gives every coded value of an idea a code before the idea is written,
+ * since IdeaTermConverter only looks codes up.
+ */
+public class IdeaTermListener {
+
+    @Autowired
+    private IdeaTermDictionary ideaTermDictionary;
+
+    @PrePersist
+    @PreUpdate
+    public void registerTerms(Idea idea) {
+        List<String> terms = new ArrayList<>();
+        terms.add(idea.getCategory());
+        terms.add(idea.getSector());
+        terms.add(idea.getDifficultyLevel());
+        terms.add(idea.getTimeToMarket());
+        terms.add(idea.getLocation());
+        if (idea.getTargetAudience() != null) {
+            terms.addAll(idea.getTargetAudience());
+        }
+        if (idea.getSpecialAdvantages() != null) {
+            terms.addAll(idea.getSpecialAdvantages());
+        }
+        ideaTermDictionary.register(terms);
+    }
+}
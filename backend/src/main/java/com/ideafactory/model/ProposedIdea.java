@@ -1,17 +1,23 @@
 package com.ideafactory.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "proposed_ideas")
+@Table(name = "proposed_ideas", indexes = {
+    // Same directions as the queue's ORDER BY, so the keyset scan needs no sort
+    @Index(name = "idx_proposed_ideas_queue", columnList = "status, priority DESC, submitted_at, id")
+})
 public class ProposedIdea {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "proposed_ideas_id_seq")
+    @SequenceGenerator(name = "proposed_ideas_id_seq", sequenceName = "proposed_ideas_id_seq", allocationSize = 50)
     private Long id;
     
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -26,6 +32,9 @@ public class ProposedIdea {
     @Column(name = "category")
     private String category;
     
+    @Column(name = "sector")
+    private String sector;
+    
     @Column(name = "investment_needed")
     private Long investmentNeeded;
     
@@ -47,6 +56,19 @@ public class ProposedIdea {
     @Column(name = "reviewed_by")
     private String reviewedBy;
     
+    // Higher is reviewed first; ties go to the oldest submission
+    @Column(name = "priority", nullable = false)
+    private int priority = 0;
+    
+    // Idea created when the proposal was approved
+    @Column(name = "idea_id")
+    private Long ideaId;
+    
+    // Optimistic lock: a proposal is only ever approved or rejected once
+    @Version
+    @Column(name = "version")
+    private Long version;
+    
     // Constructors
     public ProposedIdea() {}
     
@@ -68,6 +90,8 @@ public class ProposedIdea {
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
     
+    public Long getUserId() { return user != null ? user.getId() : null; }
+    
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
     
@@ -77,6 +101,9 @@ public class ProposedIdea {
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
     
+    public String getSector() { return sector; }
+    public void setSector(String sector) { this.sector = sector; }
+    
     public Long getInvestmentNeeded() { return investmentNeeded; }
     public void setInvestmentNeeded(Long investmentNeeded) { this.investmentNeeded = investmentNeeded; }
     
@@ -98,6 +125,15 @@ public class ProposedIdea {
     public String getReviewedBy() { return reviewedBy; }
     public void setReviewedBy(String reviewedBy) { this.reviewedBy = reviewedBy; }
     
+    public int getPriority() { return priority; }
+    public void setPriority(int priority) { this.priority = priority; }
+    
+    public Long getIdeaId() { return ideaId; }
+    public void setIdeaId(Long ideaId) { this.ideaId = ideaId; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     @PrePersist
     protected void onCreate() {
         this.submittedAt = LocalDateTime.now();
@@ -9,7 +9,8 @@ import java.time.LocalDateTime;
 @Table(name = "upload_history")
 public class UploadHistory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "upload_history_id_seq")
+    @SequenceGenerator(name = "upload_history_id_seq", sequenceName = "upload_history_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
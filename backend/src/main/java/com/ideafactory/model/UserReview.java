@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 public class UserReview {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_reviews_id_seq")
+    @SequenceGenerator(name = "user_reviews_id_seq", sequenceName = "user_reviews_id_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
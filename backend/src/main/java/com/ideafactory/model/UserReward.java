@@ -9,7 +9,8 @@ import java.time.LocalDateTime;
 public class UserReward {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_rewards_id_seq")
+    @SequenceGenerator(name = "user_rewards_id_seq", sequenceName = "user_rewards_id_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
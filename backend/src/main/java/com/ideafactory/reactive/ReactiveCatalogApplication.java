@@ -0,0 +1,121 @@
+package com.ideafactory.reactive;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.codec.CodecsAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.HttpHandlerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.ReactiveWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.WebFluxAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.error.ErrorWebFluxAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.List;
+
+/**
+ * Reactive Catalog Application
+ * A separate, non-blocking server (Netty, WebFlux, R2DBC) for the public
+ * catalog reads, meant to run next to the servlet application against the
+ * same database. Only the auto-configurations listed here are applied, so
+ * the JPA, security and servlet setup sharing the classpath stays out; the
+ * profile keeps the servlet application's component scan from picking
+ * this class up.
+ *
+ * Run with: java -cp 10000ideas.jar -Dloader.main=com.ideafactory.reactive.ReactiveCatalogApplication
+ *           org.springframework.boot.loader.launch.PropertiesLauncher
+ */
+@SpringBootConfiguration
+@Profile(ReactiveCatalogApplication.PROFILE)
+@ImportAutoConfiguration({
+        PropertyPlaceholderAutoConfiguration.class,
+        JacksonAutoConfiguration.class,
+        CodecsAutoConfiguration.class,
+        ReactiveWebServerFactoryAutoConfiguration.class,
+        HttpHandlerAutoConfiguration.class,
+        WebFluxAutoConfiguration.class,
+        ErrorWebFluxAutoConfiguration.class,
+        R2dbcAutoConfiguration.class})
+public class ReactiveCatalogApplication {
+
+    public static final String PROFILE = "reactive-catalog";
+
+    public static void main(String[] args) {
+        builder().run(args);
+    }
+
+    public static SpringApplicationBuilder builder() {
+        return new SpringApplicationBuilder(ReactiveCatalogApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles(PROFILE);
+    }
+
+    // Tomcat is on the classpath for the servlet application and would otherwise be picked
+    @Bean
+    public NettyReactiveWebServerFactory catalogWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public DatabaseClient catalogDatabaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public ReactiveCatalogHandler catalogHandler(DatabaseClient catalogDatabaseClient) {
+        return new ReactiveCatalogHandler(new ReactiveCatalogRepository(catalogDatabaseClient));
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> catalogRoutes(ReactiveCatalogHandler handler) {
+        return RouterFunctions.route()
+                .path("/api", api -> api
+                        .GET("/ideas", handler::getAllIdeas)
+                        .GET("/ideas/paginated", handler::getAllIdeasPaginated)
+                        .GET("/ideas/filter", handler::getIdeasWithFilters)
+                        .GET("/ideas/category/{category}", request -> handler.getIdeasByAttribute(request, "category"))
+                        .GET("/ideas/sector/{sector}", request -> handler.getIdeasByAttribute(request, "sector"))
+                        .GET("/ideas/difficulty/{difficultyLevel}",
+                                request -> handler.getIdeasByAttribute(request, "difficultyLevel"))
+                        .GET("/ideas/location/{location}", request -> handler.getIdeasByAttribute(request, "location"))
+                        .GET("/ideas/{id}", handler::getIdeaById)
+                        .GET("/categories", request -> handler.getDistinct("category"))
+                        .GET("/sectors", request -> handler.getDistinct("sector"))
+                        .GET("/difficulty-levels", request -> handler.getDistinct("difficultyLevel"))
+                        .GET("/locations", request -> handler.getDistinct("location"))
+                        .GET("/idea-details/{ideaId}/schemes", handler::getSchemes)
+                        .GET("/idea-details/{ideaId}/schemes/{schemeType}", handler::getSchemes)
+                        .GET("/idea-details/{ideaId}/bank-loans", handler::getBankLoans)
+                        .GET("/idea-details/{ideaId}/bank-loans/{loanType}", handler::getBankLoans))
+                // Malformed ids and numbers: 400, as Spring MVC answers a type mismatch
+                .onError(IllegalArgumentException.class, (e, request) -> ServerResponse.badRequest().build())
+                .build();
+    }
+
+    // Same origins as the @CrossOrigin on the servlet controllers
+    @Bean
+    public CorsWebFilter catalogCorsFilter(@Value("${spring.web.cors.allowed-origins}") List<String> allowedOrigins) {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(allowedOrigins);
+        configuration.addAllowedMethod(HttpMethod.GET);
+        configuration.addAllowedHeader("*");
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/**", configuration);
+        return new CorsWebFilter(source);
+    }
+}
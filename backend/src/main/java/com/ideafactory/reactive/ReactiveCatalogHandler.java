@@ -0,0 +1,104 @@
+package com.ideafactory.reactive;
+
+import com.ideafactory.model.Idea;
+import com.ideafactory.model.IdeaBankLoan;
+import com.ideafactory.model.IdeaScheme;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Reactive Catalog Handler
+ * The public read endpoints of IdeaController and IdeaDetailController,
+ * answering with the same JSON. List endpoints stream their JSON array as
+ * rows arrive, paced by the client; ask for application/x-ndjson to get
+ * one idea per line instead.
+ */
+class ReactiveCatalogHandler {
+
+    private final ReactiveCatalogRepository repository;
+
+    ReactiveCatalogHandler(ReactiveCatalogRepository repository) {
+        this.repository = repository;
+    }
+
+    Mono<ServerResponse> getAllIdeas(ServerRequest request) {
+        return ideas(request, repository.findAllActive());
+    }
+
+    Mono<ServerResponse> getAllIdeasPaginated(ServerRequest request) {
+        return Mono.defer(() -> {
+            int page = intParam(request, "page", 0);
+            int size = intParam(request, "size", 20);
+            boolean popular = request.queryParam("sort").filter("popular"::equalsIgnoreCase).isPresent();
+            return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                    .body(repository.findActivePage(PageRequest.of(page, size), popular), Object.class);
+        });
+    }
+
+    Mono<ServerResponse> getIdeaById(ServerRequest request) {
+        return Mono.defer(() -> repository.findById(pathId(request, "id")))
+                .flatMap(idea -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(idea))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    // /api/ideas/category/{category}, /sector/{sector}, /difficulty/{difficultyLevel}, /location/{location}
+    Mono<ServerResponse> getIdeasByAttribute(ServerRequest request, String attribute) {
+        return ideas(request, repository.findByAttribute(attribute, request.pathVariable(attribute)));
+    }
+
+    Mono<ServerResponse> getIdeasWithFilters(ServerRequest request) {
+        return Mono.defer(() -> {
+            BigDecimal maxInvestment = request.queryParam("maxInvestment").map(BigDecimal::new).orElse(null);
+            return ideas(request, repository.findWithFilters(
+                    request.queryParam("category").orElse(null),
+                    request.queryParam("sector").orElse(null),
+                    request.queryParam("difficultyLevel").orElse(null),
+                    request.queryParam("location").orElse(null),
+                    maxInvestment));
+        });
+    }
+
+    // /api/categories, /sectors, /difficulty-levels, /locations
+    Mono<ServerResponse> getDistinct(String attribute) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(repository.findDistinct(attribute), Object.class);
+    }
+
+    Mono<ServerResponse> getSchemes(ServerRequest request) {
+        return Mono.defer(() -> {
+            Flux<IdeaScheme> schemes = repository.findSchemes(pathId(request, "ideaId"),
+                    request.pathVariables().get("schemeType"));
+            return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(schemes, IdeaScheme.class);
+        });
+    }
+
+    Mono<ServerResponse> getBankLoans(ServerRequest request) {
+        return Mono.defer(() -> {
+            Flux<IdeaBankLoan> bankLoans = repository.findBankLoans(pathId(request, "ideaId"),
+                    request.pathVariables().get("loanType"));
+            return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(bankLoans, IdeaBankLoan.class);
+        });
+    }
+
+    private static Mono<ServerResponse> ideas(ServerRequest request, Flux<Idea> ideas) {
+        MediaType type = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(type).body(ideas, Idea.class);
+    }
+
+    // Parsing happens inside Mono.defer so a malformed value reaches the router's onError as a 400
+    private static Long pathId(ServerRequest request, String name) {
+        return Long.valueOf(request.pathVariable(name));
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+    }
+}
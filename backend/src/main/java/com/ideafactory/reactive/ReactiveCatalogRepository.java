@@ -0,0 +1,292 @@
+package com.ideafactory.reactive;
+
+import com.ideafactory.model.Idea;
+import com.ideafactory.model.IdeaBankLoan;
+import com.ideafactory.model.IdeaScheme;
+import io.r2dbc.spi.Readable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Reactive Catalog Repository
+ * Reads ideas, schemes and bank loans through R2DBC into the same model
+ * classes the servlet API serializes, with the same filters as the
+ * IdeaRepository queries behind each endpoint.
+ *
+ * Idea lists are read in id-ordered pages, each with its audience and
+ * advantage rows fetched in one query per collection. The next page is
+ * queried only when the subscriber asks for more, so a slow client holds
+ * no connection and at most a couple of pages in memory.
+ *
+ * The coded attributes are read by joining idea_terms, and filtered by
+ * looking up the code once, so the comparison on ideas is on integers.
+ */
+class ReactiveCatalogRepository {
+
+    static final int PAGE_SIZE = 200;
+
+    private static final String IDEA_COLUMNS = "i.id, i.title, i.description, c.term AS category, s.term AS sector, "
+            + "i.investment_needed, i.expertise_needed, i.training_needed, i.resources, i.success_examples, "
+            + "i.video_url, i.government_subsidies, i.funding_options, i.bank_assistance, "
+            + "d.term AS difficulty_level, t.term AS time_to_market, l.term AS location, i.image_url, i.active, "
+            + "i.upload_batch_id";
+
+    // ideas joined to the terms behind its coded columns (see IdeaTermConverter)
+    private static final String IDEAS = "ideas i "
+            + "LEFT JOIN idea_terms c ON c.id = i.category LEFT JOIN idea_terms s ON s.id = i.sector "
+            + "LEFT JOIN idea_terms d ON d.id = i.difficulty_level LEFT JOIN idea_terms t ON t.id = i.time_to_market "
+            + "LEFT JOIN idea_terms l ON l.id = i.location";
+
+    // Code columns the single-attribute list endpoints may filter on
+    private static final Map<String, String> IDEA_ATTRIBUTES = Map.of(
+            "category", "i.category",
+            "sector", "i.sector",
+            "difficultyLevel", "i.difficulty_level",
+            "location", "i.location");
+
+    private final DatabaseClient client;
+
+    ReactiveCatalogRepository(DatabaseClient client) {
+        this.client = client;
+    }
+
+    // IdeaRepository.findAllActive
+    Flux<Idea> findAllActive() {
+        return stream("i.active = TRUE", Map.of());
+    }
+
+    // IdeaRepository.findByCategory / findBySector / ... (inactive ideas included, as there)
+    Flux<Idea> findByAttribute(String attribute, String value) {
+        return stream(IDEA_ATTRIBUTES.get(attribute) + " = " + code(":value"), Map.of("value", value));
+    }
+
+    // IdeaRepository.findWithFilters
+    Flux<Idea> findWithFilters(String category, String sector, String difficultyLevel, String location,
+                               BigDecimal maxInvestment) {
+        StringBuilder condition = new StringBuilder("i.active = TRUE");
+        Map<String, Object> params = new LinkedHashMap<>();
+        addEquals(condition, params, "category", category);
+        addEquals(condition, params, "sector", sector);
+        addEquals(condition, params, "difficultyLevel", difficultyLevel);
+        addEquals(condition, params, "location", location);
+        if (maxInvestment != null) {
+            condition.append(" AND i.investment_needed <= :maxInvestment");
+            params.put("maxInvestment", maxInvestment);
+        }
+        return stream(condition.toString(), params);
+    }
+
+    // IdeaRepository.findAllActivePaginated, or findAllActiveByPopularity when popular
+    Mono<Page<Idea>> findActivePage(Pageable pageable, boolean popular) {
+        String order = popular ? "i.popularity_score DESC NULLS LAST, i.id DESC" : "i.id";
+        Mono<List<Idea>> content = withCollections(client
+                .sql("SELECT " + IDEA_COLUMNS + " FROM " + IDEAS + " WHERE i.active = TRUE ORDER BY " + order
+                        + " LIMIT :limit OFFSET :offset")
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(ReactiveCatalogRepository::toIdea)
+                .all());
+        Mono<Long> total = client.sql("SELECT COUNT(*) FROM ideas i WHERE i.active = TRUE")
+                .map(row -> ((Number) row.get(0)).longValue())
+                .one();
+        return Mono.zip(content, total, (ideas, count) -> new PageImpl<>(ideas, pageable, count));
+    }
+
+    Mono<Idea> findById(Long id) {
+        return withCollections(client.sql("SELECT " + IDEA_COLUMNS + " FROM " + IDEAS + " WHERE i.id = :id")
+                .bind("id", id)
+                .map(ReactiveCatalogRepository::toIdea)
+                .all())
+                .flatMap(ideas -> Mono.justOrEmpty(ideas.stream().findFirst()));
+    }
+
+    // IdeaRepository.findAllCategories and friends; nulls are kept, as the JPQL DISTINCT keeps them
+    Mono<List<String>> findDistinct(String attribute) {
+        return client.sql("SELECT DISTINCT v.term FROM ideas i LEFT JOIN idea_terms v ON v.id = "
+                        + IDEA_ATTRIBUTES.get(attribute))
+                .map(row -> Optional.ofNullable(row.get(0, String.class)))
+                .all()
+                .collectList()
+                .map(values -> {
+                    List<String> distinct = new ArrayList<>(values.size());
+                    values.forEach(value -> distinct.add(value.orElse(null)));
+                    return distinct;
+                });
+    }
+
+    // IdeaSchemeRepository.findByIdeaIdAndIsActiveTrue, or findByIdeaIdAndSchemeType
+    Flux<IdeaScheme> findSchemes(Long ideaId, String schemeType) {
+        String condition = schemeType == null ? "is_active = TRUE" : "scheme_type = :type";
+        DatabaseClient.GenericExecuteSpec spec = client
+                .sql("SELECT * FROM idea_schemes WHERE idea_id = :ideaId AND " + condition)
+                .bind("ideaId", ideaId);
+        if (schemeType != null) {
+            spec = spec.bind("type", schemeType);
+        }
+        return spec.map(ReactiveCatalogRepository::toScheme).all();
+    }
+
+    // IdeaBankLoanRepository.findByIdeaIdAndIsActiveTrue, or findByIdeaIdAndLoanType
+    Flux<IdeaBankLoan> findBankLoans(Long ideaId, String loanType) {
+        String condition = loanType == null ? "is_active = TRUE" : "loan_type = :type";
+        DatabaseClient.GenericExecuteSpec spec = client
+                .sql("SELECT * FROM idea_bank_loans WHERE idea_id = :ideaId AND " + condition)
+                .bind("ideaId", ideaId);
+        if (loanType != null) {
+            spec = spec.bind("type", loanType);
+        }
+        return spec.map(ReactiveCatalogRepository::toBankLoan).all();
+    }
+
+    private Flux<Idea> stream(String condition, Map<String, Object> params) {
+        return page(condition, params, 0L)
+                .expand(ideas -> ideas.size() < PAGE_SIZE
+                        ? Mono.empty()
+                        : page(condition, params, ideas.get(ideas.size() - 1).getId()))
+                // One page at a time: the next is requested once this one is drained
+                .concatMapIterable(Function.identity(), 1);
+    }
+
+    private Mono<List<Idea>> page(String condition, Map<String, Object> params, long afterId) {
+        DatabaseClient.GenericExecuteSpec spec = client
+                .sql("SELECT " + IDEA_COLUMNS + " FROM " + IDEAS + " WHERE " + condition
+                        + " AND i.id > :afterId ORDER BY i.id LIMIT " + PAGE_SIZE)
+                .bind("afterId", afterId);
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return withCollections(spec.map(ReactiveCatalogRepository::toIdea).all());
+    }
+
+    // Fill targetAudience and specialAdvantages for a page with one query each
+    private Mono<List<Idea>> withCollections(Flux<Idea> rows) {
+        return rows.collectList().flatMap(ideas -> {
+            if (ideas.isEmpty()) {
+                return Mono.just(ideas);
+            }
+            Map<Long, Idea> byId = new LinkedHashMap<>();
+            for (Idea idea : ideas) {
+                idea.setTargetAudience(new ArrayList<>());
+                idea.setSpecialAdvantages(new ArrayList<>());
+                byId.put(idea.getId(), idea);
+            }
+            List<Long> ids = new ArrayList<>(byId.keySet());
+            Mono<Void> audience = client
+                    .sql("SELECT a.idea_id, v.term AS target_audience FROM idea_target_audience a "
+                            + "LEFT JOIN idea_terms v ON v.id = a.target_audience WHERE a.idea_id IN (:ids)")
+                    .bind("ids", ids)
+                    .map(row -> Map.entry(row.get("idea_id", Long.class), value(row, "target_audience")))
+                    .all()
+                    .doOnNext(entry -> byId.get(entry.getKey()).getTargetAudience().add(entry.getValue().orElse(null)))
+                    .then();
+            Mono<Void> advantages = client
+                    .sql("SELECT a.idea_id, v.term AS special_advantages FROM idea_special_advantages a "
+                            + "LEFT JOIN idea_terms v ON v.id = a.special_advantages WHERE a.idea_id IN (:ids)")
+                    .bind("ids", ids)
+                    .map(row -> Map.entry(row.get("idea_id", Long.class), value(row, "special_advantages")))
+                    .all()
+                    .doOnNext(entry -> byId.get(entry.getKey()).getSpecialAdvantages().add(entry.getValue().orElse(null)))
+                    .then();
+            return Mono.when(audience, advantages).thenReturn(ideas);
+        });
+    }
+
+    private static void addEquals(StringBuilder condition, Map<String, Object> params, String attribute, String value) {
+        if (value != null) {
+            condition.append(" AND ").append(IDEA_ATTRIBUTES.get(attribute)).append(" = ").append(code(":" + attribute));
+            params.put(attribute, value);
+        }
+    }
+
+    // A value no idea has has no code, so the comparison is with NULL and matches nothing
+    private static String code(String parameter) {
+        return "(SELECT id FROM idea_terms WHERE term = " + parameter + ")";
+    }
+
+    private static Optional<String> value(Readable row, String column) {
+        return Optional.ofNullable(row.get(column, String.class));
+    }
+
+    private static Idea toIdea(Readable row) {
+        Idea idea = new Idea();
+        idea.setId(row.get("id", Long.class));
+        idea.setTitle(row.get("title", String.class));
+        idea.setDescription(row.get("description", String.class));
+        idea.setCategory(row.get("category", String.class));
+        idea.setSector(row.get("sector", String.class));
+        idea.setInvestmentNeeded(row.get("investment_needed", BigDecimal.class));
+        idea.setExpertiseNeeded(row.get("expertise_needed", String.class));
+        idea.setTrainingNeeded(row.get("training_needed", String.class));
+        idea.setResources(row.get("resources", String.class));
+        idea.setSuccessExamples(row.get("success_examples", String.class));
+        idea.setVideoUrl(row.get("video_url", String.class));
+        idea.setGovernmentSubsidies(row.get("government_subsidies", String.class));
+        idea.setFundingOptions(row.get("funding_options", String.class));
+        idea.setBankAssistance(row.get("bank_assistance", String.class));
+        idea.setDifficultyLevel(row.get("difficulty_level", String.class));
+        idea.setTimeToMarket(row.get("time_to_market", String.class));
+        idea.setLocation(row.get("location", String.class));
+        idea.setImageUrl(row.get("image_url", String.class));
+        idea.setActive(Boolean.TRUE.equals(row.get("active", Boolean.class)));
+        idea.setUploadBatchId(row.get("upload_batch_id", String.class));
+        return idea;
+    }
+
+    private static IdeaScheme toScheme(Readable row) {
+        IdeaScheme scheme = new IdeaScheme();
+        scheme.setId(row.get("id", Long.class));
+        scheme.setSchemeName(row.get("scheme_name", String.class));
+        scheme.setSchemeType(row.get("scheme_type", String.class));
+        scheme.setSchemeCategory(row.get("scheme_category", String.class));
+        scheme.setRegionState(row.get("region_state", String.class));
+        scheme.setDescription(row.get("description", String.class));
+        scheme.setEligibilityCriteria(row.get("eligibility_criteria", String.class));
+        scheme.setMaximumAmount(row.get("maximum_amount", BigDecimal.class));
+        scheme.setInterestRate(row.get("interest_rate", BigDecimal.class));
+        scheme.setRepaymentPeriod(row.get("repayment_period", String.class));
+        scheme.setApplicationDeadline(row.get("application_deadline", LocalDateTime.class));
+        scheme.setContactInfo(row.get("contact_info", String.class));
+        scheme.setWebsiteUrl(row.get("website_url", String.class));
+        scheme.setIsActive(row.get("is_active", Boolean.class));
+        scheme.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        scheme.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return scheme;
+    }
+
+    private static IdeaBankLoan toBankLoan(Readable row) {
+        IdeaBankLoan loan = new IdeaBankLoan();
+        loan.setId(row.get("id", Long.class));
+        loan.setBankName(row.get("bank_name", String.class));
+        loan.setLoanType(row.get("loan_type", String.class));
+        loan.setLoanName(row.get("loan_name", String.class));
+        loan.setDescription(row.get("description", String.class));
+        loan.setMinimumAmount(row.get("minimum_amount", BigDecimal.class));
+        loan.setMaximumAmount(row.get("maximum_amount", BigDecimal.class));
+        loan.setInterestRateMin(row.get("interest_rate_min", BigDecimal.class));
+        loan.setInterestRateMax(row.get("interest_rate_max", BigDecimal.class));
+        loan.setLoanTenureMin(row.get("loan_tenure_min", String.class));
+        loan.setLoanTenureMax(row.get("loan_tenure_max", String.class));
+        loan.setProcessingFee(row.get("processing_fee", BigDecimal.class));
+        loan.setEligibilityCriteria(row.get("eligibility_criteria", String.class));
+        loan.setRequiredDocuments(row.get("required_documents", String.class));
+        loan.setContactInfo(row.get("contact_info", String.class));
+        loan.setWebsiteUrl(row.get("website_url", String.class));
+        loan.setIsActive(row.get("is_active", Boolean.class));
+        loan.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        loan.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return loan;
+    }
+}
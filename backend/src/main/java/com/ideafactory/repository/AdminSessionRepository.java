@@ -40,10 +40,10 @@ public interface AdminSessionRepository extends JpaRepository<AdminSession, Long
     @Query("UPDATE AdminSession as SET as.active = false WHERE as.user.id = :userId AND as.sessionId != :sessionId")
     void deactivateOtherSessionsForUser(@Param("userId") Long userId, @Param("sessionId") String sessionId);
     
-    // Clean up expired sessions
+    // Clean up expired sessions in one bulk update
     @Modifying
-    @Query("UPDATE AdminSession as SET as.active = false WHERE as.expiresAt < :now")
-    void deactivateExpiredSessions(@Param("now") LocalDateTime now);
+    @Query("UPDATE AdminSession as SET as.active = false WHERE as.active = true AND as.expiresAt < :now")
+    int deactivateExpiredSessions(@Param("now") LocalDateTime now);
     
     // Count active sessions for a user
     @Query("SELECT COUNT(as) FROM AdminSession as WHERE as.user.id = :userId AND as.active = true")
@@ -1,8 +1,11 @@
 package com.ideafactory.repository;
 
 import com.ideafactory.model.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,14 +15,20 @@ import java.util.List;
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     
     // Get all distinct main categories
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "categoryQueries")})
     @Query("SELECT DISTINCT c.mainCategory FROM Category c WHERE c.active = true ORDER BY c.mainCategory")
     List<String> findAllMainCategories();
     
     // Get subcategories for a specific main category
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "categoryQueries")})
     @Query("SELECT c.subCategory FROM Category c WHERE c.mainCategory = :mainCategory AND c.active = true ORDER BY c.subCategory")
     List<String> findSubCategoriesByMainCategory(@Param("mainCategory") String mainCategory);
     
     // Get all categories (for admin management)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "categoryQueries")})
     List<Category> findByActiveTrueOrderByMainCategoryAscSubCategoryAsc();
     
     // Check if a category combination exists
@@ -1,7 +1,13 @@
 package com.ideafactory.repository;
 
 import com.ideafactory.model.IdeaBankLoan;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,9 +15,22 @@ import java.util.List;
 @Repository
 public interface IdeaBankLoanRepository extends JpaRepository<IdeaBankLoan, Long> {
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "ideaDetailQueries")})
     List<IdeaBankLoan> findByIdeaIdAndIsActiveTrue(Long ideaId);
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "ideaDetailQueries")})
     List<IdeaBankLoan> findByIdeaIdAndLoanType(Long ideaId, String loanType);
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "ideaDetailQueries")})
     List<IdeaBankLoan> findByIdeaIdAndBankName(Long ideaId, String bankName);
+    
+    // Search index rows for active loans of active ideas, paged by id:
+    // [id, ideaId, ideaTitle, loanName, bankName, loanType, minimumAmount, maximumAmount, interestRateMin, interestRateMax]
+    @Query("SELECT l.id, i.id, i.title, l.loanName, l.bankName, l.loanType, l.minimumAmount, l.maximumAmount, " +
+           "l.interestRateMin, l.interestRateMax FROM IdeaBankLoan l JOIN l.idea i " +
+           "WHERE l.isActive = true AND i.active = true AND l.id > :afterId ORDER BY l.id")
+    List<Object[]> findActiveSearchRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
 } 
\ No newline at end of file
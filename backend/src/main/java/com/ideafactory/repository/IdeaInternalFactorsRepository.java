@@ -1,7 +1,10 @@
 package com.ideafactory.repository;
 
 import com.ideafactory.model.IdeaInternalFactors;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,7 +12,11 @@ import java.util.List;
 @Repository
 public interface IdeaInternalFactorsRepository extends JpaRepository<IdeaInternalFactors, Long> {
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "ideaDetailQueries")})
     List<IdeaInternalFactors> findByIdeaId(Long ideaId);
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "ideaDetailQueries")})
     List<IdeaInternalFactors> findByIdeaIdAndFactorType(Long ideaId, String factorType);
 } 
\ No newline at end of file
@@ -1,23 +1,44 @@
 package com.ideafactory.repository;
 
 import com.ideafactory.model.IdeaInvestment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface IdeaInvestmentRepository extends JpaRepository<IdeaInvestment, Long> {
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "ideaDetailQueries")})
     List<IdeaInvestment> findByIdeaIdOrderByAmountDesc(Long ideaId);
     
     @Query("SELECT SUM(i.amount) FROM IdeaInvestment i WHERE i.idea.id = :ideaId")
     BigDecimal getTotalInvestmentByIdeaId(@Param("ideaId") Long ideaId);
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "ideaDetailQueries")})
     List<IdeaInvestment> findByIdeaIdAndPriorityLevel(Long ideaId, String priorityLevel);
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "ideaDetailQueries")})
     List<IdeaInvestment> findByIdeaIdAndIsOptionalFalse(Long ideaId);
+    
+    // One row per (priorityLevel, isOptional): [priorityLevel, isOptional, count, sum]
+    @Query("SELECT i.priorityLevel, i.isOptional, COUNT(i), SUM(i.amount) FROM IdeaInvestment i " +
+           "WHERE i.idea.id = :ideaId GROUP BY i.priorityLevel, i.isOptional")
+    List<Object[]> summarizeByIdeaId(@Param("ideaId") Long ideaId);
+    
+    // One row per idea that has investments: [ideaId, count, total, requiredTotal]
+    @Query("SELECT i.idea.id, COUNT(i), SUM(i.amount), " +
+           "SUM(CASE WHEN i.isOptional = true THEN 0 ELSE i.amount END) FROM IdeaInvestment i " +
+           "WHERE i.idea.id IN :ideaIds GROUP BY i.idea.id")
+    List<Object[]> summarizeByIdeaIds(@Param("ideaIds") Collection<Long> ideaIds);
 } 
\ No newline at end of file
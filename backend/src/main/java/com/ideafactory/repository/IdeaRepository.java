@@ -10,6 +10,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -39,11 +41,12 @@ public interface IdeaRepository extends JpaRepository<Idea, Long> {
     @Query("SELECT DISTINCT i.location FROM Idea i")
     List<String> findAllLocations();
     
-    @Query("SELECT i FROM Idea i WHERE i.targetAudience LIKE %:audience%")
-    List<Idea> findByTargetAudienceContaining(@Param("audience") String audience);
+    // Audiences and advantages are coded, so substring matches are resolved to terms first (IdeaTermDictionary)
+    @Query("SELECT i FROM Idea i WHERE EXISTS (SELECT ta FROM i.targetAudience ta WHERE ta IN :audiences)")
+    List<Idea> findByTargetAudienceIn(@Param("audiences") Collection<String> audiences);
     
-    @Query("SELECT i FROM Idea i WHERE i.specialAdvantages LIKE %:advantage%")
-    List<Idea> findBySpecialAdvantagesContaining(@Param("advantage") String advantage);
+    @Query("SELECT i FROM Idea i WHERE EXISTS (SELECT sa FROM i.specialAdvantages sa WHERE sa IN :advantages)")
+    List<Idea> findBySpecialAdvantagesIn(@Param("advantages") Collection<String> advantages);
     
 //     // Find all active ideas with eager loading
 //     @Query("SELECT DISTINCT i FROM Idea i LEFT JOIN FETCH i.targetAudience LEFT JOIN FETCH i.specialAdvantages WHERE i.active = true")
@@ -60,9 +63,17 @@ List<Idea> findAllActive();
 
     @Query("SELECT i FROM Idea i WHERE i.active = true")
     Page<Idea> findAllActivePaginated(Pageable pageable);
+
+    // Most popular first; popularityScore is maintained by TrendingService
+    @Query(value = "SELECT i FROM Idea i WHERE i.active = true ORDER BY i.popularityScore DESC NULLS LAST, i.id DESC",
+           countQuery = "SELECT COUNT(i) FROM Idea i WHERE i.active = true")
+    Page<Idea> findAllActiveByPopularity(Pageable pageable);
+
+    @Query("SELECT i.id FROM Idea i WHERE i.active = true ORDER BY i.popularityScore DESC NULLS LAST, i.id DESC")
+    List<Long> findActiveIdsByPopularity(Pageable pageable);
     
 
-    @Query("SELECT DISTINCT i FROM Idea i LEFT JOIN FETCH i.targetAudience LEFT JOIN FETCH i.specialAdvantages WHERE " +
+    @Query("SELECT i FROM Idea i WHERE " +
            "(:category IS NULL OR i.category = :category) AND " +
            "(:sector IS NULL OR i.sector = :sector) AND " +
            "(:difficultyLevel IS NULL OR i.difficultyLevel = :difficultyLevel) AND " +
@@ -98,19 +109,20 @@ List<Idea> findAllActive();
     @Query("SELECT COUNT(i) FROM Idea i WHERE i.uploadBatchId = :batchId")
     long countByUploadBatchId(@Param("batchId") String batchId);
     
-    // Enhanced pagination methods for admin panel with comprehensive filtering
+    // Enhanced pagination methods for admin panel with comprehensive filtering;
+    // blank filters must be passed as null, since the coded attributes compare as integers
     @Query("SELECT i FROM Idea i WHERE " +
            "(:search IS NULL OR :search = '' OR " +
            "LOWER(i.title) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(i.description) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
-           "(:category IS NULL OR :category = '' OR i.category = :category) AND " +
-           "(:sector IS NULL OR :sector = '' OR i.sector = :sector) AND " +
-           "(:difficultyLevel IS NULL OR :difficultyLevel = '' OR i.difficultyLevel = :difficultyLevel) AND " +
-           "(:location IS NULL OR :location = '' OR i.location = :location) AND " +
+           "(:category IS NULL OR i.category = :category) AND " +
+           "(:sector IS NULL OR i.sector = :sector) AND " +
+           "(:difficultyLevel IS NULL OR i.difficultyLevel = :difficultyLevel) AND " +
+           "(:location IS NULL OR i.location = :location) AND " +
            "(:maxInvestment IS NULL OR i.investmentNeeded <= :maxInvestment) AND " +
-           "(:targetAudience IS NULL OR :targetAudience = '' OR " +
+           "(:targetAudience IS NULL OR " +
            "EXISTS (SELECT ta FROM i.targetAudience ta WHERE ta = :targetAudience)) AND " +
-           "(:specialAdvantage IS NULL OR :specialAdvantage = '' OR " +
+           "(:specialAdvantage IS NULL OR " +
            "EXISTS (SELECT sa FROM i.specialAdvantages sa WHERE sa = :specialAdvantage))")
     Page<Idea> findBySearchWithFilters(@Param("search") String search,
                                      @Param("category") String category,
@@ -123,14 +135,14 @@ List<Idea> findAllActive();
                                      Pageable pageable);
     
     @Query("SELECT i FROM Idea i WHERE " +
-           "(:category IS NULL OR :category = '' OR i.category = :category) AND " +
-           "(:sector IS NULL OR :sector = '' OR i.sector = :sector) AND " +
-           "(:difficultyLevel IS NULL OR :difficultyLevel = '' OR i.difficultyLevel = :difficultyLevel) AND " +
-           "(:location IS NULL OR :location = '' OR i.location = :location) AND " +
+           "(:category IS NULL OR i.category = :category) AND " +
+           "(:sector IS NULL OR i.sector = :sector) AND " +
+           "(:difficultyLevel IS NULL OR i.difficultyLevel = :difficultyLevel) AND " +
+           "(:location IS NULL OR i.location = :location) AND " +
            "(:maxInvestment IS NULL OR i.investmentNeeded <= :maxInvestment) AND " +
-           "(:targetAudience IS NULL OR :targetAudience = '' OR " +
+           "(:targetAudience IS NULL OR " +
            "EXISTS (SELECT ta FROM i.targetAudience ta WHERE ta = :targetAudience)) AND " +
-           "(:specialAdvantage IS NULL OR :specialAdvantage = '' OR " +
+           "(:specialAdvantage IS NULL OR " +
            "EXISTS (SELECT sa FROM i.specialAdvantages sa WHERE sa = :specialAdvantage))")
     Page<Idea> findWithAllFilters(@Param("category") String category,
                                 @Param("sector") String sector,
@@ -141,15 +153,52 @@ List<Idea> findAllActive();
                                 @Param("specialAdvantage") String specialAdvantage,
                                 Pageable pageable);
                                 
-    // Methods to get unique filter values for dropdowns
-    @Query("SELECT DISTINCT ta FROM Idea i JOIN i.targetAudience ta ORDER BY ta")
+    // Methods to get unique filter values for dropdowns; in code order, since the columns hold codes
+    @Query("SELECT DISTINCT ta FROM Idea i JOIN i.targetAudience ta")
     List<String> findAllTargetAudiences();
     
-    @Query("SELECT DISTINCT sa FROM Idea i JOIN i.specialAdvantages sa ORDER BY sa")
+    @Query("SELECT DISTINCT sa FROM Idea i JOIN i.specialAdvantages sa")
     List<String> findAllSpecialAdvantages();
     
+    // Scalar facet rows for offline index builds: [id, category, sector, difficultyLevel, location, investmentNeeded]
+    @Query("SELECT i.id, i.category, i.sector, i.difficultyLevel, i.location, i.investmentNeeded FROM Idea i WHERE i.active = true")
+    List<Object[]> findActiveFacetRows();
+    
+    // [ideaId, targetAudience] for every active idea
+    @Query("SELECT i.id, ta FROM Idea i JOIN i.targetAudience ta WHERE i.active = true")
+    List<Object[]> findActiveTargetAudienceRows();
+    
+    // Text rows in id order for batch jobs: [id, title, description, category, sector, investmentNeeded]
+    @Query("SELECT i.id, i.title, i.description, i.category, i.sector, i.investmentNeeded FROM Idea i " +
+           "WHERE i.active = true AND i.id > :afterId ORDER BY i.id")
+    List<Object[]> findActiveTextRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT i.id, i.title, i.description, i.category, i.sector, i.investmentNeeded FROM Idea i " +
+           "WHERE i.active = true AND i.id IN :ids")
+    List<Object[]> findActiveTextRowsByIds(@Param("ids") Collection<Long> ids);
+    
+    // [ideaId, specialAdvantage] for the given ideas
+    @Query("SELECT i.id, sa FROM Idea i JOIN i.specialAdvantages sa WHERE i.id IN :ids")
+    List<Object[]> findSpecialAdvantageRowsByIds(@Param("ids") Collection<Long> ids);
+    
+    // [ideaId, targetAudience] for the given ideas
+    @Query("SELECT i.id, ta FROM Idea i JOIN i.targetAudience ta WHERE i.id IN :ids")
+    List<Object[]> findTargetAudienceRowsByIds(@Param("ids") Collection<Long> ids);
+    
+    // Every idea, active or not, in id order; collections are left unloaded
+    @Query("SELECT i FROM Idea i WHERE i.id > :afterId ORDER BY i.id")
+    List<Idea> findAllAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Ideas inserted or updated since the given time, in id order
+    @Query("SELECT i FROM Idea i WHERE i.updatedAt >= :since AND i.id > :afterId ORDER BY i.id")
+    List<Idea> findUpdatedSinceAfter(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                     Pageable pageable);
+    
+    @Query("SELECT i.id FROM Idea i")
+    List<Long> findAllIds();
+    
     // Force update all ideas to be active
     @Modifying
-    @Query("UPDATE Idea SET active = true WHERE active = false OR active IS NULL")
+    @Query("UPDATE Idea SET active = true, updatedAt = CURRENT_TIMESTAMP WHERE active = false OR active IS NULL")
     void updateAllIdeasToActive();
 } 
\ No newline at end of file
@@ -1,18 +1,20 @@
 package com.ideafactory.repository;
 
 import com.ideafactory.model.IdeaReview;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface IdeaReviewRepository extends JpaRepository<IdeaReview, Long> {
     
-    List<IdeaReview> findByIdeaIdAndIsApprovedTrueOrderByCreatedAtDesc(Long ideaId);
-    
     @Query("SELECT AVG(r.rating) FROM IdeaReview r WHERE r.idea.id = :ideaId AND r.isApproved = true")
     Double getAverageRatingByIdeaId(@Param("ideaId") Long ideaId);
     
@@ -22,8 +24,53 @@ public interface IdeaReviewRepository extends JpaRepository<IdeaReview, Long> {
     @Query("SELECT COUNT(r) FROM IdeaReview r WHERE r.idea.id = :ideaId AND r.rating = :rating AND r.isApproved = true")
     Long getReviewCountByRating(@Param("ideaId") Long ideaId, @Param("rating") Integer rating);
     
-    List<IdeaReview> findByIsApprovedFalseOrderByCreatedAtDesc();
+    // Pending moderation queue, newest first, keyset-paged on (createdAt, id)
+    @Query("SELECT r FROM IdeaReview r WHERE r.isApproved = false ORDER BY r.createdAt DESC, r.id DESC")
+    List<IdeaReview> findPendingQueue(Pageable pageable);
+    
+    @Query("SELECT r FROM IdeaReview r WHERE r.isApproved = false " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<IdeaReview> findPendingQueueAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    Long countByIsApprovedFalse();
+    
+    @Modifying
+    @Query("UPDATE IdeaReview r SET r.isApproved = true, r.updatedAt = :now WHERE r.id IN :ids AND r.isApproved = false")
+    int approveAllByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM IdeaReview r WHERE r.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Approved reviews of one idea, keyset-paged; each sort has its own (idea_id, is_approved, key, id) index
+    @Query("SELECT r FROM IdeaReview r WHERE r.idea.id = :ideaId AND r.isApproved = true " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<IdeaReview> findApprovedByRecency(@Param("ideaId") Long ideaId, Pageable pageable);
+    
+    @Query("SELECT r FROM IdeaReview r WHERE r.idea.id = :ideaId AND r.isApproved = true " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<IdeaReview> findApprovedByRecencyAfter(@Param("ideaId") Long ideaId, @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT r FROM IdeaReview r WHERE r.idea.id = :ideaId AND r.isApproved = true " +
+           "ORDER BY r.rating DESC, r.id DESC")
+    List<IdeaReview> findApprovedByRating(@Param("ideaId") Long ideaId, Pageable pageable);
+    
+    @Query("SELECT r FROM IdeaReview r WHERE r.idea.id = :ideaId AND r.isApproved = true " +
+           "AND (r.rating < :rating OR (r.rating = :rating AND r.id < :id)) " +
+           "ORDER BY r.rating DESC, r.id DESC")
+    List<IdeaReview> findApprovedByRatingAfter(@Param("ideaId") Long ideaId, @Param("rating") Integer rating,
+                                               @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT r FROM IdeaReview r WHERE r.idea.id = :ideaId AND r.isApproved = true " +
+           "ORDER BY r.helpfulnessScore DESC, r.id DESC")
+    List<IdeaReview> findApprovedByHelpfulness(@Param("ideaId") Long ideaId, Pageable pageable);
     
-    @Query("SELECT r FROM IdeaReview r WHERE r.idea.id = :ideaId AND r.isApproved = true ORDER BY r.createdAt DESC")
-    List<IdeaReview> findApprovedReviewsByIdeaId(@Param("ideaId") Long ideaId);
+    @Query("SELECT r FROM IdeaReview r WHERE r.idea.id = :ideaId AND r.isApproved = true " +
+           "AND (r.helpfulnessScore < :score OR (r.helpfulnessScore = :score AND r.id < :id)) " +
+           "ORDER BY r.helpfulnessScore DESC, r.id DESC")
+    List<IdeaReview> findApprovedByHelpfulnessAfter(@Param("ideaId") Long ideaId, @Param("score") Double score,
+                                                    @Param("id") Long id, Pageable pageable);
 } 
\ No newline at end of file
@@ -1,7 +1,13 @@
 package com.ideafactory.repository;
 
 import com.ideafactory.model.IdeaScheme;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,11 +15,26 @@ import java.util.List;
 @Repository
 public interface IdeaSchemeRepository extends JpaRepository<IdeaScheme, Long> {
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "ideaDetailQueries")})
     List<IdeaScheme> findByIdeaIdAndIsActiveTrue(Long ideaId);
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "ideaDetailQueries")})
     List<IdeaScheme> findByIdeaIdAndSchemeType(Long ideaId, String schemeType);
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "ideaDetailQueries")})
     List<IdeaScheme> findByIdeaIdAndRegionState(Long ideaId, String regionState);
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "ideaDetailQueries")})
     List<IdeaScheme> findByIdeaIdAndSchemeCategory(Long ideaId, String schemeCategory);
+    
+    // Search index rows for active schemes of active ideas, paged by id:
+    // [id, ideaId, ideaTitle, schemeName, schemeType, schemeCategory, regionState, maximumAmount, interestRate, applicationDeadline]
+    @Query("SELECT s.id, i.id, i.title, s.schemeName, s.schemeType, s.schemeCategory, s.regionState, " +
+           "s.maximumAmount, s.interestRate, s.applicationDeadline FROM IdeaScheme s JOIN s.idea i " +
+           "WHERE s.isActive = true AND i.active = true AND s.id > :afterId ORDER BY s.id")
+    List<Object[]> findActiveSearchRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
 } 
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.ideafactory.repository;
+
+import com.ideafactory.model.ProposedIdea;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProposedIdeaRepository extends JpaRepository<ProposedIdea, Long> {
+    
+    // Moderation queue, first page: highest priority first, then oldest first
+    @Query("SELECT p FROM ProposedIdea p WHERE p.status IN :statuses " +
+           "ORDER BY p.priority DESC, p.submittedAt ASC, p.id ASC")
+    List<ProposedIdea> findQueue(@Param("statuses") Collection<ProposedIdea.ProposalStatus> statuses,
+                                 Pageable pageable);
+    
+    // Moderation queue after the (priority, submittedAt, id) of the last row seen
+    @Query("SELECT p FROM ProposedIdea p WHERE p.status IN :statuses AND " +
+           "(p.priority < :priority OR (p.priority = :priority AND " +
+           "(p.submittedAt > :submittedAt OR (p.submittedAt = :submittedAt AND p.id > :id)))) " +
+           "ORDER BY p.priority DESC, p.submittedAt ASC, p.id ASC")
+    List<ProposedIdea> findQueueAfter(@Param("statuses") Collection<ProposedIdea.ProposalStatus> statuses,
+                                      @Param("priority") int priority,
+                                      @Param("submittedAt") LocalDateTime submittedAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+    
+    @Query("SELECT p FROM ProposedIdea p WHERE p.id IN :ids AND p.status IN :statuses")
+    List<ProposedIdea> findByIdInAndStatusIn(@Param("ids") Collection<Long> ids,
+                                             @Param("statuses") Collection<ProposedIdea.ProposalStatus> statuses);
+    
+    long countByStatus(ProposedIdea.ProposalStatus status);
+}
@@ -4,9 +4,11 @@ import com.ideafactory.model.SavedIdea;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,14 +19,32 @@ public interface SavedIdeaRepository extends JpaRepository<SavedIdea, Long> {
     @Query("SELECT si FROM SavedIdea si WHERE si.user.id = :userId")
     Page<SavedIdea> findByUserId(@Param("userId") Long userId, Pageable pageable);
     
+    // Saved ideas with the idea loaded in the same statement
+    @Query(value = "SELECT si FROM SavedIdea si JOIN FETCH si.idea WHERE si.user.id = :userId",
+           countQuery = "SELECT COUNT(si) FROM SavedIdea si WHERE si.user.id = :userId")
+    Page<SavedIdea> findWithIdeaByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query("SELECT si.idea.id FROM SavedIdea si WHERE si.user.id = :userId")
+    List<Long> findIdeaIdsByUserId(@Param("userId") Long userId);
+    
+    // [userId, ideaId] of every save, for offline recommendation builds
+    @Query("SELECT si.user.id, si.idea.id FROM SavedIdea si")
+    List<Object[]> findAllUserIdeaPairs();
+    
     @Query("SELECT si FROM SavedIdea si WHERE si.user.id = :userId AND si.idea.id = :ideaId")
     Optional<SavedIdea> findByUserIdAndIdeaId(@Param("userId") Long userId, @Param("ideaId") Long ideaId);
     
     @Query("SELECT COUNT(si) FROM SavedIdea si WHERE si.user.id = :userId")
     Long countByUserId(@Param("userId") Long userId);
     
-    @Query("SELECT si FROM SavedIdea si WHERE si.user.id = :userId ORDER BY si.savedAt DESC")
-    List<SavedIdea> findRecentByUserId(@Param("userId") Long userId);
+    // Most recent saves; the Pageable bounds the result
+    @Query("SELECT si FROM SavedIdea si JOIN FETCH si.idea WHERE si.user.id = :userId ORDER BY si.savedAt DESC")
+    List<SavedIdea> findRecentByUserId(@Param("userId") Long userId, Pageable pageable);
     
     boolean existsByUserIdAndIdeaId(Long userId, Long ideaId);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SavedIdea si WHERE si.user.id = :userId AND si.idea.id = :ideaId")
+    int deleteByUserIdAndIdeaId(@Param("userId") Long userId, @Param("ideaId") Long ideaId);
 } 
\ No newline at end of file
@@ -34,6 +34,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.username = :username AND u.active = true")
     Optional<User> findActiveUserByUsername(@Param("username") String username);
     
+    // Dashboard summary in one statement: [user, savedIdeas, reviews, rewardPoints,
+    // then proposal counts in ProposalStatus order: PENDING, APPROVED, REJECTED, UNDER_REVIEW]
+    @Query("SELECT u, " +
+           "(SELECT COUNT(s) FROM SavedIdea s WHERE s.user = u), " +
+           "(SELECT COUNT(r) FROM UserReview r WHERE r.user = u), " +
+           "(SELECT COALESCE(SUM(w.pointsValue), 0) FROM UserReward w WHERE w.user = u), " +
+           "(SELECT COUNT(p) FROM ProposedIdea p WHERE p.user = u AND p.status = 'PENDING'), " +
+           "(SELECT COUNT(p) FROM ProposedIdea p WHERE p.user = u AND p.status = 'APPROVED'), " +
+           "(SELECT COUNT(p) FROM ProposedIdea p WHERE p.user = u AND p.status = 'REJECTED'), " +
+           "(SELECT COUNT(p) FROM ProposedIdea p WHERE p.user = u AND p.status = 'UNDER_REVIEW') " +
+           "FROM User u WHERE u.email = :email AND u.active = true")
+    List<Object[]> findDashboardSummaryByEmail(@Param("email") String email);
+    
     // Auth provider queries
     @Query("SELECT u FROM User u WHERE u.email = :email AND u.authProvider = 'EMAIL'")
     Optional<User> findEmailUserByEmail(@Param("email") String email);
@@ -0,0 +1,21 @@
+package com.ideafactory.repository;
+
+import com.ideafactory.model.UserReview;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserReviewRepository extends JpaRepository<UserReview, Long> {
+    
+    // [ideaId, rating] for one user
+    @Query("SELECT ur.idea.id, ur.rating FROM UserReview ur WHERE ur.user.id = :userId")
+    List<Object[]> findRatingsByUserId(@Param("userId") Long userId);
+    
+    // [userId, ideaId] of every rating at or above minRating
+    @Query("SELECT ur.user.id, ur.idea.id FROM UserReview ur WHERE ur.rating >= :minRating")
+    List<Object[]> findUserIdeaPairsWithRatingAtLeast(@Param("minRating") Integer minRating);
+}
@@ -0,0 +1,115 @@
+package com.ideafactory.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admin Session Cache
+ * In-memory table of active admin sessions so session validation
+ * does not need a database round trip. Entries are evicted in expiry
+ * order through a priority queue keyed on expiresAt.
+ *
+ * Only sessions known to be active are held; a miss goes to the database.
+ * An admin has one session, and a newer one replaces the older entry.
+ * The table is per node: a login on another node revokes this node's
+ * entry only when it expires or the sweeper runs.
+ */
+@Component
+public class AdminSessionCache {
+
+    private final Map<String, Entry> sessions = new ConcurrentHashMap<>();
+
+    // Writes are serialized on expiryQueue; lookups read sessions without locking
+    private final PriorityQueue<Entry> expiryQueue =
+            new PriorityQueue<>(Comparator.comparing(Entry::getExpiresAt));
+    private final Map<Long, Entry> sessionsByUser = new HashMap<>();
+
+    // Register a committed, active session; an older session of the same user read late never wins
+    public void put(String sessionId, Long userId, LocalDateTime expiresAt) {
+        Entry entry = new Entry(sessionId, userId, expiresAt);
+        synchronized (expiryQueue) {
+            Entry current = sessionsByUser.get(userId);
+            if (current != null) {
+                if (current.getExpiresAt().isAfter(expiresAt)) {
+                    return;
+                }
+                sessions.remove(current.getSessionId(), current);
+            }
+            sessionsByUser.put(userId, entry);
+            sessions.put(sessionId, entry);
+            expiryQueue.add(entry);
+        }
+    }
+
+    // Look up a session; returns null if it is not in the table
+    public Entry get(String sessionId) {
+        evictExpired(LocalDateTime.now());
+        return sessions.get(sessionId);
+    }
+
+    // Drop all sessions of a user except the given one
+    public void invalidateOtherSessionsForUser(Long userId, String keepSessionId) {
+        synchronized (expiryQueue) {
+            Entry current = sessionsByUser.get(userId);
+            if (current != null && !current.getSessionId().equals(keepSessionId)) {
+                sessionsByUser.remove(userId);
+                sessions.remove(current.getSessionId(), current);
+            }
+        }
+    }
+
+    public void invalidate(String sessionId) {
+        synchronized (expiryQueue) {
+            Entry entry = sessions.remove(sessionId);
+            if (entry != null) {
+                sessionsByUser.remove(entry.getUserId(), entry);
+            }
+        }
+    }
+
+    // Pop every entry whose expiry has passed; invalidated entries are skipped lazily
+    public int evictExpired(LocalDateTime now) {
+        int evicted = 0;
+        synchronized (expiryQueue) {
+            Entry head;
+            while ((head = expiryQueue.peek()) != null && head.getExpiresAt().isBefore(now)) {
+                expiryQueue.poll();
+                sessionsByUser.remove(head.getUserId(), head);
+                if (sessions.remove(head.getSessionId(), head)) {
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public static class Entry {
+        private final String sessionId;
+        private final Long userId;
+        private final LocalDateTime expiresAt;
+
+        public Entry(String sessionId, Long userId, LocalDateTime expiresAt) {
+            this.sessionId = sessionId;
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getSessionId() { return sessionId; }
+        public Long getUserId() { return userId; }
+        public LocalDateTime getExpiresAt() { return expiresAt; }
+
+        public boolean isValid() {
+            return LocalDateTime.now().isBefore(expiresAt);
+        }
+    }
+}
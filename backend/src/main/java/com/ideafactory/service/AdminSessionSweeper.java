@@ -0,0 +1,32 @@
+package com.ideafactory.service;
+
+import com.ideafactory.repository.AdminSessionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Admin Session Sweeper
+ * Periodically expires admin sessions in bulk, both in the
+ * admin_sessions table and in the in-memory session cache
+ */
+@Component
+public class AdminSessionSweeper {
+    
+    @Autowired
+    private AdminSessionRepository adminSessionRepository;
+    
+    @Autowired
+    private AdminSessionCache adminSessionCache;
+    
+    @Scheduled(fixedDelayString = "${app.admin-session.sweep-interval-ms:300000}")
+    @Transactional
+    public void sweepExpiredSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        adminSessionCache.evictExpired(now);
+        adminSessionRepository.deactivateExpiredSessions(now);
+    }
+}
@@ -25,6 +25,8 @@ import java.util.Map;
 @Service
 public class BulkUploadService {
     
+    private static final int SAVE_CHUNK_SIZE = 500;
+    
     @Autowired
     private IdeaService ideaService;
 
@@ -269,13 +271,22 @@ public class BulkUploadService {
     
     public List<Idea> saveIdeas(List<Idea> ideas) {
         List<Idea> savedIdeas = new ArrayList<>();
-        for (Idea idea : ideas) {
+        for (int from = 0; from < ideas.size(); from += SAVE_CHUNK_SIZE) {
+            List<Idea> chunk = ideas.subList(from, Math.min(from + SAVE_CHUNK_SIZE, ideas.size()));
             try {
-                Idea savedIdea = ideaService.saveIdea(idea);
-                savedIdeas.add(savedIdea);
+                savedIdeas.addAll(ideaService.saveIdeas(chunk));
             } catch (Exception e) {
-                // Log the error but continue with other ideas
-                System.err.println("Failed to save idea: " + idea.getTitle() + " - " + e.getMessage());
+                // One bad row rolls back its chunk, and with it the chunk's index notifications;
+                // retry it row by row to keep the rest, each row notifying after its own commit
+                for (Idea idea : chunk) {
+                    idea.setId(null);
+                    try {
+                        savedIdeas.add(ideaService.saveIdea(idea));
+                    } catch (Exception rowError) {
+                        // Log the error but continue with other ideas
+                        System.err.println("Failed to save idea: " + idea.getTitle() + " - " + rowError.getMessage());
+                    }
+                }
             }
         }
         return savedIdeas;
@@ -308,7 +319,7 @@ public class BulkUploadService {
         }
     }
     
-    private List<String> parseListString(String value) {
+    List<String> parseListString(String value) {
         if (value == null || value.trim().isEmpty()) {
             return new ArrayList<>();
         }
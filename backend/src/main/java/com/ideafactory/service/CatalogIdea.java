@@ -0,0 +1,46 @@
+package com.ideafactory.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.ideafactory.model.Idea;
+
+import java.io.IOException;
+
+/**
+ * Catalog Idea
+ * Response DTO for one idea of a CatalogSnapshot. It is only a position:
+ * Jackson writes the same JSON as for Idea by streaming the fields out of
+ * the snapshot buffer, so a list of these puts no idea text on the heap.
+ */
+public final class CatalogIdea implements JsonSerializable {
+
+    private final CatalogSnapshot snapshot;
+    private final int position;
+
+    CatalogIdea(CatalogSnapshot snapshot, int position) {
+        this.snapshot = snapshot;
+        this.position = position;
+    }
+
+    public Long getId() {
+        return snapshot.id(position);
+    }
+
+    /** Decodes the full idea, for callers that need more than its JSON */
+    public Idea toIdea() {
+        return snapshot.idea(position);
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider serializers) throws IOException {
+        snapshot.writeJson(position, generator);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSerializer)
+            throws IOException {
+        serialize(generator, serializers);
+    }
+}
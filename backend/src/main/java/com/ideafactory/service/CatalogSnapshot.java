@@ -0,0 +1,535 @@
+package com.ideafactory.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.ideafactory.model.Idea;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Catalog Snapshot
+ * Immutable, columnar copy of the idea catalog kept outside the Java heap:
+ * every idea with its element collections, one dictionary of the
+ * low-cardinality values (facets, time to market, audiences, advantages)
+ * and the catalog version it is current to. Written to a file and
+ * memory-mapped, or built in a direct buffer for the ideas changed since.
+ *
+ * Layout, big-endian:
+ *   header      magic, format, version, writtenAt, idea count, investment scale,
+ *               dictionary/columns/records offsets
+ *   dictionary  term count, then per term its UTF-8 length and bytes
+ *   columns     one fixed-width column per attribute, in id order: id, investment
+ *               as a long scaled by the investment scale, record offset,
+ *               category/sector/difficulty/location codes, active flag
+ *   records     per idea its variable-length fields in Idea's JSON order: text as
+ *               length (-1 for null) and UTF-8, audience and advantage code lists,
+ *               time-to-market code
+ * Only the dictionary is copied to the heap. Filters read the columns in
+ * place and compare ints and longs; text is decoded, or streamed straight
+ * into a JSON response, only for the ideas returned.
+ */
+public final class CatalogSnapshot {
+
+    public enum Facet { CATEGORY, SECTOR, DIFFICULTY_LEVEL, LOCATION }
+
+    /** Criteria of IdeaRepository's lookups; null criteria are not applied */
+    public record Filter(String category, String sector, String difficultyLevel, String location,
+                         BigDecimal maxInvestment, boolean activeOnly) {
+
+        public static final Filter ALL = new Filter(null, null, null, null, null, false);
+        public static final Filter ACTIVE = new Filter(null, null, null, null, null, true);
+
+        public static Filter of(Facet facet, String value) {
+            return new Filter(facet == Facet.CATEGORY ? value : null, facet == Facet.SECTOR ? value : null,
+                    facet == Facet.DIFFICULTY_LEVEL ? value : null, facet == Facet.LOCATION ? value : null,
+                    null, false);
+        }
+
+        String value(Facet facet) {
+            return switch (facet) {
+                case CATEGORY -> category;
+                case SECTOR -> sector;
+                case DIFFICULTY_LEVEL -> difficultyLevel;
+                case LOCATION -> location;
+            };
+        }
+    }
+
+    private static final int MAGIC = 0x49444353; // "IDCS"
+    private static final int FORMAT = 2;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4 + 4 + 4 + 4 + 4;
+
+    private static final Facet[] FACETS = Facet.values();
+    private static final int NONE = -1;                     // null value
+    private static final int UNKNOWN = -2;                  // not in this dictionary, matches nothing
+    private static final int ANY = Integer.MIN_VALUE;       // criterion not applied
+    private static final long NULL_INVESTMENT = Long.MIN_VALUE;
+
+    // Text is copied from the buffer into this and handed to the generator as UTF-8
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[8192]);
+
+    private final ByteBuffer buffer;
+    private final long version;
+    private final long writtenAt;
+    private final int count;
+    private final int investmentScale;
+    private final String[] terms;
+    private final Map<String, Integer> codes;
+
+    // Column offsets in the buffer
+    private final int idsAt;
+    private final int investmentAt;
+    private final int recordOffsetAt;
+    private final int[] facetAt = new int[FACETS.length];
+    private final int activeAt;
+
+    private CatalogSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT) {
+            throw new IllegalArgumentException("Not a catalog snapshot (format " + FORMAT + ")");
+        }
+        version = buffer.getLong(8);
+        writtenAt = buffer.getLong(16);
+        count = buffer.getInt(24);
+        investmentScale = buffer.getInt(28);
+        int dictionaryAt = buffer.getInt(32);
+        int columnsAt = buffer.getInt(36);
+        int recordsAt = buffer.getInt(40);
+
+        Cursor cursor = new Cursor(dictionaryAt);
+        terms = new String[cursor.nextInt()];
+        codes = new HashMap<>(terms.length * 2);
+        for (int code = 0; code < terms.length; code++) {
+            terms[code] = cursor.nextString();
+            codes.put(terms[code], code);
+        }
+
+        idsAt = columnsAt;
+        investmentAt = idsAt + 8 * count;
+        recordOffsetAt = investmentAt + 8 * count;
+        for (int f = 0; f < FACETS.length; f++) {
+            facetAt[f] = recordOffsetAt + 4 * count + 4 * count * f;
+        }
+        activeAt = facetAt[FACETS.length - 1] + 4 * count;
+        if (activeAt + count != recordsAt || recordsAt > buffer.limit()) {
+            throw new IllegalArgumentException("Catalog snapshot columns do not match its header");
+        }
+    }
+
+    /** Encodes the ideas, in id order, into a direct buffer outside the heap */
+    public static CatalogSnapshot build(long version, long writtenAt, Collection<Idea> ideas) {
+        List<Idea> sorted = new ArrayList<>(ideas);
+        sorted.sort(Comparator.comparing(Idea::getId));
+        int n = sorted.size();
+
+        // One scale for the column; the database keeps investment_needed at a fixed scale anyway
+        int scale = 0;
+        for (Idea idea : sorted) {
+            if (idea.getInvestmentNeeded() != null) {
+                scale = Math.max(scale, idea.getInvestmentNeeded().scale());
+            }
+        }
+
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> terms = new ArrayList<>();
+        ByteArrayOutputStream columns = new ByteArrayOutputStream(n * 41);
+        ByteArrayOutputStream records = new ByteArrayOutputStream(n * 1024);
+        try {
+            DataOutputStream columnsOut = new DataOutputStream(columns);
+            DataOutputStream recordsOut = new DataOutputStream(records);
+            int[] recordOffsets = new int[n];
+            int[][] facetCodes = new int[FACETS.length][n];
+            for (int position = 0; position < n; position++) {
+                Idea idea = sorted.get(position);
+                columnsOut.writeLong(idea.getId());
+                recordOffsets[position] = recordsOut.size();
+                facetCodes[0][position] = code(dictionary, terms, idea.getCategory());
+                facetCodes[1][position] = code(dictionary, terms, idea.getSector());
+                facetCodes[2][position] = code(dictionary, terms, idea.getDifficultyLevel());
+                facetCodes[3][position] = code(dictionary, terms, idea.getLocation());
+
+                for (String text : new String[] {idea.getTitle(), idea.getDescription(), idea.getExpertiseNeeded(),
+                        idea.getTrainingNeeded(), idea.getResources(), idea.getSuccessExamples(), idea.getVideoUrl(),
+                        idea.getGovernmentSubsidies(), idea.getFundingOptions(), idea.getBankAssistance()}) {
+                    writeString(recordsOut, text);
+                }
+                writeCodes(recordsOut, dictionary, terms, idea.getTargetAudience());
+                writeCodes(recordsOut, dictionary, terms, idea.getSpecialAdvantages());
+                recordsOut.writeInt(code(dictionary, terms, idea.getTimeToMarket()));
+                writeString(recordsOut, idea.getImageUrl());
+                writeString(recordsOut, idea.getUploadBatchId());
+            }
+            for (Idea idea : sorted) {
+                columnsOut.writeLong(scaled(idea, scale));
+            }
+
+            ByteArrayOutputStream dictionaryBytes = new ByteArrayOutputStream(terms.size() * 16);
+            DataOutputStream dictionaryOut = new DataOutputStream(dictionaryBytes);
+            dictionaryOut.writeInt(terms.size());
+            for (String term : terms) {
+                writeString(dictionaryOut, term);
+            }
+
+            int columnsAt = HEADER_BYTES + dictionaryBytes.size();
+            int recordsAt = columnsAt + columns.size() + n * (4 + 4 * FACETS.length + 1);
+            long size = (long) recordsAt + records.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new RuntimeException("Catalog snapshot exceeds 2 GB");
+            }
+            for (int position = 0; position < n; position++) {
+                columnsOut.writeInt(recordsAt + recordOffsets[position]);
+            }
+            for (int[] column : facetCodes) {
+                for (int code : column) {
+                    columnsOut.writeInt(code);
+                }
+            }
+            for (Idea idea : sorted) {
+                columnsOut.writeByte(idea.isActive() ? 1 : 0);
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+            buffer.putInt(MAGIC).putInt(FORMAT).putLong(version).putLong(writtenAt)
+                    .putInt(n).putInt(scale).putInt(HEADER_BYTES).putInt(columnsAt).putInt(recordsAt);
+            buffer.put(dictionaryBytes.toByteArray());
+            buffer.put(columns.toByteArray());
+            buffer.put(records.toByteArray());
+            return new CatalogSnapshot(buffer.flip());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode catalog snapshot", e);
+        }
+    }
+
+    /** Maps a snapshot file read-only; the mapping outlives the file being replaced */
+    public static CatalogSnapshot map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not a catalog snapshot: " + path);
+            }
+            return new CatalogSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt catalog snapshot " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** Writes next to the target and moves it into place, so readers never see a partial file */
+    public void writeTo(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            ByteBuffer content = buffer.duplicate().clear();
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** Catalog version: ideas changed before this time (epoch ms) are included */
+    public long version() {
+        return version;
+    }
+
+    public long writtenAt() {
+        return writtenAt;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int dictionarySize() {
+        return terms.length;
+    }
+
+    public long byteSize() {
+        return buffer.capacity();
+    }
+
+    long id(int position) {
+        return buffer.getLong(idsAt + 8 * position);
+    }
+
+    /** Position of the idea, or a negative value when it is not in this snapshot */
+    int positionOf(long id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = id(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    String facetValue(Facet facet, int position) {
+        return term(facetCode(facet.ordinal(), position));
+    }
+
+    // Criteria are turned into this snapshot's codes once; a value it has never seen matches nothing
+    IntPredicate matcher(Filter filter) {
+        int[] wanted = new int[FACETS.length];
+        for (int f = 0; f < FACETS.length; f++) {
+            String value = filter.value(FACETS[f]);
+            wanted[f] = value == null ? ANY : codes.getOrDefault(value, UNKNOWN);
+        }
+        boolean activeOnly = filter.activeOnly();
+        // Investments are multiples of 10^-scale, so "<= cap" is "<= cap rounded down to the scale"
+        long cap = filter.maxInvestment() == null ? Long.MAX_VALUE : scaledCap(filter.maxInvestment());
+        boolean capped = filter.maxInvestment() != null;
+        return position -> {
+            if (activeOnly && !active(position)) {
+                return false;
+            }
+            for (int f = 0; f < wanted.length; f++) {
+                if (wanted[f] != ANY && facetCode(f, position) != wanted[f]) {
+                    return false;
+                }
+            }
+            if (!capped) {
+                return true;
+            }
+            // As in SQL, an unknown investment never satisfies a cap
+            long investment = buffer.getLong(investmentAt + 8 * position);
+            return investment != NULL_INVESTMENT && investment <= cap;
+        };
+    }
+
+    Idea idea(int position) {
+        Idea idea = new Idea();
+        idea.setId(id(position));
+        idea.setActive(active(position));
+        idea.setCategory(facetValue(Facet.CATEGORY, position));
+        idea.setSector(facetValue(Facet.SECTOR, position));
+        idea.setDifficultyLevel(facetValue(Facet.DIFFICULTY_LEVEL, position));
+        idea.setLocation(facetValue(Facet.LOCATION, position));
+        idea.setInvestmentNeeded(investment(position));
+
+        Cursor cursor = new Cursor(buffer.getInt(recordOffsetAt + 4 * position));
+        idea.setTitle(cursor.nextString());
+        idea.setDescription(cursor.nextString());
+        idea.setExpertiseNeeded(cursor.nextString());
+        idea.setTrainingNeeded(cursor.nextString());
+        idea.setResources(cursor.nextString());
+        idea.setSuccessExamples(cursor.nextString());
+        idea.setVideoUrl(cursor.nextString());
+        idea.setGovernmentSubsidies(cursor.nextString());
+        idea.setFundingOptions(cursor.nextString());
+        idea.setBankAssistance(cursor.nextString());
+        idea.setTargetAudience(cursor.nextTerms());
+        idea.setSpecialAdvantages(cursor.nextTerms());
+        idea.setTimeToMarket(term(cursor.nextInt()));
+        idea.setImageUrl(cursor.nextString());
+        idea.setUploadBatchId(cursor.nextString());
+        return idea;
+    }
+
+    // Same JSON as Jackson writes for Idea, without building the Idea or its Strings
+    void writeJson(int position, JsonGenerator generator) throws IOException {
+        Cursor cursor = new Cursor(buffer.getInt(recordOffsetAt + 4 * position));
+        generator.writeStartObject();
+        generator.writeNumberField("id", id(position));
+        cursor.writeStringField(generator, "title");
+        cursor.writeStringField(generator, "description");
+        generator.writeStringField("category", facetValue(Facet.CATEGORY, position));
+        generator.writeStringField("sector", facetValue(Facet.SECTOR, position));
+        BigDecimal investment = investment(position);
+        if (investment != null) {
+            generator.writeNumberField("investmentNeeded", investment);
+        } else {
+            generator.writeNullField("investmentNeeded");
+        }
+        for (String field : new String[] {"expertiseNeeded", "trainingNeeded", "resources", "successExamples",
+                "videoUrl", "governmentSubsidies", "fundingOptions", "bankAssistance"}) {
+            cursor.writeStringField(generator, field);
+        }
+        cursor.writeTermsField(generator, "targetAudience");
+        cursor.writeTermsField(generator, "specialAdvantages");
+        generator.writeStringField("difficultyLevel", facetValue(Facet.DIFFICULTY_LEVEL, position));
+        generator.writeStringField("timeToMarket", term(cursor.nextInt()));
+        generator.writeStringField("location", facetValue(Facet.LOCATION, position));
+        cursor.writeStringField(generator, "imageUrl");
+        cursor.writeStringField(generator, "uploadBatchId");
+        generator.writeBooleanField("isActive", active(position));
+        generator.writeEndObject();
+    }
+
+    private boolean active(int position) {
+        return buffer.get(activeAt + position) != 0;
+    }
+
+    private int facetCode(int facet, int position) {
+        return buffer.getInt(facetAt[facet] + 4 * position);
+    }
+
+    private BigDecimal investment(int position) {
+        long scaled = buffer.getLong(investmentAt + 8 * position);
+        return scaled == NULL_INVESTMENT ? null : BigDecimal.valueOf(scaled, investmentScale);
+    }
+
+    private long scaledCap(BigDecimal maxInvestment) {
+        BigDecimal cap = maxInvestment.setScale(investmentScale, RoundingMode.FLOOR).movePointRight(investmentScale);
+        if (cap.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        // NULL_INVESTMENT is never compared, so the lowest cap left is one above it
+        return Math.max(cap.longValue(), NULL_INVESTMENT + 1);
+    }
+
+    private String term(int code) {
+        return code == NONE ? null : terms[code];
+    }
+
+    private static long scaled(Idea idea, int scale) {
+        BigDecimal investment = idea.getInvestmentNeeded();
+        if (investment == null) {
+            return NULL_INVESTMENT;
+        }
+        BigDecimal unscaled = investment.setScale(scale).movePointRight(scale);
+        if (unscaled.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0
+                || unscaled.compareTo(BigDecimal.valueOf(NULL_INVESTMENT + 1)) < 0) {
+            throw new RuntimeException("Investment of idea " + idea.getId() + " is too large for the catalog snapshot");
+        }
+        return unscaled.longValueExact();
+    }
+
+    private static int code(Map<String, Integer> dictionary, List<String> terms, String value) {
+        if (value == null) {
+            return NONE;
+        }
+        return dictionary.computeIfAbsent(value, term -> {
+            terms.add(term);
+            return terms.size() - 1;
+        });
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NONE);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeCodes(DataOutputStream out, Map<String, Integer> dictionary, List<String> terms,
+                                   List<String> values) throws IOException {
+        if (values == null) {
+            out.writeInt(NONE);
+            return;
+        }
+        out.writeInt(values.size());
+        for (String value : values) {
+            out.writeInt(code(dictionary, terms, value));
+        }
+    }
+
+    // Absolute reads only, so any number of request threads can decode from the same buffer
+    private final class Cursor {
+
+        private int at;
+
+        Cursor(int at) {
+            this.at = at;
+        }
+
+        int nextInt() {
+            int value = buffer.getInt(at);
+            at += 4;
+            return value;
+        }
+
+        String nextString() {
+            int length = nextInt();
+            if (length == NONE) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(at, bytes);
+            at += length;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        List<String> nextTerms() {
+            int size = nextInt();
+            if (size == NONE) {
+                return null;
+            }
+            List<String> values = new ArrayList<>(size);
+            for (int k = 0; k < size; k++) {
+                values.add(term(nextInt()));
+            }
+            return values;
+        }
+
+        void writeStringField(JsonGenerator generator, String field) throws IOException {
+            int length = nextInt();
+            generator.writeFieldName(field);
+            if (length == NONE) {
+                generator.writeNull();
+                return;
+            }
+            // The UTF-8 generator escapes raw UTF-8 itself; others (token buffers, writers) need a String
+            if (!(generator instanceof UTF8JsonGenerator)) {
+                byte[] bytes = new byte[length];
+                buffer.get(at, bytes);
+                at += length;
+                generator.writeString(new String(bytes, StandardCharsets.UTF_8));
+                return;
+            }
+            byte[] scratch = SCRATCH.get();
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+                SCRATCH.set(scratch);
+            }
+            buffer.get(at, scratch, 0, length);
+            at += length;
+            generator.writeUTF8String(scratch, 0, length);
+        }
+
+        void writeTermsField(JsonGenerator generator, String field) throws IOException {
+            int size = nextInt();
+            generator.writeFieldName(field);
+            if (size == NONE) {
+                generator.writeNull();
+                return;
+            }
+            generator.writeStartArray();
+            for (int k = 0; k < size; k++) {
+                generator.writeString(term(nextInt()));
+            }
+            generator.writeEndArray();
+        }
+    }
+}
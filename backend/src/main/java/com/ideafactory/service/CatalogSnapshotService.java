@@ -0,0 +1,309 @@
+package com.ideafactory.service;
+
+import com.ideafactory.model.Idea;
+import com.ideafactory.repository.IdeaRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Catalog Snapshot Service
+ * Lets a restarted node serve catalog reads before its caches are warm.
+ * The whole catalog is periodically written to a local CatalogSnapshot
+ * file. At startup the file is memory-mapped and served straight away,
+ * while a background catch-up folds in the ideas inserted or updated
+ * (by updatedAt) or deleted since the snapshot's version. A write through
+ * this node triggers a catch-up within a second; other nodes' writes
+ * arrive with the regular catch-up. Deletes through this node are
+ * recorded as tombstones; a delete elsewhere shows up as a row count
+ * that differs from the view's, and only then are all ids compared.
+ *
+ * Off unless app.catalog-snapshot.enabled is set. Reads the snapshot does
+ * not keep what they need for (popular sort, text search, admin filters)
+ * stay on the database.
+ */
+// Not lazy under the fast-start profile: the file is mapped before the web server opens
+@Service
+@Lazy(false)
+public class CatalogSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final CatalogSnapshot EMPTY = CatalogSnapshot.build(0, 0, List.of());
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Value("${app.catalog-snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.catalog-snapshot.path:data/catalog-snapshot.bin}")
+    private String path;
+
+    @Value("${app.catalog-snapshot.write-interval-ms:600000}")
+    private long writeIntervalMillis;
+
+    @Value("${app.catalog-snapshot.catch-up-interval-ms:10000}")
+    private long catchUpIntervalMillis;
+
+    @Value("${app.catalog-snapshot.catch-up-overlap-ms:60000}")
+    private long catchUpOverlapMillis;
+
+    @Value("${app.catalog-snapshot.max-age-ms:86400000}")
+    private long maxAgeMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile CatalogView view;
+    private volatile long nextWriteAt;
+    private volatile long lastCatchUpAt;
+    private final AtomicBoolean changed = new AtomicBoolean();
+    private final Set<Long> tombstones = ConcurrentHashMap.newKeySet();
+
+    // Runs before the web server starts, so the first request can already be served from the file
+    @PostConstruct
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        Path file = Path.of(path);
+        if (!Files.exists(file)) {
+            logger.info("No catalog snapshot at {}; writing one from the database", file.toAbsolutePath());
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            CatalogSnapshot snapshot = CatalogSnapshot.map(file);
+            long ageMinutes = (start - snapshot.version()) / 60_000;
+            if (start - snapshot.version() > maxAgeMillis) {
+                logger.info("Catalog snapshot {} is {} min old; writing a new one before serving from it", file, ageMinutes);
+                return;
+            }
+            view = new CatalogView(snapshot, EMPTY, Set.of(), snapshot.version());
+            nextWriteAt = start + writeIntervalMillis;
+            logger.info("Serving {} ideas from catalog snapshot {} ({} min old), mapped in {} ms",
+                    snapshot.size(), file, ageMinutes, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            logger.warn("Ignoring catalog snapshot {}: {}", file, e.getMessage());
+        }
+    }
+
+    /** Serves from the snapshot once one is loaded, otherwise from the database */
+    public <T> T read(Function<CatalogView, T> fromSnapshot, Supplier<T> fromDatabase) {
+        CatalogView current = view;
+        return current != null ? fromSnapshot.apply(current) : fromDatabase.get();
+    }
+
+    // Called after ideas are created, changed or deleted through this node
+    public void markChanged() {
+        changed.set(true);
+    }
+
+    // Called after ideas are deleted through this node
+    public void markDeleted(Collection<Long> ids) {
+        tombstones.addAll(ids);
+        changed.set(true);
+    }
+
+    @Scheduled(initialDelayString = "${app.catalog-snapshot.initial-delay-ms:0}",
+               fixedDelayString = "${app.catalog-snapshot.check-interval-ms:1000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            if (now >= nextWriteAt) {
+                writeSnapshot();
+            } else if (changed.getAndSet(false) || now - lastCatchUpAt >= catchUpIntervalMillis) {
+                catchUp();
+            }
+        } catch (RuntimeException e) {
+            // Keep serving what is loaded; retry on the catch-up schedule
+            nextWriteAt = Math.max(nextWriteAt, now + catchUpIntervalMillis);
+            lastCatchUpAt = now;
+            logger.warn("Catalog snapshot refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /** Writes the catalog from the database and serves the new file */
+    public void writeSnapshot() {
+        lock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            List<Idea> ideas = new ArrayList<>();
+            long afterId = 0;
+            List<Idea> page;
+            do {
+                page = ideaRepository.findAllAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+                withCollections(page);
+                ideas.addAll(page);
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == BATCH_SIZE);
+
+            // Writes committed while the ideas were read are picked up by the next catch-up
+            Path file = Path.of(path);
+            CatalogSnapshot.build(start, System.currentTimeMillis(), ideas).writeTo(file);
+            CatalogSnapshot snapshot = CatalogSnapshot.map(file);
+            view = new CatalogView(snapshot, EMPTY, Set.of(), start);
+            nextWriteAt = start + writeIntervalMillis;
+            lastCatchUpAt = start;
+
+            logger.info("Wrote catalog snapshot: {} ideas, {} dictionary terms, {} KB in {} ms",
+                    snapshot.size(), snapshot.dictionarySize(), snapshot.byteSize() / 1024,
+                    System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write catalog snapshot " + path + ": " + e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Folds ideas changed or deleted since the last catch-up into the served view */
+    public void catchUp() {
+        lock.lock();
+        try {
+            CatalogView current = view;
+            if (current == null) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            // Re-read a window before the last run: commits land after their updatedAt, and node clocks differ
+            LocalDateTime since = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(current.caughtUpTo() - catchUpOverlapMillis), ZoneId.systemDefault());
+
+            Map<Long, Idea> changedIdeas = new HashMap<>();
+            CatalogSnapshot previous = current.changes();
+            for (int position = 0; position < previous.size(); position++) {
+                changedIdeas.put(previous.id(position), previous.idea(position));
+            }
+            int fetched = 0;
+            long afterId = 0;
+            List<Idea> page;
+            do {
+                page = ideaRepository.findUpdatedSinceAfter(since, afterId, PageRequest.of(0, BATCH_SIZE));
+                withCollections(page);
+                for (Idea idea : page) {
+                    changedIdeas.put(idea.getId(), idea);
+                    afterId = idea.getId();
+                }
+                fetched += page.size();
+            } while (page.size() == BATCH_SIZE);
+
+            // Deletes leave no row behind: take this node's tombstones, then check the row count against the view
+            CatalogSnapshot base = current.base();
+            Set<Long> removed = new HashSet<>(current.removed());
+            for (Long id : drainTombstones()) {
+                changedIdeas.remove(id);
+                if (base.positionOf(id) >= 0) {
+                    removed.add(id);
+                }
+            }
+            long expected = base.size() - removed.size();
+            for (Long id : changedIdeas.keySet()) {
+                if (base.positionOf(id) < 0) {
+                    expected++;
+                }
+            }
+            // Read last, after the changed rows; a mismatch means a delete on another node (or a racing insert)
+            boolean comparedIds = ideaRepository.count() != expected;
+            if (comparedIds) {
+                Set<Long> existing = new HashSet<>(ideaRepository.findAllIds());
+                changedIdeas.keySet().retainAll(existing);
+                removed.clear();
+                for (int position = 0; position < base.size(); position++) {
+                    if (!existing.contains(base.id(position))) {
+                        removed.add(base.id(position));
+                    }
+                }
+            }
+
+            view = new CatalogView(base, CatalogSnapshot.build(start, start, changedIdeas.values()),
+                    Set.copyOf(removed), start);
+            lastCatchUpAt = start;
+            // Past a point a fresh file is cheaper to serve than the side snapshot
+            if (changedIdeas.size() > Math.max(BATCH_SIZE, base.size() / 5)) {
+                nextWriteAt = 0;
+            }
+
+            logger.debug("Caught up catalog snapshot: {} ideas fetched, {} changed and {} removed since version {}{}",
+                    fetched, changedIdeas.size(), removed.size(), base.version(), comparedIds ? " (all ids compared)" : "");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Long> drainTombstones() {
+        List<Long> drained = new ArrayList<>();
+        for (Long id : tombstones) {
+            if (tombstones.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        CatalogView current = view;
+        status.put("enabled", enabled);
+        status.put("serving", current != null);
+        if (current != null) {
+            status.put("version", current.base().version());
+            status.put("ideas", current.base().size());
+            status.put("changedIdeas", current.changes().size());
+            status.put("removedIdeas", current.removed().size());
+            status.put("dictionaryTerms", current.base().dictionarySize());
+            status.put("bytes", current.base().byteSize());
+            status.put("lagMs", System.currentTimeMillis() - current.caughtUpTo());
+        }
+        return status;
+    }
+
+    // The entities are detached here; their collections are filled from two row queries per batch
+    private void withCollections(List<Idea> ideas) {
+        if (ideas.isEmpty()) {
+            return;
+        }
+        Map<Long, Idea> byId = new HashMap<>();
+        for (Idea idea : ideas) {
+            idea.setTargetAudience(new ArrayList<>());
+            idea.setSpecialAdvantages(new ArrayList<>());
+            byId.put(idea.getId(), idea);
+        }
+        for (Object[] row : ideaRepository.findTargetAudienceRowsByIds(byId.keySet())) {
+            byId.get(((Number) row[0]).longValue()).getTargetAudience().add((String) row[1]);
+        }
+        for (Object[] row : ideaRepository.findSpecialAdvantageRowsByIds(byId.keySet())) {
+            byId.get(((Number) row[0]).longValue()).getSpecialAdvantages().add((String) row[1]);
+        }
+    }
+}
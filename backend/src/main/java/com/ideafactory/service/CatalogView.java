@@ -0,0 +1,151 @@
+package com.ideafactory.service;
+
+import com.ideafactory.model.Idea;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Catalog View
+ * The catalog as served from snapshots: the memory-mapped base snapshot,
+ * a heap snapshot of the ideas inserted or updated since, and the ids
+ * deleted since. Immutable; CatalogSnapshotService swaps in a new view
+ * after each catch-up. Lookups walk both snapshots in id order and mirror
+ * the IdeaRepository queries they stand in for, inactive ideas included
+ * where those queries include them. Lists come back as CatalogIdea
+ * positions that serialize straight from the snapshot buffers.
+ */
+public final class CatalogView {
+
+    private final CatalogSnapshot base;
+    private final CatalogSnapshot changes;
+    private final Set<Long> removed;
+    private final long caughtUpTo;
+    // Match counts per filter; a view never changes, so a count holds for its lifetime
+    private final Map<CatalogSnapshot.Filter, Long> totals = new ConcurrentHashMap<>();
+
+    public CatalogView(CatalogSnapshot base, CatalogSnapshot changes, Set<Long> removed, long caughtUpTo) {
+        this.base = base;
+        this.changes = changes;
+        this.removed = removed;
+        this.caughtUpTo = caughtUpTo;
+    }
+
+    public CatalogSnapshot base() {
+        return base;
+    }
+
+    public CatalogSnapshot changes() {
+        return changes;
+    }
+
+    public Set<Long> removed() {
+        return removed;
+    }
+
+    /** Changes made before this time (epoch ms) are reflected */
+    public long caughtUpTo() {
+        return caughtUpTo;
+    }
+
+    public List<CatalogIdea> find(CatalogSnapshot.Filter filter) {
+        List<CatalogIdea> ideas = new ArrayList<>();
+        scan(filter, (snapshot, position) -> ideas.add(new CatalogIdea(snapshot, position)));
+        return ideas;
+    }
+
+    public Page<CatalogIdea> findPage(CatalogSnapshot.Filter filter, Pageable pageable) {
+        long first = pageable.getOffset();
+        long last = first + pageable.getPageSize();
+        List<CatalogIdea> content = new ArrayList<>(pageable.getPageSize());
+        long[] seen = new long[1];
+        scanUntil(filter, (snapshot, position) -> {
+            if (seen[0] >= first) {
+                content.add(new CatalogIdea(snapshot, position));
+            }
+            return ++seen[0] < last;
+        });
+        return new PageImpl<>(content, pageable, totals.computeIfAbsent(filter, this::count));
+    }
+
+    public Optional<Idea> findById(Long id) {
+        if (id == null || removed.contains(id)) {
+            return Optional.empty();
+        }
+        int position = changes.positionOf(id);
+        if (position >= 0) {
+            return Optional.of(changes.idea(position));
+        }
+        position = base.positionOf(id);
+        return position >= 0 ? Optional.of(base.idea(position)) : Optional.empty();
+    }
+
+    // Every value of the facet across all ideas, null included, as SELECT DISTINCT returns it
+    public List<String> findDistinct(CatalogSnapshot.Facet facet) {
+        Set<String> values = new LinkedHashSet<>();
+        scan(CatalogSnapshot.Filter.ALL, (snapshot, position) -> values.add(snapshot.facetValue(facet, position)));
+        return new ArrayList<>(values);
+    }
+
+    public int size() {
+        return totals.computeIfAbsent(CatalogSnapshot.Filter.ALL, this::count).intValue();
+    }
+
+    private long count(CatalogSnapshot.Filter filter) {
+        long[] count = new long[1];
+        scan(filter, (snapshot, position) -> count[0]++);
+        return count[0];
+    }
+
+    private interface Visitor {
+        void visit(CatalogSnapshot snapshot, int position);
+    }
+
+    // A visitor that can end the scan early by returning false
+    private interface Collector {
+        boolean collect(CatalogSnapshot snapshot, int position);
+    }
+
+    private void scan(CatalogSnapshot.Filter filter, Visitor visitor) {
+        scanUntil(filter, (snapshot, position) -> {
+            visitor.visit(snapshot, position);
+            return true;
+        });
+    }
+
+    // Merge of the two id-ordered snapshots; a changed idea replaces its base row, a removed one is skipped
+    private void scanUntil(CatalogSnapshot.Filter filter, Collector collector) {
+        IntPredicate inBase = base.matcher(filter);
+        IntPredicate inChanges = changes.matcher(filter);
+        int b = 0;
+        int c = 0;
+        while (b < base.size() || c < changes.size()) {
+            long baseId = b < base.size() ? base.id(b) : Long.MAX_VALUE;
+            long changedId = c < changes.size() ? changes.id(c) : Long.MAX_VALUE;
+            if (changedId <= baseId) {
+                if (changedId == baseId) {
+                    b++;
+                }
+                if (inChanges.test(c) && !collector.collect(changes, c)) {
+                    return;
+                }
+                c++;
+            } else {
+                if ((removed.isEmpty() || !removed.contains(baseId)) && inBase.test(b)
+                        && !collector.collect(base, b)) {
+                    return;
+                }
+                b++;
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.ideafactory.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Decaying Count-Min Sketch
+ * Approximate weighted counts per idea id in fixed memory. Cells hold
+ * double bits in an AtomicLongArray, so adds from request threads are
+ * lock-free CAS updates; decay() scales every cell down in place.
+ * Estimates never undercount and overcount by a small share of the total.
+ */
+final class DecayingCountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray cells;
+
+    // width is rounded up to a power of two
+    DecayingCountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("depth must be between 1 and " + SEEDS.length);
+        }
+        int rowWidth = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.depth = depth;
+        this.mask = rowWidth - 1;
+        this.cells = new AtomicLongArray(depth * rowWidth);
+    }
+
+    void add(long key, double weight) {
+        for (int row = 0; row < depth; row++) {
+            int cell = cellOf(row, key);
+            long current;
+            long updated;
+            do {
+                current = cells.get(cell);
+                updated = Double.doubleToRawLongBits(Double.longBitsToDouble(current) + weight);
+            } while (!cells.compareAndSet(cell, current, updated));
+        }
+    }
+
+    double estimate(long key) {
+        double min = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, Double.longBitsToDouble(cells.get(cellOf(row, key))));
+        }
+        return min;
+    }
+
+    // Multiply every cell by factor; per-cell CAS so concurrent adds are not lost
+    void decay(double factor) {
+        for (int cell = 0; cell < cells.length(); cell++) {
+            cells.getAndUpdate(cell, bits -> {
+                double value = Double.longBitsToDouble(bits) * factor;
+                return Double.doubleToRawLongBits(value < 1e-6 ? 0d : value);
+            });
+        }
+    }
+
+    private int cellOf(int row, long key) {
+        // murmur3 finalizer; a plain multiply would collide the same ids in every row
+        long hash = key ^ SEEDS[row];
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return row * (mask + 1) + (int) (hash & mask);
+    }
+}
@@ -0,0 +1,244 @@
+package com.ideafactory.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Financing Search Index
+ * Immutable in-memory index over active schemes and bank loans of all
+ * ideas. Offers are stored in sorted arrays ordered by their best interest
+ * rate, so "under Y%" is a binary-searched prefix and results come out
+ * already ranked. Region, type and kind keep posting lists of positions in
+ * the same order; a query walks the smallest candidate list, checks the
+ * remaining criteria against primitive arrays and stops at the limit.
+ *
+ * An offer with no known maximum amount never matches an amount query,
+ * and one with no known rate never matches a rate cap. Schemes without a
+ * region apply everywhere.
+ */
+public final class FinancingSearchIndex {
+
+    public enum Kind { SCHEME, LOAN }
+
+    public record Offer(Kind kind, long id, long ideaId, String ideaTitle, String name, String provider,
+                        String type, String category, String region,
+                        BigDecimal minimumAmount, BigDecimal maximumAmount,
+                        BigDecimal interestRateMin, BigDecimal interestRateMax,
+                        LocalDateTime applicationDeadline) {}
+
+    /** Any criterion left null is not applied; openOn drops offers whose deadline passed before it */
+    public record Query(BigDecimal amount, BigDecimal maxInterestRate, String region, String type,
+                        Kind kind, LocalDateTime openOn, int limit) {}
+
+    public record Result(List<Offer> offers, boolean truncated) {}
+
+    private static final int NONE = -1;
+
+    private final Offer[] offers;
+    private final double[] rate;
+    private final double[] minAmount;
+    private final double[] maxAmount;
+    private final long[] deadline;
+    private final int[] regionCode;
+    private final int[] typeCode;
+    private final byte[] kindCode;
+
+    private final Map<String, Integer> regionCodes = new HashMap<>();
+    private final Map<String, Integer> typeCodes = new HashMap<>();
+    private final int[][] regionPostings;
+    private final int[][] typePostings;
+    private final int[][] kindPostings;
+    private final int[] nationalPosting;
+
+    private FinancingSearchIndex(Offer[] offers) {
+        int n = offers.length;
+        this.offers = offers;
+        rate = new double[n];
+        minAmount = new double[n];
+        maxAmount = new double[n];
+        deadline = new long[n];
+        regionCode = new int[n];
+        typeCode = new int[n];
+        kindCode = new byte[n];
+
+        for (int i = 0; i < n; i++) {
+            Offer offer = offers[i];
+            rate[i] = bestRate(offer);
+            minAmount[i] = offer.minimumAmount() != null ? offer.minimumAmount().doubleValue() : 0;
+            // NaN fails every comparison, so an unknown cap never matches an amount
+            maxAmount[i] = offer.maximumAmount() != null ? offer.maximumAmount().doubleValue() : Double.NaN;
+            deadline[i] = offer.applicationDeadline() != null
+                    ? offer.applicationDeadline().toEpochSecond(ZoneOffset.UTC) : Long.MAX_VALUE;
+            regionCode[i] = code(regionCodes, offer.region());
+            typeCode[i] = code(typeCodes, offer.type());
+            kindCode[i] = (byte) offer.kind().ordinal();
+        }
+
+        regionPostings = postings(regionCode, regionCodes.size());
+        typePostings = postings(typeCode, typeCodes.size());
+        int[] kinds = new int[n];
+        for (int i = 0; i < n; i++) {
+            kinds[i] = kindCode[i];
+        }
+        kindPostings = postings(kinds, Kind.values().length);
+        nationalPosting = positionsOf(regionCode, NONE);
+    }
+
+    public static FinancingSearchIndex build(List<Offer> offers) {
+        Offer[] sorted = offers.toArray(new Offer[0]);
+        // Best rate first (unknown rates last), then the larger ceiling
+        Arrays.sort(sorted, Comparator.comparingDouble(FinancingSearchIndex::bestRate)
+                .thenComparing(offer -> offer.maximumAmount() != null ? offer.maximumAmount().negate() : BigDecimal.ZERO)
+                .thenComparingLong(Offer::ideaId)
+                .thenComparingLong(Offer::id));
+        return new FinancingSearchIndex(sorted);
+    }
+
+    public int size() {
+        return offers.length;
+    }
+
+    public Result search(Query query) {
+        int limit = Math.max(1, query.limit());
+        int rateEnd = query.maxInterestRate() != null
+                ? upperBound(rate, query.maxInterestRate().doubleValue()) : offers.length;
+
+        int type = NONE;
+        if (query.type() != null) {
+            Integer code = typeCodes.get(normalize(query.type()));
+            if (code == null) {
+                return new Result(List.of(), false);
+            }
+            type = code;
+        }
+        // An unknown region still matches the offers that apply everywhere
+        int region = NONE;
+        boolean regionFilter = query.region() != null;
+        if (regionFilter) {
+            Integer code = regionCodes.get(normalize(query.region()));
+            region = code != null ? code : NONE;
+        }
+        int kind = query.kind() != null ? query.kind().ordinal() : NONE;
+        double amount = query.amount() != null ? query.amount().doubleValue() : Double.NaN;
+        long openOn = query.openOn() != null ? query.openOn().toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+
+        // Drive the scan from the smallest candidate list; positions stay in rate order
+        int[] driver = null;
+        int driverSize = rateEnd;
+        if (type != NONE && typePostings[type].length < driverSize) {
+            driver = typePostings[type];
+            driverSize = driver.length;
+        }
+        if (regionFilter) {
+            int[] regional = region != NONE ? regionPostings[region] : new int[0];
+            if (regional.length + nationalPosting.length < driverSize) {
+                driver = merge(regional, nationalPosting);
+                driverSize = driver.length;
+            }
+        }
+        if (kind != NONE && kindPostings[kind].length < driverSize) {
+            driver = kindPostings[kind];
+            driverSize = driver.length;
+        }
+
+        List<Offer> matches = new ArrayList<>(Math.min(limit, 64));
+        for (int k = 0; k < driverSize; k++) {
+            int i = driver != null ? driver[k] : k;
+            if (i >= rateEnd) {
+                // Every later position has a higher rate
+                break;
+            }
+            if (type != NONE && typeCode[i] != type) continue;
+            if (regionFilter && regionCode[i] != NONE && regionCode[i] != region) continue;
+            if (regionFilter && region == NONE && regionCode[i] != NONE) continue;
+            if (kind != NONE && kindCode[i] != kind) continue;
+            if (query.amount() != null && !(minAmount[i] <= amount && amount <= maxAmount[i])) continue;
+            if (deadline[i] < openOn) continue;
+            if (matches.size() == limit) {
+                return new Result(matches, true);
+            }
+            matches.add(offers[i]);
+        }
+        return new Result(matches, false);
+    }
+
+    private static double bestRate(Offer offer) {
+        BigDecimal best = offer.interestRateMin() != null ? offer.interestRateMin() : offer.interestRateMax();
+        return best != null ? best.doubleValue() : Double.POSITIVE_INFINITY;
+    }
+
+    // First position whose rate is above the cap
+    private static int upperBound(double[] sorted, double cap) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= cap) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int code(Map<String, Integer> codes, String value) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        return codes.computeIfAbsent(normalize(value), key -> codes.size());
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static int[][] postings(int[] codes, int cardinality) {
+        int[] counts = new int[cardinality];
+        for (int code : codes) {
+            if (code != NONE) counts[code]++;
+        }
+        int[][] postings = new int[cardinality][];
+        for (int c = 0; c < cardinality; c++) {
+            postings[c] = new int[counts[c]];
+        }
+        int[] fill = new int[cardinality];
+        for (int i = 0; i < codes.length; i++) {
+            if (codes[i] != NONE) {
+                postings[codes[i]][fill[codes[i]]++] = i;
+            }
+        }
+        return postings;
+    }
+
+    private static int[] positionsOf(int[] codes, int code) {
+        int count = 0;
+        for (int c : codes) {
+            if (c == code) count++;
+        }
+        int[] positions = new int[count];
+        for (int i = 0, k = 0; i < codes.length; i++) {
+            if (codes[i] == code) positions[k++] = i;
+        }
+        return positions;
+    }
+
+    private static int[] merge(int[] a, int[] b) {
+        int[] merged = new int[a.length + b.length];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < b.length) {
+            merged[k++] = a[i] < b[j] ? a[i++] : b[j++];
+        }
+        while (i < a.length) merged[k++] = a[i++];
+        while (j < b.length) merged[k++] = b[j++];
+        return merged;
+    }
+}
@@ -0,0 +1,141 @@
+package com.ideafactory.service;
+
+import com.ideafactory.repository.IdeaBankLoanRepository;
+import com.ideafactory.repository.IdeaSchemeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Financing Search Service
+ * Answers "which ideas qualify for financing of X at under Y% in region Z"
+ * across all ideas from a FinancingSearchIndex held in memory. The index
+ * is rebuilt in the background when schemes or loans change, and
+ * periodically to pick up writes made elsewhere; searches never touch the
+ * database.
+ */
+@Service
+public class FinancingSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FinancingSearchService.class);
+
+    public static final int MAX_LIMIT = 500;
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private IdeaSchemeRepository schemeRepository;
+
+    @Autowired
+    private IdeaBankLoanRepository bankLoanRepository;
+
+    @Value("${app.financing-search.max-age-ms:3600000}")
+    private long maxAgeMillis;
+
+    private volatile FinancingSearchIndex index = FinancingSearchIndex.build(List.of());
+    private volatile LocalDateTime builtAt;
+    private final AtomicBoolean changed = new AtomicBoolean(true);
+
+    // Called after a scheme or loan is created, changed or deleted
+    public void markChanged() {
+        changed.set(true);
+    }
+
+    @Scheduled(initialDelayString = "${app.financing-search.initial-delay-ms:5000}",
+               fixedDelayString = "${app.financing-search.refresh-interval-ms:30000}")
+    public void refreshIndex() {
+        boolean stale = builtAt == null || builtAt.plusNanos(maxAgeMillis * 1_000_000).isBefore(LocalDateTime.now());
+        if (changed.getAndSet(false) || stale) {
+            rebuildIndex();
+        }
+    }
+
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        List<FinancingSearchIndex.Offer> offers = new ArrayList<>();
+
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            rows = schemeRepository.findActiveSearchRowsAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+            for (Object[] row : rows) {
+                BigDecimal rate = (BigDecimal) row[8];
+                offers.add(new FinancingSearchIndex.Offer(FinancingSearchIndex.Kind.SCHEME,
+                        (Long) row[0], (Long) row[1], (String) row[2], (String) row[3], null,
+                        (String) row[4], (String) row[5], (String) row[6],
+                        null, (BigDecimal) row[7], rate, rate, (LocalDateTime) row[9]));
+                afterId = (Long) row[0];
+            }
+        } while (rows.size() == BATCH_SIZE);
+
+        afterId = 0;
+        do {
+            rows = bankLoanRepository.findActiveSearchRowsAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+            for (Object[] row : rows) {
+                offers.add(new FinancingSearchIndex.Offer(FinancingSearchIndex.Kind.LOAN,
+                        (Long) row[0], (Long) row[1], (String) row[2], (String) row[3], (String) row[4],
+                        (String) row[5], null, null,
+                        (BigDecimal) row[6], (BigDecimal) row[7], (BigDecimal) row[8], (BigDecimal) row[9], null));
+                afterId = (Long) row[0];
+            }
+        } while (rows.size() == BATCH_SIZE);
+
+        index = FinancingSearchIndex.build(offers);
+        builtAt = LocalDateTime.now();
+        logger.info("Rebuilt financing search index: {} offers in {} ms",
+                offers.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Offers matching every given criterion, best interest rate first.
+     * openOn defaults to now, so schemes past their deadline are left out.
+     */
+    public Map<String, Object> search(BigDecimal amount, BigDecimal maxInterestRate, String region, String type,
+                                      String kind, LocalDateTime openOn, int limit) {
+        FinancingSearchIndex.Kind offerKind = null;
+        if (kind != null && !kind.isBlank()) {
+            try {
+                offerKind = FinancingSearchIndex.Kind.valueOf(kind.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("kind must be scheme or loan");
+            }
+        }
+
+        FinancingSearchIndex current = index;
+        FinancingSearchIndex.Result result = current.search(new FinancingSearchIndex.Query(amount, maxInterestRate,
+                blankToNull(region), blankToNull(type), offerKind,
+                openOn != null ? openOn : LocalDateTime.now(), Math.min(limit, MAX_LIMIT)));
+
+        Set<Long> ideaIds = new LinkedHashSet<>();
+        for (FinancingSearchIndex.Offer offer : result.offers()) {
+            ideaIds.add(offer.ideaId());
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("offers", result.offers());
+        response.put("ideaIds", ideaIds);
+        response.put("count", result.offers().size());
+        response.put("truncated", result.truncated());
+        response.put("indexedOffers", current.size());
+        response.put("indexBuiltAt", builtAt);
+        return response;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
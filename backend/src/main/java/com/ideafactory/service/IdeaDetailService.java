@@ -2,16 +2,27 @@ package com.ideafactory.service;
 
 import com.ideafactory.model.*;
 import com.ideafactory.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class IdeaDetailService {
     
+    public static final int MAX_SUMMARY_IDEAS = 100;
+    
     @Autowired
     private IdeaInternalFactorsRepository internalFactorsRepository;
     
@@ -27,7 +38,29 @@ public class IdeaDetailService {
     @Autowired
     private IdeaReviewService reviewService;
     
+    @Autowired
+    private FinancingSearchService financingSearchService;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    /**
+     * Evict cached detail rows
+     * Deleting an idea removes its detail rows through ON DELETE CASCADE,
+     * which Hibernate never sees, so the second-level cache is cleared here
+     */
+    public void evictIdeaDetails() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(IdeaInternalFactors.class);
+        cache.evictCollectionData(IdeaInternalFactors.class.getName() + ".factors");
+        cache.evictEntityData(IdeaInvestment.class);
+        cache.evictEntityData(IdeaScheme.class);
+        cache.evictEntityData(IdeaBankLoan.class);
+        cache.evictQueryRegion("ideaDetailQueries");
+    }
+    
     // Internal Factors Methods
+    @Transactional(readOnly = true)
     public List<IdeaInternalFactors> getInternalFactorsByIdeaId(Long ideaId) {
         return internalFactorsRepository.findByIdeaId(ideaId);
     }
@@ -41,22 +74,105 @@ public class IdeaDetailService {
     }
     
     // Investment Methods
+    @Transactional(readOnly = true)
     public List<IdeaInvestment> getInvestmentsByIdeaId(Long ideaId) {
         return investmentRepository.findByIdeaIdOrderByAmountDesc(ideaId);
     }
     
+    @Transactional(readOnly = true)
     public Map<String, Object> getInvestmentSummaryByIdeaId(Long ideaId) {
         List<IdeaInvestment> investments = getInvestmentsByIdeaId(ideaId);
-        java.math.BigDecimal totalInvestment = investmentRepository.getTotalInvestmentByIdeaId(ideaId);
+        // The rows are already loaded, so the total needs no second query
+        BigDecimal totalInvestment = BigDecimal.ZERO;
+        for (IdeaInvestment investment : investments) {
+            if (investment.getAmount() != null) {
+                totalInvestment = totalInvestment.add(investment.getAmount());
+            }
+        }
         
         Map<String, Object> summary = new HashMap<>();
         summary.put("investments", investments);
-        summary.put("totalInvestment", totalInvestment != null ? totalInvestment : java.math.BigDecimal.ZERO);
+        summary.put("totalInvestment", totalInvestment);
         summary.put("investmentCount", investments.size());
         
         return summary;
     }
     
+    /**
+     * Investment totals without the rows: overall, by priority level and
+     * split into required/optional, all folded from one grouped query
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getInvestmentAggregate(Long ideaId) {
+        BigDecimal total = BigDecimal.ZERO;
+        long count = 0;
+        Map<String, Map<String, Object>> byPriority = new LinkedHashMap<>();
+        Map<String, Object> required = totals(BigDecimal.ZERO, 0);
+        Map<String, Object> optional = totals(BigDecimal.ZERO, 0);
+        
+        for (Object[] row : investmentRepository.summarizeByIdeaId(ideaId)) {
+            String priority = row[0] != null ? (String) row[0] : "UNSPECIFIED";
+            // A null flag means required, as the column defaults to false
+            boolean isOptional = Boolean.TRUE.equals(row[1]);
+            long rowCount = ((Number) row[2]).longValue();
+            BigDecimal rowTotal = row[3] != null ? (BigDecimal) row[3] : BigDecimal.ZERO;
+            
+            total = total.add(rowTotal);
+            count += rowCount;
+            addTo(byPriority.computeIfAbsent(priority, key -> totals(BigDecimal.ZERO, 0)), rowTotal, rowCount);
+            addTo(isOptional ? optional : required, rowTotal, rowCount);
+        }
+        
+        Map<String, Object> aggregate = new HashMap<>();
+        aggregate.put("ideaId", ideaId);
+        aggregate.put("totalInvestment", total);
+        aggregate.put("investmentCount", count);
+        aggregate.put("byPriority", byPriority);
+        aggregate.put("required", required);
+        aggregate.put("optional", optional);
+        return aggregate;
+    }
+    
+    /**
+     * Investment totals for a page of ideas in one statement, keyed by idea
+     * id in request order; ideas without investments report zero
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Map<String, Object>> getInvestmentTotals(Collection<Long> ideaIds) {
+        Set<Long> ids = new LinkedHashSet<>(ideaIds);
+        if (ids.size() > MAX_SUMMARY_IDEAS) {
+            throw new RuntimeException("At most " + MAX_SUMMARY_IDEAS + " ideas can be summarized at once");
+        }
+        Map<Long, Map<String, Object>> summaries = new LinkedHashMap<>();
+        for (Long ideaId : ids) {
+            Map<String, Object> empty = totals(BigDecimal.ZERO, 0);
+            empty.put("requiredTotal", BigDecimal.ZERO);
+            summaries.put(ideaId, empty);
+        }
+        if (ids.isEmpty()) {
+            return summaries;
+        }
+        for (Object[] row : investmentRepository.summarizeByIdeaIds(ids)) {
+            Map<String, Object> summary = summaries.get((Long) row[0]);
+            summary.put("count", ((Number) row[1]).longValue());
+            summary.put("total", row[2] != null ? row[2] : BigDecimal.ZERO);
+            summary.put("requiredTotal", row[3] != null ? row[3] : BigDecimal.ZERO);
+        }
+        return summaries;
+    }
+    
+    private static Map<String, Object> totals(BigDecimal total, long count) {
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("total", total);
+        totals.put("count", count);
+        return totals;
+    }
+    
+    private static void addTo(Map<String, Object> totals, BigDecimal total, long count) {
+        totals.put("total", ((BigDecimal) totals.get("total")).add(total));
+        totals.put("count", (Long) totals.get("count") + count);
+    }
+    
     public IdeaInvestment createInvestment(IdeaInvestment investment) {
         return investmentRepository.save(investment);
     }
@@ -66,44 +182,56 @@ public class IdeaDetailService {
     }
     
     // Scheme Methods
+    @Transactional(readOnly = true)
     public List<IdeaScheme> getSchemesByIdeaId(Long ideaId) {
         return schemeRepository.findByIdeaIdAndIsActiveTrue(ideaId);
     }
     
+    @Transactional(readOnly = true)
     public List<IdeaScheme> getSchemesByIdeaIdAndType(Long ideaId, String schemeType) {
         return schemeRepository.findByIdeaIdAndSchemeType(ideaId, schemeType);
     }
     
+    @Transactional(readOnly = true)
     public List<IdeaScheme> getSchemesByIdeaIdAndRegion(Long ideaId, String regionState) {
         return schemeRepository.findByIdeaIdAndRegionState(ideaId, regionState);
     }
     
     public IdeaScheme createScheme(IdeaScheme scheme) {
-        return schemeRepository.save(scheme);
+        IdeaScheme saved = schemeRepository.save(scheme);
+        financingSearchService.markChanged();
+        return saved;
     }
     
     public void deleteScheme(Long schemeId) {
         schemeRepository.deleteById(schemeId);
+        financingSearchService.markChanged();
     }
     
     // Bank Loan Methods
+    @Transactional(readOnly = true)
     public List<IdeaBankLoan> getBankLoansByIdeaId(Long ideaId) {
         return bankLoanRepository.findByIdeaIdAndIsActiveTrue(ideaId);
     }
     
+    @Transactional(readOnly = true)
     public List<IdeaBankLoan> getBankLoansByIdeaIdAndType(Long ideaId, String loanType) {
         return bankLoanRepository.findByIdeaIdAndLoanType(ideaId, loanType);
     }
     
     public IdeaBankLoan createBankLoan(IdeaBankLoan bankLoan) {
-        return bankLoanRepository.save(bankLoan);
+        IdeaBankLoan saved = bankLoanRepository.save(bankLoan);
+        financingSearchService.markChanged();
+        return saved;
     }
     
     public void deleteBankLoan(Long bankLoanId) {
         bankLoanRepository.deleteById(bankLoanId);
+        financingSearchService.markChanged();
     }
     
     // Comprehensive Idea Detail
+    @Transactional(readOnly = true)
     public Map<String, Object> getCompleteIdeaDetails(Long ideaId) {
         Map<String, Object> details = new HashMap<>();
         
@@ -121,7 +249,11 @@ public class IdeaDetailService {
         
         // Reviews and Ratings
         details.put("ratingSummary", reviewService.getRatingSummaryByIdeaId(ideaId));
-        details.put("reviews", reviewService.getApprovedReviewsByIdeaId(ideaId));
+        // Only the first page is embedded; the client follows reviewsNextCursor on /{ideaId}/reviews
+        Map<String, Object> reviews = reviewService.getApprovedReviews(ideaId, null, null,
+                IdeaReviewService.DEFAULT_REVIEW_PAGE_SIZE);
+        details.put("reviews", reviews.get("reviews"));
+        details.put("reviewsNextCursor", reviews.get("nextCursor"));
         
         return details;
     }
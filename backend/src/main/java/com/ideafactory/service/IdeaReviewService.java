@@ -5,32 +5,146 @@ import com.ideafactory.model.IdeaReview;
 import com.ideafactory.repository.IdeaRepository;
 import com.ideafactory.repository.IdeaReviewRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class IdeaReviewService {
     
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_BATCH_SIZE = 1000;
+    public static final int DEFAULT_REVIEW_PAGE_SIZE = 10;
+    public static final int MAX_REVIEW_PAGE_SIZE = 50;
+    
+    public enum ReviewSort { RECENT, RATING, HELPFUL }
+    
     @Autowired
     private IdeaReviewRepository reviewRepository;
     
     @Autowired
     private IdeaRepository ideaRepository;
     
+    @Autowired
+    private TrendingService trendingService;
+    
+    @Autowired
+    private ReviewModerationRules moderationRules;
+    
+    // The moderation rules decide approval; whatever the client sent is ignored
     public IdeaReview createReview(IdeaReview review) {
-        return reviewRepository.save(review);
+        ReviewModerationRules.Decision decision = moderationRules.evaluate(review);
+        if (decision.verdict() == ReviewModerationRules.Verdict.REJECT) {
+            throw new RuntimeException("Review rejected: " + decision.reason());
+        }
+        review.setIsApproved(decision.verdict() == ReviewModerationRules.Verdict.APPROVE);
+        IdeaReview saved = reviewRepository.save(review);
+        if (review.getIdea() != null) {
+            trendingService.recordReview(review.getIdea().getId());
+        }
+        return saved;
     }
     
-    public List<IdeaReview> getApprovedReviewsByIdeaId(Long ideaId) {
-        return reviewRepository.findApprovedReviewsByIdeaId(ideaId);
+    /**
+     * One page of an idea's approved reviews: sort is recent (default),
+     * rating or helpful. The cursor remembers its sort, so a cursor from one
+     * ordering cannot be replayed against another.
+     */
+    public Map<String, Object> getApprovedReviews(Long ideaId, String sort, String cursor, int size) {
+        ReviewSort order = parseSort(sort);
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(size, MAX_REVIEW_PAGE_SIZE)));
+        List<IdeaReview> reviews;
+        if (cursor == null || cursor.isBlank()) {
+            reviews = switch (order) {
+                case RECENT -> reviewRepository.findApprovedByRecency(ideaId, page);
+                case RATING -> reviewRepository.findApprovedByRating(ideaId, page);
+                case HELPFUL -> reviewRepository.findApprovedByHelpfulness(ideaId, page);
+            };
+        } else {
+            String[] position = decodeCursor(cursor, 3);
+            if (!order.name().equals(position[0])) {
+                throw new RuntimeException("Cursor does not match sort");
+            }
+            Long id = Long.parseLong(position[2]);
+            reviews = switch (order) {
+                case RECENT -> reviewRepository.findApprovedByRecencyAfter(ideaId, LocalDateTime.parse(position[1]), id, page);
+                case RATING -> reviewRepository.findApprovedByRatingAfter(ideaId, Integer.parseInt(position[1]), id, page);
+                case HELPFUL -> reviewRepository.findApprovedByHelpfulnessAfter(ideaId, Double.parseDouble(position[1]), id, page);
+            };
+        }
+        
+        String nextCursor = null;
+        if (reviews.size() == page.getPageSize()) {
+            IdeaReview last = reviews.get(reviews.size() - 1);
+            Object key = switch (order) {
+                case RECENT -> last.getCreatedAt();
+                case RATING -> last.getRating();
+                case HELPFUL -> last.getHelpfulnessScore();
+            };
+            nextCursor = encodeCursor(order.name(), key, last.getId());
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("reviews", reviews);
+        response.put("size", reviews.size());
+        response.put("sort", order.name().toLowerCase());
+        response.put("nextCursor", nextCursor);
+        return response;
+    }
+    
+    /**
+     * One page of the pending queue, newest first. Pass the returned
+     * nextCursor back to get the following page; it is null on the last one.
+     */
+    public Map<String, Object> getPendingReviews(String cursor, int size) {
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        List<IdeaReview> reviews;
+        if (cursor == null || cursor.isBlank()) {
+            reviews = reviewRepository.findPendingQueue(page);
+        } else {
+            String[] position = decodeCursor(cursor, 2);
+            reviews = reviewRepository.findPendingQueueAfter(LocalDateTime.parse(position[0]), Long.parseLong(position[1]), page);
+        }
+        
+        String nextCursor = null;
+        if (reviews.size() == page.getPageSize()) {
+            IdeaReview last = reviews.get(reviews.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("reviews", reviews);
+        response.put("size", reviews.size());
+        response.put("nextCursor", nextCursor);
+        return response;
     }
     
-    public List<IdeaReview> getPendingReviews() {
-        return reviewRepository.findByIsApprovedFalseOrderByCreatedAtDesc();
+    public long countPendingReviews() {
+        return reviewRepository.countByIsApprovedFalse();
+    }
+    
+    // One UPDATE for the whole batch; reviews already approved or deleted are skipped
+    @Transactional
+    public int approveReviews(Collection<Long> reviewIds) {
+        Set<Long> ids = checkBatch(reviewIds);
+        return ids.isEmpty() ? 0 : reviewRepository.approveAllByIdIn(ids, LocalDateTime.now());
+    }
+    
+    @Transactional
+    public int deleteReviews(Collection<Long> reviewIds) {
+        Set<Long> ids = checkBatch(reviewIds);
+        return ids.isEmpty() ? 0 : reviewRepository.deleteAllByIdIn(ids);
     }
     
     public IdeaReview approveReview(Long reviewId) {
@@ -79,4 +193,43 @@ public class IdeaReviewService {
         }
         return null;
     }
+    
+    private static Set<Long> checkBatch(Collection<Long> reviewIds) {
+        Set<Long> ids = reviewIds != null ? new LinkedHashSet<>(reviewIds) : Set.of();
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("At most " + MAX_BATCH_SIZE + " reviews can be processed at once");
+        }
+        return ids;
+    }
+    
+    private static ReviewSort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return ReviewSort.RECENT;
+        }
+        try {
+            return ReviewSort.valueOf(sort.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown sort: " + sort);
+        }
+    }
+    
+    private static String encodeCursor(Object... parts) {
+        StringBuilder position = new StringBuilder();
+        for (Object part : parts) {
+            position.append(position.length() > 0 ? "|" : "").append(part);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static String[] decodeCursor(String cursor, int parts) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != parts) {
+                throw new IllegalArgumentException();
+            }
+            return position;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
 } 
\ No newline at end of file
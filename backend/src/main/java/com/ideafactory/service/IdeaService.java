@@ -2,13 +2,19 @@ package com.ideafactory.service;
 
 import com.ideafactory.model.Idea;
 import com.ideafactory.repository.IdeaRepository;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,88 +24,188 @@ public class IdeaService {
     @Autowired
     private IdeaRepository ideaRepository;
     
+    @Autowired
+    private SimilarIdeasService similarIdeasService;
+    
+    @Autowired
+    private FinancingSearchService financingSearchService;
+    
+    @Autowired
+    private IdeaDetailService ideaDetailService;
+    
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+    
+    @Autowired
+    private IdeaTermDictionary ideaTermDictionary;
+    
+    @Transactional(readOnly = true)
     public List<Idea> getAllIdeas() {
         return ideaRepository.findAllActive();
     }
     
     // Add pagination support for better performance
+    @Transactional(readOnly = true)
     public Page<Idea> getAllIdeasPaginated(Pageable pageable) {
         return ideaRepository.findAllActivePaginated(pageable);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Idea> getIdeaById(Long id) {
         return ideaRepository.findById(id);
     }
     
+    // Most popular first, as ranked by TrendingService
+    @Transactional(readOnly = true)
+    public List<Long> getPopularIdeaIds(int limit) {
+        return ideaRepository.findActiveIdsByPopularity(PageRequest.of(0, limit));
+    }
+    
+    // Loads the ideas with their audiences and advantages, which fills the collection cache regions
+    @Transactional(readOnly = true)
+    public List<Idea> loadIdeas(List<Long> ids) {
+        List<Idea> ideas = ideaRepository.findAllById(ids);
+        for (Idea idea : ideas) {
+            Hibernate.initialize(idea.getTargetAudience());
+            Hibernate.initialize(idea.getSpecialAdvantages());
+        }
+        return ideas;
+    }
+    
+    @Transactional(readOnly = true)
     public List<Idea> getIdeasByCategory(String category) {
         return ideaRepository.findByCategory(category);
     }
     
+    @Transactional(readOnly = true)
     public List<Idea> getIdeasBySector(String sector) {
         return ideaRepository.findBySector(sector);
     }
     
+    @Transactional(readOnly = true)
     public List<Idea> getIdeasByDifficultyLevel(String difficultyLevel) {
         return ideaRepository.findByDifficultyLevel(difficultyLevel);
     }
     
+    @Transactional(readOnly = true)
     public List<Idea> getIdeasByLocation(String location) {
         return ideaRepository.findByLocation(location);
     }
     
+    @Transactional(readOnly = true)
     public List<Idea> getIdeasByInvestmentRange(BigDecimal minInvestment, BigDecimal maxInvestment) {
         return ideaRepository.findByInvestmentNeededBetween(minInvestment, maxInvestment);
     }
     
+    @Transactional(readOnly = true)
     public List<Idea> getIdeasByMaxInvestment(BigDecimal maxInvestment) {
         return ideaRepository.findByInvestmentNeededLessThanEqual(maxInvestment);
     }
     
+    @Transactional(readOnly = true)
     public List<Idea> getIdeasByTargetAudience(String audience) {
-        return ideaRepository.findByTargetAudienceContaining(audience);
+        List<String> audiences = ideaTermDictionary.termsContaining(audience);
+        return audiences.isEmpty() ? List.of() : ideaRepository.findByTargetAudienceIn(audiences);
     }
     
+    @Transactional(readOnly = true)
     public List<Idea> getIdeasBySpecialAdvantage(String advantage) {
-        return ideaRepository.findBySpecialAdvantagesContaining(advantage);
+        List<String> advantages = ideaTermDictionary.termsContaining(advantage);
+        return advantages.isEmpty() ? List.of() : ideaRepository.findBySpecialAdvantagesIn(advantages);
     }
     
+    @Transactional(readOnly = true)
     public List<Idea> getIdeasWithFilters(String category, String sector, String difficultyLevel, 
                                         String location, BigDecimal maxInvestment) {
         return ideaRepository.findWithFilters(category, sector, difficultyLevel, location, maxInvestment);
     }
     
     @Cacheable("categories")
+    @Transactional(readOnly = true)
     public List<String> getAllCategories() {
         return ideaRepository.findAllCategories();
     }
     
     @Cacheable("sectors")
+    @Transactional(readOnly = true)
     public List<String> getAllSectors() {
         return ideaRepository.findAllSectors();
     }
     
     @Cacheable("difficultyLevels")
+    @Transactional(readOnly = true)
     public List<String> getAllDifficultyLevels() {
         return ideaRepository.findAllDifficultyLevels();
     }
     
     @Cacheable("locations")
+    @Transactional(readOnly = true)
     public List<String> getAllLocations() {
         return ideaRepository.findAllLocations();
     }
     
+    public boolean ideaExists(Long id) {
+        return ideaRepository.existsById(id);
+    }
+    
+    @Transactional
     public Idea saveIdea(Idea idea) {
-        return ideaRepository.save(idea);
+        Idea saved = ideaRepository.save(idea);
+        markChangedAfterCommit(List.of(saved.getId()));
+        return saved;
+    }
+    
+    // One transaction, so the inserts and their collection rows go out as JDBC batches
+    @Transactional
+    public List<Idea> saveIdeas(List<Idea> ideas) {
+        List<Idea> saved = ideaRepository.saveAll(ideas);
+        List<Long> ids = new ArrayList<>(saved.size());
+        for (Idea idea : saved) {
+            ids.add(idea.getId());
+        }
+        markChangedAfterCommit(ids);
+        return saved;
     }
     
+    @Transactional
     public void deleteIdea(Long id) {
         ideaRepository.deleteById(id);
+        ideaDetailService.evictIdeaDetails();
+        markChangedAfterCommit(List.of(id));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                catalogSnapshotService.markDeleted(List.of(id));
+            }
+        });
+    }
+    
+    // The indexes re-read changed rows on their next refresh, which must not run before the rows are visible;
+    // a rolled-back chunk notifies nothing
+    private void markChangedAfterCommit(List<Long> ids) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ids.forEach(similarIdeasService::markChanged);
+                // Title and active flag are part of the financing index rows
+                financingSearchService.markChanged();
+                catalogSnapshotService.markChanged();
+            }
+        });
     }
     
     // Pagination method for admin panel
+    @Transactional(readOnly = true)
     public Page<Idea> getAllIdeasPaginated(Pageable pageable, String search, String category, String sector, 
                                          String difficultyLevel, String location, BigDecimal maxInvestment, 
                                          String targetAudience, String specialAdvantage) {
+        // Empty means no filter; the queries take null, since coded attributes cannot be compared with ''
+        category = emptyToNull(category);
+        sector = emptyToNull(sector);
+        difficultyLevel = emptyToNull(difficultyLevel);
+        location = emptyToNull(location);
+        targetAudience = emptyToNull(targetAudience);
+        specialAdvantage = emptyToNull(specialAdvantage);
         
         if (search != null && !search.trim().isEmpty()) {
             // If search term provided, use search with filters
@@ -113,11 +219,17 @@ public class IdeaService {
     }
     
     // Count methods for dashboard statistics
+    @Transactional(readOnly = true)
     public long getTotalIdeasCount() {
         return ideaRepository.count();
     }
     
+    @Transactional(readOnly = true)
     public long getActiveIdeasCount() {
         return ideaRepository.countByActiveTrue();
     }
+    
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
 } 
\ No newline at end of file
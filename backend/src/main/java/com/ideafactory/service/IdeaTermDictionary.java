@@ -0,0 +1,310 @@
+package com.ideafactory.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Idea Term Dictionary
+ * In-memory copy of the idea_terms code table. Idea stores category,
+ * sector, difficulty level, time to market, location, audiences and
+ * advantages as integer codes; IdeaTermConverter maps them through here,
+ * so equality filters compare integers in SQL and every loaded idea
+ * shares one String instance per term.
+ *
+ * Codes are never reused or changed, so the copy only grows. Terms are
+ * added by IdeaTermListener before an idea is written, on the writer's
+ * own transactional connection, with ids from idea_terms_id_seq. Until
+ * that transaction commits, its new codes are only visible to it; they
+ * join the shared copy after the commit, and vanish with a rollback. A
+ * term another node added is picked up by reloading the table on a miss.
+ */
+@Service
+public class IdeaTermDictionary {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdeaTermDictionary.class);
+
+    // Code for a value no idea has; a filter on it matches nothing
+    public static final int UNKNOWN = -1;
+
+    // Misses on the read path reload at most this often
+    private static final long RELOAD_INTERVAL_MS = 1000;
+
+    @Autowired
+    private DataSource dataSource;
+
+    // Guards the swap of the in-memory copy; never held while inserting
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    // Indexed by code; replaced, never mutated
+    private volatile String[] terms = new String[0];
+    private volatile long lastReloadAt;
+
+    /** The code of a term, or UNKNOWN if no idea uses it */
+    public Integer code(String term) {
+        if (term == null) {
+            return null;
+        }
+        Integer code = codes.get(term);
+        if (code == null) {
+            PendingTerms pending = pendingTerms(false);
+            code = pending != null ? pending.codes.get(term) : null;
+        }
+        if (code == null && System.currentTimeMillis() - lastReloadAt >= RELOAD_INTERVAL_MS) {
+            reload();
+            code = codes.get(term);
+        }
+        return code != null ? code : UNKNOWN;
+    }
+
+    /** The shared instance of the term with this code */
+    public String term(Integer code) {
+        if (code == null) {
+            return null;
+        }
+        String term = lookup(code);
+        if (term == null) {
+            PendingTerms pending = pendingTerms(false);
+            term = pending != null ? pending.terms.get(code) : null;
+        }
+        if (term == null) {
+            // A stored code always has its row, so this node is behind
+            reload();
+            term = lookup(code);
+        }
+        if (term == null) {
+            throw new RuntimeException("Unknown idea term code: " + code);
+        }
+        return term;
+    }
+
+    /** Every known term containing the text, e.g. for substring filters on coded columns */
+    public List<String> termsContaining(String text) {
+        if (System.currentTimeMillis() - lastReloadAt >= RELOAD_INTERVAL_MS) {
+            reload();
+        }
+        List<String> matches = new ArrayList<>();
+        for (String term : terms) {
+            if (term != null && term.contains(text)) {
+                matches.add(term);
+            }
+        }
+        return matches;
+    }
+
+    /** Adds codes for the terms that have none yet, in the caller's transaction */
+    public void register(Collection<String> values) {
+        PendingTerms pending = pendingTerms(false);
+        Set<String> missing = new LinkedHashSet<>();
+        for (String value : values) {
+            if (value != null && !codes.containsKey(value) && (pending == null || !pending.codes.containsKey(value))) {
+                missing.add(value);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        // The connection the caller's transaction already holds, so a writer never waits for a second one
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            Map<String, Integer> added = new HashMap<>();
+            for (String term : missing) {
+                added.put(term, insert(connection, term));
+            }
+            pending = pendingTerms(true);
+            if (pending != null) {
+                pending.add(added);
+            } else {
+                // No transaction: the inserts are already committed
+                publish(added);
+            }
+            logger.debug("Added {} idea terms: {}", missing.size(), missing);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to add idea terms " + missing + ": " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("terms", codes.size());
+        status.put("maxCode", terms.length - 1);
+        return status;
+    }
+
+    private String lookup(int code) {
+        String[] current = terms;
+        return code >= 0 && code < current.length ? current[code] : null;
+    }
+
+    // Another transaction may hold the same term; its id is read back once that one commits
+    private int insert(Connection connection, String term) throws SQLException {
+        boolean inTransaction = !connection.getAutoCommit();
+        while (true) {
+            int id;
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT nextval('idea_terms_id_seq')")) {
+                rs.next();
+                id = rs.getInt(1);
+            }
+            // A failed statement must not abort the caller's transaction
+            Savepoint savepoint = inTransaction ? connection.setSavepoint() : null;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO idea_terms (id, term) VALUES (?, ?)")) {
+                statement.setInt(1, id);
+                statement.setString(2, term);
+                statement.executeUpdate();
+                if (savepoint != null) {
+                    connection.releaseSavepoint(savepoint);
+                }
+                return id;
+            } catch (SQLException e) {
+                if (savepoint != null) {
+                    connection.rollback(savepoint);
+                }
+                Integer existing = findId(connection, "SELECT id FROM idea_terms WHERE term = ?", term);
+                if (existing != null) {
+                    return existing;
+                }
+                // Otherwise only an id taken before the sequence existed is worth another try
+                if (findId(connection, "SELECT id FROM idea_terms WHERE id = ?", id) == null) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static Integer findId(Connection connection, String sql, Object value) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, value);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : null;
+            }
+        }
+    }
+
+    // Reads on the caller's connection, if it holds one; its own uncommitted terms stay out of the shared copy
+    private void reload() {
+        PendingTerms pending = pendingTerms(false);
+        Set<Integer> uncommitted = pending != null ? pending.terms.keySet() : Set.of();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        lock.lock();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT id, term FROM idea_terms")) {
+            String[] loaded = terms;
+            Map<String, Integer> added = new HashMap<>();
+            while (rs.next()) {
+                int code = rs.getInt(1);
+                if (uncommitted.contains(code)) {
+                    continue;
+                } else if (code >= loaded.length) {
+                    loaded = Arrays.copyOf(loaded, Math.max(code + 1, loaded.length * 2));
+                } else if (loaded[code] != null) {
+                    continue;
+                } else if (loaded == terms) {
+                    loaded = loaded.clone();
+                }
+                // One instance per term for every idea that is loaded
+                String term = rs.getString(2).intern();
+                loaded[code] = term;
+                added.put(term, code);
+            }
+            // Terms first, so a code found in codes always resolves
+            terms = loaded;
+            codes.putAll(added);
+            lastReloadAt = System.currentTimeMillis();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load idea terms: " + e.getMessage(), e);
+        } finally {
+            lock.unlock();
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    // Adds committed terms to the shared copy
+    private void publish(Map<String, Integer> added) {
+        lock.lock();
+        try {
+            String[] loaded = terms;
+            for (Map.Entry<String, Integer> entry : added.entrySet()) {
+                int code = entry.getValue();
+                if (code >= loaded.length) {
+                    loaded = Arrays.copyOf(loaded, Math.max(code + 1, loaded.length * 2));
+                } else if (loaded[code] != null) {
+                    continue;
+                } else if (loaded == terms) {
+                    loaded = loaded.clone();
+                }
+                loaded[code] = entry.getKey().intern();
+            }
+            terms = loaded;
+            for (Map.Entry<String, Integer> entry : added.entrySet()) {
+                codes.putIfAbsent(loaded[entry.getValue()], entry.getValue());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Registered with the transaction, so a suspended transaction's terms are hidden along with it
+    private PendingTerms pendingTerms(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingTerms pending && pending.owner == this) {
+                return pending;
+            }
+        }
+        if (!create) {
+            return null;
+        }
+        PendingTerms pending = new PendingTerms(this);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    // Terms a transaction added, visible to it alone until it commits
+    private static final class PendingTerms implements TransactionSynchronization {
+        private final IdeaTermDictionary owner;
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final Map<Integer, String> terms = new HashMap<>();
+
+        private PendingTerms(IdeaTermDictionary owner) {
+            this.owner = owner;
+        }
+
+        void add(Map<String, Integer> added) {
+            codes.putAll(added);
+            added.forEach((term, code) -> terms.put(code, term));
+        }
+
+        @Override
+        public void afterCommit() {
+            owner.publish(codes);
+        }
+    }
+}
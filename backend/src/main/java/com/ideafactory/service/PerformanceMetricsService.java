@@ -0,0 +1,134 @@
+package com.ideafactory.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Performance Metrics Service
+ * Builds a compact summary from meters that are already being recorded,
+ * so reading it never touches the database beyond a count query.
+ * Full detail is available at /actuator/prometheus.
+ */
+@Service
+public class PerformanceMetricsService {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private IdeaService ideaService;
+    
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+    
+    @Autowired
+    private IdeaTermDictionary ideaTermDictionary;
+    
+    public Map<String, Object> getSummary() {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("totalIdeas", ideaService.getActiveIdeasCount());
+        summary.put("requests", getRequestSummary());
+        summary.put("hibernate", getHibernateSummary());
+        summary.put("connectionPool", getConnectionPoolSummary());
+        summary.put("caches", getHitRatios("cache.gets", "cache"));
+        summary.put("secondLevelCache", getHitRatios("hibernate.second.level.cache.requests", "region"));
+        summary.put("pinnedVirtualThreads", getPinnedSites());
+        summary.put("catalogSnapshot", catalogSnapshotService.getStatus());
+        summary.put("ideaTerms", ideaTermDictionary.getStatus());
+        summary.put("timestamp", System.currentTimeMillis());
+        return summary;
+    }
+    
+    private Map<String, Object> getRequestSummary() {
+        long count = 0;
+        double totalMs = 0;
+        double maxMs = 0;
+        for (Timer timer : meterRegistry.find("http.server.requests").timers()) {
+            count += timer.count();
+            totalMs += timer.totalTime(TimeUnit.MILLISECONDS);
+            maxMs = Math.max(maxMs, timer.max(TimeUnit.MILLISECONDS));
+        }
+        
+        Map<String, Object> requests = new HashMap<>();
+        requests.put("count", count);
+        requests.put("meanMs", count > 0 ? totalMs / count : 0.0);
+        requests.put("maxMs", maxMs);
+        return requests;
+    }
+    
+    private Map<String, Object> getHibernateSummary() {
+        Map<String, Object> hibernate = new HashMap<>();
+        hibernate.put("statementsPerRequest", mean("hibernate.request.statements"));
+        hibernate.put("entitiesLoadedPerRequest", mean("hibernate.request.entities.loaded"));
+        return hibernate;
+    }
+    
+    private Map<String, Object> getConnectionPoolSummary() {
+        Map<String, Object> pool = new HashMap<>();
+        pool.put("active", gaugeValue("hikaricp.connections.active"));
+        pool.put("idle", gaugeValue("hikaricp.connections.idle"));
+        pool.put("pending", gaugeValue("hikaricp.connections.pending"));
+        
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        pool.put("acquireMeanMs", acquire != null ? acquire.mean(TimeUnit.MILLISECONDS) : 0.0);
+        pool.put("acquireMaxMs", acquire != null ? acquire.max(TimeUnit.MILLISECONDS) : 0.0);
+        return pool;
+    }
+    
+    private Map<String, Double> getHitRatios(String meterName, String nameTag) {
+        Map<String, double[]> hitsAndMisses = new TreeMap<>();
+        // Caffeine (cache.gets) and Hibernate (per cache region) both publish
+        // function counters tagged result=hit|miss
+        for (Meter meter : meterRegistry.find(meterName).meters()) {
+            String cache = meter.getId().getTag(nameTag);
+            double count = meter.measure().iterator().next().getValue();
+            double[] values = hitsAndMisses.computeIfAbsent(cache, c -> new double[2]);
+            if ("hit".equals(meter.getId().getTag("result"))) {
+                values[0] += count;
+            } else {
+                values[1] += count;
+            }
+        }
+        
+        Map<String, Double> ratios = new TreeMap<>();
+        hitsAndMisses.forEach((cache, values) -> {
+            double total = values[0] + values[1];
+            ratios.put(cache, total > 0 ? values[0] / total : 0.0);
+        });
+        return ratios;
+    }
+    
+    // Pinning events per site, recorded by VirtualThreadPinningMonitor in virtual-thread mode
+    private Map<String, Long> getPinnedSites() {
+        Map<String, Long> sites = new TreeMap<>();
+        for (Timer timer : meterRegistry.find("jvm.threads.virtual.pinned").timers()) {
+            sites.put(timer.getId().getTag("site"), timer.count());
+        }
+        return sites;
+    }
+    
+    private double mean(String summaryName) {
+        long count = 0;
+        double total = 0;
+        for (DistributionSummary summary : meterRegistry.find(summaryName).summaries()) {
+            count += summary.count();
+            total += summary.totalAmount();
+        }
+        return count > 0 ? total / count : 0.0;
+    }
+    
+    private double gaugeValue(String gaugeName) {
+        Gauge gauge = meterRegistry.find(gaugeName).gauge();
+        return gauge != null ? gauge.value() : 0.0;
+    }
+}
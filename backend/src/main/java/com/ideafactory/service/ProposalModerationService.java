@@ -0,0 +1,246 @@
+package com.ideafactory.service;
+
+import com.ideafactory.model.Idea;
+import com.ideafactory.model.ProposedIdea;
+import com.ideafactory.repository.IdeaRepository;
+import com.ideafactory.repository.ProposedIdeaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Proposal Moderation Service
+ * Admin queue for user-submitted ideas. The queue is keyset-paged on
+ * (priority, submittedAt, id). Batch approve/reject first claims each
+ * proposal with a version-checked UPDATE sent as one JDBC batch: rows a
+ * concurrent admin already processed match no row and come back as
+ * conflicts instead of failing the whole batch. Approved proposals are
+ * then promoted to Idea rows in the same transaction.
+ */
+@Service
+public class ProposalModerationService {
+
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_BATCH_SIZE = 500;
+
+    private static final List<ProposedIdea.ProposalStatus> OPEN_STATUSES = List.of(
+            ProposedIdea.ProposalStatus.PENDING, ProposedIdea.ProposalStatus.UNDER_REVIEW);
+
+    private static final String DEFAULT_CATEGORY = "General";
+    // Ideas require a sector; proposals without one get this rather than a guess
+    private static final String DEFAULT_SECTOR = "Other";
+
+    private static final String CLAIM_PROPOSAL =
+            "UPDATE proposed_ideas SET status = ?, admin_notes = ?, reviewed_at = ?, reviewed_by = ?, " +
+            "version = version + 1 WHERE id = ? AND version = ? AND status IN ('PENDING', 'UNDER_REVIEW')";
+
+    private static final String LINK_IDEA = "UPDATE proposed_ideas SET idea_id = ? WHERE id = ?";
+
+    @Autowired
+    private ProposedIdeaRepository proposedIdeaRepository;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SimilarIdeasService similarIdeasService;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private FinancingSearchService financingSearchService;
+
+    @Autowired
+    private UserDashboardService userDashboardService;
+
+    /**
+     * One page of open proposals. Pass the returned nextCursor back to get
+     * the following page; it is null once the queue is exhausted.
+     */
+    public Map<String, Object> getQueue(String cursor, int size) {
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        List<ProposedIdea> proposals;
+        if (cursor == null || cursor.isBlank()) {
+            proposals = proposedIdeaRepository.findQueue(OPEN_STATUSES, page);
+        } else {
+            String[] position = decodeCursor(cursor);
+            proposals = proposedIdeaRepository.findQueueAfter(OPEN_STATUSES, Integer.parseInt(position[0]),
+                    LocalDateTime.parse(position[1]), Long.parseLong(position[2]), page);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("proposals", proposals);
+        response.put("size", proposals.size());
+        response.put("nextCursor", proposals.size() < page.getPageSize() ? null : encodeCursor(proposals.get(proposals.size() - 1)));
+        return response;
+    }
+
+    public Map<String, Object> getQueueCounts() {
+        Map<String, Object> counts = new HashMap<>();
+        for (ProposedIdea.ProposalStatus status : ProposedIdea.ProposalStatus.values()) {
+            counts.put(status.name(), proposedIdeaRepository.countByStatus(status));
+        }
+        return counts;
+    }
+
+    // Approve open proposals and promote each one to an active Idea
+    @Transactional
+    public Map<String, Object> approve(Collection<Long> proposalIds, String reviewedBy, String notes) {
+        List<ProposedIdea> claimed = claim(proposalIds, ProposedIdea.ProposalStatus.APPROVED, reviewedBy, notes);
+
+        List<Idea> ideas = new ArrayList<>(claimed.size());
+        for (ProposedIdea proposal : claimed) {
+            ideas.add(toIdea(proposal));
+        }
+        // Flushed together at commit as JDBC insert batches
+        ideas = ideaRepository.saveAll(ideas);
+
+        List<Object[]> links = new ArrayList<>(claimed.size());
+        List<Long> ideaIds = new ArrayList<>(ideas.size());
+        for (int k = 0; k < claimed.size(); k++) {
+            // Written with JDBC; the loaded proposals still carry the pre-claim version and must stay clean
+            Long ideaId = ideas.get(k).getId();
+            links.add(new Object[] {ideaId, claimed.get(k).getId()});
+            ideaIds.add(ideaId);
+        }
+        jdbcTemplate.batchUpdate(LINK_IDEA, links);
+
+        afterCommit(claimed, ideaIds);
+        return result(proposalIds, claimed, ideaIds);
+    }
+
+    @Transactional
+    public Map<String, Object> reject(Collection<Long> proposalIds, String reviewedBy, String notes) {
+        List<ProposedIdea> claimed = claim(proposalIds, ProposedIdea.ProposalStatus.REJECTED, reviewedBy, notes);
+        afterCommit(claimed, List.of());
+        return result(proposalIds, claimed, List.of());
+    }
+
+    // Re-prioritise one proposal; the entity version rejects a stale update
+    @Transactional
+    public ProposedIdea setPriority(Long proposalId, int priority, Long expectedVersion) {
+        ProposedIdea proposal = proposedIdeaRepository.findById(proposalId)
+                .orElseThrow(() -> new RuntimeException("Proposal not found"));
+        if (expectedVersion != null && !expectedVersion.equals(proposal.getVersion())) {
+            throw new RuntimeException("Proposal was modified by another admin");
+        }
+        proposal.setPriority(priority);
+        return proposedIdeaRepository.save(proposal);
+    }
+
+    /**
+     * Move the given open proposals to the target status. Returns only the
+     * proposals this call won; the rest were already processed elsewhere.
+     */
+    private List<ProposedIdea> claim(Collection<Long> proposalIds, ProposedIdea.ProposalStatus target,
+                                     String reviewedBy, String notes) {
+        Set<Long> ids = new LinkedHashSet<>(proposalIds);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("At most " + MAX_BATCH_SIZE + " proposals can be processed at once");
+        }
+
+        List<ProposedIdea> open = proposedIdeaRepository.findByIdInAndStatusIn(ids, OPEN_STATUSES);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> claims = new ArrayList<>(open.size());
+        for (ProposedIdea proposal : open) {
+            claims.add(new Object[] {target.name(), notes, now, reviewedBy, proposal.getId(), proposal.getVersion()});
+        }
+        int[] updated = jdbcTemplate.batchUpdate(CLAIM_PROPOSAL, claims);
+
+        List<ProposedIdea> claimed = new ArrayList<>(open.size());
+        for (int k = 0; k < open.size(); k++) {
+            // Only a reported row count proves this call won; SUCCESS_NO_INFO is treated as a conflict
+            if (updated[k] == 1) {
+                claimed.add(open.get(k));
+            }
+        }
+        return claimed;
+    }
+
+    private Idea toIdea(ProposedIdea proposal) {
+        String category = proposal.getCategory() != null && !proposal.getCategory().isBlank()
+                ? proposal.getCategory() : DEFAULT_CATEGORY;
+        String sector = proposal.getSector() != null && !proposal.getSector().isBlank()
+                ? proposal.getSector() : DEFAULT_SECTOR;
+        Idea idea = new Idea(proposal.getTitle(), proposal.getDescription(), category, sector,
+                BigDecimal.valueOf(proposal.getInvestmentNeeded() != null ? proposal.getInvestmentNeeded() : 0L));
+        idea.setDifficultyLevel(proposal.getDifficultyLevel());
+        return idea;
+    }
+
+    // Caches only learn about the change once it is visible to other transactions
+    private void afterCommit(List<ProposedIdea> claimed, List<Long> ideaIds) {
+        Set<Long> userIds = new HashSet<>();
+        for (ProposedIdea proposal : claimed) {
+            userIds.add(proposal.getUserId());
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ideaIds.forEach(similarIdeasService::markChanged);
+                if (!ideaIds.isEmpty()) {
+                    // Title and active flag are part of the financing index rows
+                    financingSearchService.markChanged();
+                    catalogSnapshotService.markChanged();
+                }
+                userIds.forEach(userDashboardService::invalidate);
+            }
+        });
+    }
+
+    private Map<String, Object> result(Collection<Long> requested, List<ProposedIdea> claimed, List<Long> ideaIds) {
+        Set<Long> conflicts = new LinkedHashSet<>(requested);
+        List<Long> processed = new ArrayList<>(claimed.size());
+        for (ProposedIdea proposal : claimed) {
+            processed.add(proposal.getId());
+            conflicts.remove(proposal.getId());
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("processed", processed);
+        result.put("conflicts", conflicts);
+        result.put("ideaIds", ideaIds);
+        return result;
+    }
+
+    private static String encodeCursor(ProposedIdea last) {
+        String position = last.getPriority() + "|" + last.getSubmittedAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 3) {
+                throw new IllegalArgumentException();
+            }
+            return position;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,576 @@
+package com.ideafactory.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recommendation Index
+ * Immutable item-item similarity snapshot over active ideas. Facets are
+ * dictionary-coded into int arrays and each idea keeps its top
+ * NEIGHBOURS most similar ideas in flat int/float arrays, so serving a
+ * feed only walks the neighbour lists of the user's seed ideas.
+ *
+ * Similarity blends facet overlap (category, sector, difficulty,
+ * location, target audience, investment band) with how often two ideas
+ * are liked by the same users.
+ *
+ * The build stays roughly linear in the catalog and the co-like edges:
+ * an idea is only scored against a bounded window of its category and
+ * sector lists, and a heavy liker only contributes pairs among a sample
+ * of their likes.
+ */
+final class RecommendationIndex {
+
+    static final int NEIGHBOURS = 30;
+
+    private static final int POPULAR = 200;
+    private static final int MAX_LIKES_PER_USER = 200;
+    // Pairs grow with the square of a user's likes, so heavy likers only pair up a sample
+    private static final int CO_LIKE_SAMPLE = 50;
+    // Per category and per sector list; the lists are ordered by the other facets, so the window holds the closest ideas
+    private static final int FACET_CANDIDATES = 300;
+    private static final int INVESTMENT_BANDS = 32;
+
+    private static final float CONTENT_WEIGHT = 0.7f;
+    private static final float CO_LIKE_WEIGHT = 0.3f;
+    private static final float FACET_WEIGHT = 0.5f;
+
+    private final long[] ideaIds;
+    private final int[] category;
+    private final int[] sector;
+    private final int[] difficulty;
+    private final int[] location;
+    private final int[] investmentBand;
+    private final int[][] audience;
+
+    private final Map<String, Integer> categoryCodes;
+    private final Map<String, Integer> sectorCodes;
+    private final Map<String, Integer> difficultyCodes;
+    private final Map<String, Integer> locationCodes;
+    private final Map<String, Integer> audienceCodes;
+
+    private final int[] neighbours;
+    private final float[] neighbourScores;
+    private final int[] popular;
+
+    private RecommendationIndex(long[] ideaIds, int[] category, int[] sector, int[] difficulty, int[] location,
+                                int[] investmentBand, int[][] audience, Map<String, Integer> categoryCodes,
+                                Map<String, Integer> sectorCodes, Map<String, Integer> difficultyCodes,
+                                Map<String, Integer> locationCodes, Map<String, Integer> audienceCodes,
+                                int[] neighbours, float[] neighbourScores, int[] popular) {
+        this.ideaIds = ideaIds;
+        this.category = category;
+        this.sector = sector;
+        this.difficulty = difficulty;
+        this.location = location;
+        this.investmentBand = investmentBand;
+        this.audience = audience;
+        this.categoryCodes = categoryCodes;
+        this.sectorCodes = sectorCodes;
+        this.difficultyCodes = difficultyCodes;
+        this.locationCodes = locationCodes;
+        this.audienceCodes = audienceCodes;
+        this.neighbours = neighbours;
+        this.neighbourScores = neighbourScores;
+        this.popular = popular;
+    }
+
+    /**
+     * Build the index.
+     * ideaRows: [id, category, sector, difficultyLevel, location, investmentNeeded]
+     * audienceRows: [ideaId, targetAudience]
+     * likesByUser: idea ids each user saved or rated highly
+     */
+    static RecommendationIndex build(List<Object[]> ideaRows, List<Object[]> audienceRows,
+                                     Map<Long, List<Long>> likesByUser) {
+        int n = ideaRows.size();
+        long[] ideaIds = new long[n];
+        for (int i = 0; i < n; i++) {
+            ideaIds[i] = ((Number) ideaRows.get(i)[0]).longValue();
+        }
+        Arrays.sort(ideaIds);
+
+        Map<String, Integer> categoryCodes = new HashMap<>();
+        Map<String, Integer> sectorCodes = new HashMap<>();
+        Map<String, Integer> difficultyCodes = new HashMap<>();
+        Map<String, Integer> locationCodes = new HashMap<>();
+        Map<String, Integer> audienceCodes = new HashMap<>();
+
+        int[] category = new int[n];
+        int[] sector = new int[n];
+        int[] difficulty = new int[n];
+        int[] location = new int[n];
+        int[] investmentBand = new int[n];
+        for (Object[] row : ideaRows) {
+            int i = Arrays.binarySearch(ideaIds, ((Number) row[0]).longValue());
+            category[i] = code(categoryCodes, (String) row[1]);
+            sector[i] = code(sectorCodes, (String) row[2]);
+            difficulty[i] = code(difficultyCodes, (String) row[3]);
+            location[i] = code(locationCodes, (String) row[4]);
+            investmentBand[i] = investmentBand((BigDecimal) row[5]);
+        }
+
+        List<List<Integer>> audienceLists = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            audienceLists.add(new ArrayList<>(2));
+        }
+        for (Object[] row : audienceRows) {
+            int i = Arrays.binarySearch(ideaIds, ((Number) row[0]).longValue());
+            int c = code(audienceCodes, (String) row[1]);
+            if (i >= 0 && c >= 0) {
+                audienceLists.get(i).add(c);
+            }
+        }
+        int[][] audience = new int[n][];
+        for (int i = 0; i < n; i++) {
+            audience[i] = audienceLists.get(i).stream().mapToInt(Integer::intValue).distinct().sorted().toArray();
+        }
+
+        // Co-like counts, keyed by the packed (lower, higher) index pair
+        int[] likeCounts = new int[n];
+        Map<Long, Integer> coLikes = new HashMap<>();
+        for (List<Long> likes : likesByUser.values()) {
+            int[] liked = likes.stream()
+                    .mapToInt(id -> Arrays.binarySearch(ideaIds, id))
+                    .filter(i -> i >= 0)
+                    .distinct()
+                    .limit(MAX_LIKES_PER_USER)
+                    .toArray();
+            for (int i : liked) {
+                likeCounts[i]++;
+            }
+            int[] paired = sample(liked, CO_LIKE_SAMPLE);
+            for (int a = 0; a < paired.length; a++) {
+                for (int b = a + 1; b < paired.length; b++) {
+                    int lo = Math.min(paired[a], paired[b]);
+                    int hi = Math.max(paired[a], paired[b]);
+                    coLikes.merge(((long) lo << 32) | hi, 1, Integer::sum);
+                }
+            }
+        }
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(likeCounts[b], likeCounts[a]));
+        int[] popular = Arrays.stream(order).limit(POPULAR).mapToInt(Integer::intValue).toArray();
+
+        int[] neighbours = new int[n * NEIGHBOURS];
+        float[] neighbourScores = new float[n * NEIGHBOURS];
+        Arrays.fill(neighbours, -1);
+
+        RecommendationIndex index = new RecommendationIndex(ideaIds, category, sector, difficulty, location,
+                investmentBand, audience, categoryCodes, sectorCodes, difficultyCodes, locationCodes, audienceCodes,
+                neighbours, neighbourScores, popular);
+        index.linkNeighbours(coLikes, likeCounts);
+        return index;
+    }
+
+    // Keep the NEIGHBOURS best-scoring candidates for every idea
+    private void linkNeighbours(Map<Long, Integer> coLikes, int[] likeCounts) {
+        int n = ideaIds.length;
+
+        // Per idea, the ideas liked together with it and their co-like cosine
+        int[] partnerCounts = new int[n];
+        for (long key : coLikes.keySet()) {
+            partnerCounts[(int) (key >>> 32)]++;
+            partnerCounts[(int) key]++;
+        }
+        int[][] partners = new int[n][];
+        float[][] partnerScores = new float[n][];
+        for (int i = 0; i < n; i++) {
+            partners[i] = new int[partnerCounts[i]];
+            partnerScores[i] = new float[partnerCounts[i]];
+            partnerCounts[i] = 0;
+        }
+        for (Map.Entry<Long, Integer> entry : coLikes.entrySet()) {
+            int lo = (int) (entry.getKey() >>> 32);
+            int hi = (int) entry.getKey().longValue();
+            float cosine = (float) (entry.getValue() / Math.sqrt((double) likeCounts[lo] * likeCounts[hi]));
+            partners[lo][partnerCounts[lo]] = hi;
+            partnerScores[lo][partnerCounts[lo]++] = cosine;
+            partners[hi][partnerCounts[hi]] = lo;
+            partnerScores[hi][partnerCounts[hi]++] = cosine;
+        }
+
+        // Candidates share a category or sector, or were liked together
+        int[][] byCategory = postings(category, categoryCodes.size(), sector);
+        int[][] bySector = postings(sector, sectorCodes.size(), category);
+        int[] categoryPosition = positions(byCategory, n);
+        int[] sectorPosition = positions(bySector, n);
+
+        int[] seen = new int[n];
+        Arrays.fill(seen, -1);
+        float[] coLike = new float[n];
+        TopNeighbours top = new TopNeighbours();
+
+        for (int i = 0; i < n; i++) {
+            for (int k = 0; k < partners[i].length; k++) {
+                coLike[partners[i][k]] = partnerScores[i][k];
+            }
+            top.reset(i * NEIGHBOURS);
+            seen[i] = i;
+
+            if (category[i] >= 0) {
+                offerWindow(i, byCategory[category[i]], categoryPosition[i], seen, coLike, top);
+            }
+            if (sector[i] >= 0) {
+                offerWindow(i, bySector[sector[i]], sectorPosition[i], seen, coLike, top);
+            }
+            for (int j : partners[i]) {
+                offer(i, j, seen, coLike, top);
+            }
+
+            sortNeighbours(neighbours, neighbourScores, i * NEIGHBOURS);
+            for (int j : partners[i]) {
+                coLike[j] = 0f;
+            }
+        }
+    }
+
+    // The FACET_CANDIDATES entries of a posting list centred on idea i's own position
+    private void offerWindow(int i, int[] posting, int position, int[] seen, float[] coLike, TopNeighbours top) {
+        int from = Math.max(0, Math.min(position - FACET_CANDIDATES / 2, posting.length - FACET_CANDIDATES));
+        int to = Math.min(posting.length, from + FACET_CANDIDATES);
+        for (int k = from; k < to; k++) {
+            offer(i, posting[k], seen, coLike, top);
+        }
+    }
+
+    private void offer(int i, int j, int[] seen, float[] coLike, TopNeighbours top) {
+        if (seen[j] == i) {
+            return;
+        }
+        seen[j] = i;
+        float score = CONTENT_WEIGHT * contentSimilarity(i, j) + CO_LIKE_WEIGHT * coLike[j];
+        if (score > 0f) {
+            top.offer(j, score);
+        }
+    }
+
+    private float contentSimilarity(int i, int j) {
+        float content = 0f;
+        if (category[i] >= 0 && category[i] == category[j]) content += 0.25f;
+        if (sector[i] >= 0 && sector[i] == sector[j]) content += 0.25f;
+        if (difficulty[i] >= 0 && difficulty[i] == difficulty[j]) content += 0.1f;
+        if (location[i] >= 0 && location[i] == location[j]) content += 0.1f;
+        content += 0.2f * jaccard(audience[i], audience[j]);
+        if (investmentBand[i] >= 0 && investmentBand[j] >= 0) {
+            int distance = Math.abs(investmentBand[i] - investmentBand[j]);
+            content += distance == 0 ? 0.1f : distance == 1 ? 0.05f : 0f;
+        }
+        return content;
+    }
+
+    /**
+     * Top ideas for a user.
+     * seeds: idea id to weight (saved ideas positive, ratings scaled to [-1, 1])
+     * browsed: facet name to value, as sent by the listing filters
+     */
+    long[] recommend(Map<Long, Float> seeds, Map<String, String> browsed, int limit) {
+        int n = ideaIds.length;
+        if (n == 0 || limit <= 0) {
+            return new long[0];
+        }
+
+        FacetProfile profile = new FacetProfile();
+        boolean[] excluded = new boolean[n];
+        float[] scores = new float[n];
+        boolean[] touched = new boolean[n];
+        int[] candidates = new int[Math.min(n, seeds.size() * NEIGHBOURS)];
+        int candidateCount = 0;
+
+        for (Map.Entry<Long, Float> seed : seeds.entrySet()) {
+            int s = Arrays.binarySearch(ideaIds, seed.getKey());
+            if (s < 0) {
+                continue;
+            }
+            excluded[s] = true;
+            float weight = seed.getValue();
+            if (weight > 0) {
+                profile.add(s, weight);
+            }
+            int base = s * NEIGHBOURS;
+            for (int k = 0; k < NEIGHBOURS && neighbours[base + k] >= 0; k++) {
+                int c = neighbours[base + k];
+                scores[c] += weight * neighbourScores[base + k];
+                if (!touched[c]) {
+                    touched[c] = true;
+                    candidates[candidateCount++] = c;
+                }
+            }
+        }
+        profile.addBrowsed(browsed);
+
+        // Cold start: fall back to popular ideas and the browsed category and sector
+        if (candidateCount < limit) {
+            candidates = Arrays.copyOf(candidates, candidateCount + popular.length + 2 * POPULAR);
+            for (int c : popular) {
+                if (!touched[c]) {
+                    touched[c] = true;
+                    candidates[candidateCount++] = c;
+                }
+            }
+            candidateCount = addPostings(candidates, candidateCount, touched, category, profile.browsedCategory);
+            candidateCount = addPostings(candidates, candidateCount, touched, sector, profile.browsedSector);
+        }
+
+        int kept = 0;
+        for (int k = 0; k < candidateCount; k++) {
+            int c = candidates[k];
+            if (excluded[c]) {
+                continue;
+            }
+            scores[c] += FACET_WEIGHT * profile.affinity(c);
+            candidates[kept++] = c;
+        }
+
+        final float[] finalScores = scores;
+        int[] ranked = Arrays.stream(candidates, 0, kept)
+                .boxed()
+                .sorted((a, b) -> Float.compare(finalScores[b], finalScores[a]))
+                .limit(limit)
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        long[] result = new long[ranked.length];
+        for (int k = 0; k < ranked.length; k++) {
+            result[k] = ideaIds[ranked[k]];
+        }
+        return result;
+    }
+
+    int size() {
+        return ideaIds.length;
+    }
+
+    private static void sortNeighbours(int[] neighbours, float[] neighbourScores, int base) {
+        // Insertion sort by score descending; empty slots (-1) sink to the end
+        for (int a = base + 1; a < base + NEIGHBOURS; a++) {
+            int id = neighbours[a];
+            float score = id < 0 ? Float.NEGATIVE_INFINITY : neighbourScores[a];
+            int b = a - 1;
+            while (b >= base && (neighbours[b] < 0 ? Float.NEGATIVE_INFINITY : neighbourScores[b]) < score) {
+                neighbours[b + 1] = neighbours[b];
+                neighbourScores[b + 1] = neighbourScores[b];
+                b--;
+            }
+            neighbours[b + 1] = id;
+            neighbourScores[b + 1] = id < 0 ? 0f : score;
+        }
+    }
+
+    private static float jaccard(int[] a, int[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return 0f;
+        }
+        int common = 0, x = 0, y = 0;
+        while (x < a.length && y < b.length) {
+            if (a[x] == b[y]) { common++; x++; y++; }
+            else if (a[x] < b[y]) x++;
+            else y++;
+        }
+        return (float) common / (a.length + b.length - common);
+    }
+
+    // Ideas per code, each list ordered by the other main facet, then investment band, difficulty and location
+    private int[][] postings(int[] codes, int size, int[] other) {
+        Integer[] order = new Integer[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int c = Integer.compare(other[a], other[b]);
+            if (c == 0) c = Integer.compare(investmentBand[a], investmentBand[b]);
+            if (c == 0) c = Integer.compare(difficulty[a], difficulty[b]);
+            if (c == 0) c = Integer.compare(location[a], location[b]);
+            return c;
+        });
+        int[] counts = new int[size];
+        for (int c : codes) {
+            if (c >= 0) counts[c]++;
+        }
+        int[][] postings = new int[size][];
+        for (int c = 0; c < size; c++) {
+            postings[c] = new int[counts[c]];
+            counts[c] = 0;
+        }
+        for (int i : order) {
+            int c = codes[i];
+            if (c >= 0) postings[c][counts[c]++] = i;
+        }
+        return postings;
+    }
+
+    private static int[] positions(int[][] postings, int n) {
+        int[] positions = new int[n];
+        for (int[] posting : postings) {
+            for (int k = 0; k < posting.length; k++) {
+                positions[posting[k]] = k;
+            }
+        }
+        return positions;
+    }
+
+    // Evenly spaced, so the sample does not favour the oldest or newest likes
+    private static int[] sample(int[] values, int limit) {
+        if (values.length <= limit) {
+            return values;
+        }
+        int[] sample = new int[limit];
+        for (int k = 0; k < limit; k++) {
+            sample[k] = values[(int) ((long) k * values.length / limit)];
+        }
+        return sample;
+    }
+
+    private static int addPostings(int[] candidates, int count, boolean[] touched, int[] codes, int code) {
+        if (code < 0) {
+            return count;
+        }
+        int added = 0;
+        for (int i = 0; i < codes.length && added < POPULAR; i++) {
+            if (codes[i] == code && !touched[i]) {
+                touched[i] = true;
+                candidates[count++] = i;
+                added++;
+            }
+        }
+        return count;
+    }
+
+    private static int code(Map<String, Integer> dictionary, String value) {
+        if (value == null || value.isBlank()) {
+            return -1;
+        }
+        return dictionary.computeIfAbsent(value.trim(), key -> dictionary.size());
+    }
+
+    private static int lookup(Map<String, Integer> dictionary, String value) {
+        if (value == null || value.isBlank()) {
+            return -1;
+        }
+        return dictionary.getOrDefault(value.trim(), -1);
+    }
+
+    // Half-decade bands on a log scale: 10k and 30k land in neighbouring bands
+    static int investmentBand(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            return -1;
+        }
+        int band = (int) Math.floor(Math.log10(amount.doubleValue()) * 2);
+        return Math.max(0, Math.min(INVESTMENT_BANDS - 1, band));
+    }
+
+    /**
+     * Fixed-size top-N over one idea's slice of the neighbour arrays.
+     * Tracks the weakest kept slot so most candidates are rejected with
+     * a single comparison.
+     */
+    private final class TopNeighbours {
+        private int base;
+        private int filled;
+        private int weakest;
+
+        void reset(int base) {
+            this.base = base;
+            this.filled = 0;
+            this.weakest = base;
+        }
+
+        void offer(int idea, float score) {
+            if (filled < NEIGHBOURS) {
+                int slot = base + filled++;
+                neighbours[slot] = idea;
+                neighbourScores[slot] = score;
+                if (filled == 1 || score < neighbourScores[weakest]) {
+                    weakest = slot;
+                }
+                return;
+            }
+            if (score <= neighbourScores[weakest]) {
+                return;
+            }
+            neighbours[weakest] = idea;
+            neighbourScores[weakest] = score;
+            for (int k = base; k < base + NEIGHBOURS; k++) {
+                if (neighbourScores[k] < neighbourScores[weakest]) {
+                    weakest = k;
+                }
+            }
+        }
+    }
+
+    /**
+     * Share of the user's interest in each facet value, taken from the
+     * seed ideas and from the filters they browse with
+     */
+    private final class FacetProfile {
+        private final float[] categories = new float[categoryCodes.size()];
+        private final float[] sectors = new float[sectorCodes.size()];
+        private final float[] difficulties = new float[difficultyCodes.size()];
+        private final float[] locations = new float[locationCodes.size()];
+        private final float[] audiences = new float[audienceCodes.size()];
+        private final float[] bands = new float[INVESTMENT_BANDS];
+        private float total;
+        private int browsedCategory = -1;
+        private int browsedSector = -1;
+
+        void add(int idea, float weight) {
+            total += weight;
+            if (category[idea] >= 0) categories[category[idea]] += weight;
+            if (sector[idea] >= 0) sectors[sector[idea]] += weight;
+            if (difficulty[idea] >= 0) difficulties[difficulty[idea]] += weight;
+            if (location[idea] >= 0) locations[location[idea]] += weight;
+            if (investmentBand[idea] >= 0) bands[investmentBand[idea]] += weight;
+            for (int a : audience[idea]) audiences[a] += weight;
+        }
+
+        void addBrowsed(Map<String, String> browsed) {
+            if (browsed == null || browsed.isEmpty()) {
+                return;
+            }
+            total += 1f;
+            browsedCategory = lookup(categoryCodes, browsed.get("category"));
+            browsedSector = lookup(sectorCodes, browsed.get("sector"));
+            if (browsedCategory >= 0) categories[browsedCategory] += 1f;
+            if (browsedSector >= 0) sectors[browsedSector] += 1f;
+            int d = lookup(difficultyCodes, browsed.get("difficultyLevel"));
+            if (d >= 0) difficulties[d] += 1f;
+            int l = lookup(locationCodes, browsed.get("location"));
+            if (l >= 0) locations[l] += 1f;
+            int a = lookup(audienceCodes, browsed.get("targetAudience"));
+            if (a >= 0) audiences[a] += 1f;
+            String maxInvestment = browsed.get("maxInvestment");
+            if (maxInvestment != null && !maxInvestment.isBlank()) {
+                try {
+                    int band = investmentBand(new BigDecimal(maxInvestment.trim()));
+                    if (band >= 0) bands[band] += 1f;
+                } catch (NumberFormatException e) {
+                    // Ignore malformed amounts; the other facets still apply
+                }
+            }
+        }
+
+        float affinity(int idea) {
+            if (total <= 0f) {
+                return 0f;
+            }
+            float score = 0f;
+            if (category[idea] >= 0) score += 0.3f * categories[category[idea]];
+            if (sector[idea] >= 0) score += 0.3f * sectors[sector[idea]];
+            if (difficulty[idea] >= 0) score += 0.1f * difficulties[difficulty[idea]];
+            if (location[idea] >= 0) score += 0.1f * locations[location[idea]];
+            if (investmentBand[idea] >= 0) score += 0.1f * bands[investmentBand[idea]];
+            float bestAudience = 0f;
+            for (int a : audience[idea]) bestAudience = Math.max(bestAudience, audiences[a]);
+            score += 0.1f * bestAudience;
+            return score / total;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.ideafactory.service;
+
+import com.ideafactory.model.Idea;
+import com.ideafactory.repository.IdeaRepository;
+import com.ideafactory.repository.SavedIdeaRepository;
+import com.ideafactory.repository.UserReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recommendation Service
+ * "Recommended for you" feed. The item-item index is rebuilt offline on a
+ * schedule; serving scores the user's saved and rated ideas against it in
+ * memory and loads only the chosen ideas.
+ */
+@Service
+public class RecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationService.class);
+
+    // Ratings at or above this count as a like when building co-like similarity
+    private static final int LIKED_RATING = 4;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private SavedIdeaRepository savedIdeaRepository;
+
+    @Autowired
+    private UserReviewRepository userReviewRepository;
+
+    @Autowired
+    private SavedIdeaService savedIdeaService;
+
+    private volatile RecommendationIndex index;
+
+    @Scheduled(initialDelayString = "${app.recommendations.initial-delay-ms:10000}",
+               fixedDelayString = "${app.recommendations.rebuild-interval-ms:900000}")
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+
+        Map<Long, List<Long>> likesByUser = new HashMap<>();
+        addLikes(likesByUser, savedIdeaRepository.findAllUserIdeaPairs());
+        addLikes(likesByUser, userReviewRepository.findUserIdeaPairsWithRatingAtLeast(LIKED_RATING));
+
+        RecommendationIndex rebuilt = RecommendationIndex.build(
+                ideaRepository.findActiveFacetRows(),
+                ideaRepository.findActiveTargetAudienceRows(),
+                likesByUser);
+        index = rebuilt;
+
+        logger.info("Rebuilt recommendation index: {} ideas, {} users in {} ms",
+                rebuilt.size(), likesByUser.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Recommended ideas for a user, best first.
+     * browsedFacets holds the listing filters the user is browsing with
+     * (category, sector, difficultyLevel, location, targetAudience, maxInvestment).
+     */
+    public List<Idea> getRecommendations(Long userId, Map<String, String> browsedFacets, int limit) {
+        RecommendationIndex current = index;
+        if (current == null) {
+            return Collections.emptyList();
+        }
+
+        // Saved ideas count fully; ratings pull towards (5) or away from (1) similar ideas
+        Map<Long, Float> seeds = new HashMap<>();
+        for (long ideaId : savedIdeaService.getSavedIdeaIds(userId)) {
+            seeds.put(ideaId, 1f);
+        }
+        for (Object[] row : userReviewRepository.findRatingsByUserId(userId)) {
+            Long ideaId = ((Number) row[0]).longValue();
+            Integer rating = (Integer) row[1];
+            if (rating != null) {
+                seeds.merge(ideaId, (rating - 3) / 2f, Float::sum);
+            }
+        }
+
+        long[] ideaIds = current.recommend(seeds, browsedFacets, limit);
+        return loadInOrder(ideaIds);
+    }
+
+    private List<Idea> loadInOrder(long[] ideaIds) {
+        if (ideaIds.length == 0) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = new ArrayList<>(ideaIds.length);
+        for (long id : ideaIds) {
+            ids.add(id);
+        }
+        Map<Long, Idea> byId = new HashMap<>();
+        for (Idea idea : ideaRepository.findAllById(ids)) {
+            byId.put(idea.getId(), idea);
+        }
+        List<Idea> ideas = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Idea idea = byId.get(id);
+            if (idea != null && idea.isActive()) {
+                ideas.add(idea);
+            }
+        }
+        return ideas;
+    }
+
+    private static void addLikes(Map<Long, List<Long>> likesByUser, List<Object[]> pairs) {
+        for (Object[] pair : pairs) {
+            Long userId = ((Number) pair[0]).longValue();
+            Long ideaId = ((Number) pair[1]).longValue();
+            likesByUser.computeIfAbsent(userId, id -> new ArrayList<>()).add(ideaId);
+        }
+    }
+}
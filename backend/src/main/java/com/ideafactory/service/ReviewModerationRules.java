@@ -0,0 +1,153 @@
+package com.ideafactory.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ideafactory.model.IdeaReview;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Review Moderation Rules
+ * Decides at ingestion whether a review is approved straight away, rejected
+ * outright or left in the manual queue. Rules run cheapest first and the
+ * first one that fires wins:
+ * blocked keyword, too many links, reviewer over the rate limit, the same
+ * comment posted too often (copy-paste spam waves), hold keyword, then
+ * auto-approve if the comment is long enough.
+ *
+ * Rate and duplicate counters are per-instance tumbling windows kept in
+ * Caffeine, so a burst is caught without touching the database.
+ */
+@Component
+public class ReviewModerationRules {
+
+    public enum Verdict { APPROVE, REJECT, PENDING }
+
+    public record Decision(Verdict verdict, String reason) {}
+
+    private static final Pattern LINK = Pattern.compile("(?i)\\b(?:https?://|www\\.)");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.reviews.moderation.blocked-keywords:}")
+    private List<String> blockedKeywords;
+
+    @Value("${app.reviews.moderation.hold-keywords:}")
+    private List<String> holdKeywords;
+
+    @Value("${app.reviews.moderation.max-links:1}")
+    private int maxLinks;
+
+    @Value("${app.reviews.moderation.max-reviews-per-reviewer:5}")
+    private int maxReviewsPerReviewer;
+
+    @Value("${app.reviews.moderation.max-duplicate-comments:2}")
+    private int maxDuplicateComments;
+
+    @Value("${app.reviews.moderation.window-minutes:10}")
+    private long windowMinutes;
+
+    @Value("${app.reviews.moderation.auto-approve:true}")
+    private boolean autoApprove;
+
+    @Value("${app.reviews.moderation.auto-approve-min-length:40}")
+    private int autoApproveMinLength;
+
+    private Pattern blockedPattern;
+    private Pattern holdPattern;
+    private Cache<String, AtomicInteger> reviewsByReviewer;
+    private Cache<String, AtomicInteger> commentsByText;
+
+    @PostConstruct
+    void init() {
+        blockedPattern = keywordPattern(blockedKeywords);
+        holdPattern = keywordPattern(holdKeywords);
+        // expireAfterWrite is not refreshed by incrementing, so each key counts a fixed window
+        reviewsByReviewer = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofMinutes(windowMinutes))
+                .build();
+        commentsByText = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofMinutes(windowMinutes))
+                .build();
+    }
+
+    public Decision evaluate(IdeaReview review) {
+        Decision decision = decide(review);
+        meterRegistry.counter("reviews.moderation.verdicts", "verdict", decision.verdict().name()).increment();
+        return decision;
+    }
+
+    private Decision decide(IdeaReview review) {
+        String comment = review.getComment() != null ? review.getComment() : "";
+        String text = (review.getReviewerName() + " " + comment + " " + review.getReviewerWebsite())
+                .toLowerCase(Locale.ROOT);
+
+        if (blockedPattern != null && blockedPattern.matcher(text).find()) {
+            return new Decision(Verdict.REJECT, "Contains blocked content");
+        }
+        if (countLinks(comment) > maxLinks) {
+            return new Decision(Verdict.REJECT, "Too many links");
+        }
+        // Counted for every submission, so a rejected spammer keeps hitting the limit
+        if (increment(reviewsByReviewer, reviewerKey(review)) > maxReviewsPerReviewer) {
+            return new Decision(Verdict.REJECT, "Too many reviews in a short time");
+        }
+        String normalized = NON_WORD.matcher(comment.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+        if (!normalized.isEmpty() && increment(commentsByText, normalized) > maxDuplicateComments) {
+            return new Decision(Verdict.REJECT, "Duplicate review");
+        }
+        if (holdPattern != null && holdPattern.matcher(text).find()) {
+            return new Decision(Verdict.PENDING, "Held for review");
+        }
+        if (autoApprove && normalized.length() >= autoApproveMinLength && countLinks(comment) == 0) {
+            return new Decision(Verdict.APPROVE, null);
+        }
+        return new Decision(Verdict.PENDING, null);
+    }
+
+    private static int increment(Cache<String, AtomicInteger> counters, String key) {
+        return counters.get(key, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private static String reviewerKey(IdeaReview review) {
+        String email = review.getReviewerEmail();
+        if (email != null && !email.isBlank()) {
+            return "email:" + email.trim().toLowerCase(Locale.ROOT);
+        }
+        return "name:" + String.valueOf(review.getReviewerName()).trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int countLinks(String comment) {
+        Matcher matcher = LINK.matcher(comment);
+        int links = 0;
+        while (matcher.find()) {
+            links++;
+        }
+        return links;
+    }
+
+    // One alternation per list, matched on word boundaries; null when the list is empty
+    private static Pattern keywordPattern(List<String> keywords) {
+        String alternation = keywords.stream()
+                .map(String::trim)
+                .filter(keyword -> !keyword.isEmpty())
+                .map(keyword -> Pattern.quote(keyword.toLowerCase(Locale.ROOT)))
+                .collect(Collectors.joining("|"));
+        return alternation.isEmpty() ? null : Pattern.compile("\\b(?:" + alternation + ")\\b");
+    }
+}
@@ -0,0 +1,56 @@
+package com.ideafactory.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Saved Idea Id Cache
+ * Per-user set of saved idea ids held as a sorted long[] so "is saved?"
+ * checks for a page of idea cards are a binary search each, with no
+ * boxing and no database round trip. Arrays are never mutated, so
+ * readers need no locking. A save or unsave drops the user's entry
+ * rather than patching it: a load racing the write may have read the
+ * rows before it committed, and invalidating waits for that load.
+ */
+@Component
+public class SavedIdeaIdCache {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Cache<Long, long[]> savedIds = Caffeine.newBuilder()
+            .maximumSize(50_000)
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
+
+    // Saved ids for a user, loading them on first use
+    public long[] get(Long userId, Function<Long, List<Long>> loader) {
+        return savedIds.get(userId, id -> toSortedArray(loader.apply(id)));
+    }
+
+    public boolean contains(long[] ids, long ideaId) {
+        return Arrays.binarySearch(ids, ideaId) >= 0;
+    }
+
+    // Call once the save or unsave has committed; the next access reloads
+    public void invalidate(Long userId) {
+        savedIds.invalidate(userId);
+    }
+
+    private static long[] toSortedArray(List<Long> ideaIds) {
+        if (ideaIds.isEmpty()) {
+            return EMPTY;
+        }
+        long[] ids = new long[ideaIds.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = ideaIds.get(i);
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+}
@@ -0,0 +1,112 @@
+package com.ideafactory.service;
+
+import com.ideafactory.model.Idea;
+import com.ideafactory.model.SavedIdea;
+import com.ideafactory.model.User;
+import com.ideafactory.repository.IdeaRepository;
+import com.ideafactory.repository.SavedIdeaRepository;
+import com.ideafactory.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Saved Idea Service
+ * Lets users bookmark ideas. Listings fetch the idea with the saved row;
+ * "is saved?" checks are answered from SavedIdeaIdCache.
+ */
+@Service
+public class SavedIdeaService {
+
+    private static final int MAX_RECENT = 50;
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private SavedIdeaRepository savedIdeaRepository;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SavedIdeaIdCache savedIdeaIdCache;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private UserDashboardService userDashboardService;
+
+    // Repository calls commit on their own, so the cache is only invalidated after the database is updated
+    public SavedIdea saveIdea(Long userId, Long ideaId, String notes) {
+        Idea idea = ideaRepository.findById(ideaId)
+                .orElseThrow(() -> new RuntimeException("Idea not found"));
+
+        SavedIdea savedIdea = savedIdeaRepository.findByUserIdAndIdeaId(userId, ideaId).orElse(null);
+        boolean newlySaved = savedIdea == null;
+        if (newlySaved) {
+            User user = userRepository.getReferenceById(userId);
+            savedIdea = new SavedIdea(user, idea);
+        }
+        savedIdea.setNotes(notes);
+        savedIdea = savedIdeaRepository.save(savedIdea);
+        if (newlySaved) {
+            trendingService.recordSave(ideaId);
+            userDashboardService.invalidate(userId);
+        }
+
+        savedIdeaIdCache.invalidate(userId);
+        return savedIdea;
+    }
+
+    public boolean unsaveIdea(Long userId, Long ideaId) {
+        boolean removed = savedIdeaRepository.deleteByUserIdAndIdeaId(userId, ideaId) > 0;
+        savedIdeaIdCache.invalidate(userId);
+        if (removed) {
+            userDashboardService.invalidate(userId);
+        }
+        return removed;
+    }
+
+    public Page<SavedIdea> getSavedIdeas(Long userId, Pageable pageable) {
+        return savedIdeaRepository.findWithIdeaByUserId(userId, pageable);
+    }
+
+    public List<SavedIdea> getRecentSavedIdeas(Long userId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_RECENT));
+        return savedIdeaRepository.findRecentByUserId(userId, PageRequest.of(0, size));
+    }
+
+    public long getSavedCount(Long userId) {
+        return getSavedIdeaIds(userId).length;
+    }
+
+    public long[] getSavedIdeaIds(Long userId) {
+        return savedIdeaIdCache.get(userId, savedIdeaRepository::findIdeaIdsByUserId);
+    }
+
+    public boolean isSaved(Long userId, Long ideaId) {
+        return savedIdeaIdCache.contains(getSavedIdeaIds(userId), ideaId);
+    }
+
+    // Subset of the given idea ids the user has saved, e.g. for flagging a page of cards
+    public List<Long> filterSaved(Long userId, Collection<Long> ideaIds) {
+        long[] savedIds = getSavedIdeaIds(userId);
+        List<Long> saved = new ArrayList<>();
+        for (Long ideaId : ideaIds) {
+            if (ideaId != null && savedIdeaIdCache.contains(savedIds, ideaId)) {
+                saved.add(ideaId);
+            }
+        }
+        return saved;
+    }
+}
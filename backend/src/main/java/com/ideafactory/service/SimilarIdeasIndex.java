@@ -0,0 +1,478 @@
+package com.ideafactory.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Similar Ideas Index
+ * Nearest-neighbour index over idea text (title, description, special
+ * advantages) and attributes (category, sector, investment band).
+ *
+ * Each idea gets a TF-IDF vector over its strongest terms and a MinHash
+ * signature over those terms plus attribute pseudo-terms. Signatures are
+ * split into LSH bands; ideas sharing a band bucket become candidates and
+ * are ranked by TF-IDF cosine blended with attribute overlap. Buckets from
+ * the last full build live in one sorted long[]; ideas added since are
+ * bucketed in a small side map until the next rebuild. Each idea keeps its
+ * current top list, so an upsert only links the new idea into the lists it
+ * outranks instead of recomputing them.
+ *
+ * Not thread-safe; SimilarIdeasService serializes access.
+ */
+final class SimilarIdeasIndex {
+
+    static final int NEIGHBOURS = 10;
+
+    private static final int HASHES = 40;
+    private static final int ROWS_PER_BAND = 2;
+    private static final int BANDS = HASHES / ROWS_PER_BAND;
+    private static final int VECTOR_TERMS = 48;
+    private static final int SIGNATURE_TERMS = 24;
+    private static final int MAX_BUCKET_SCAN = 200;
+    private static final int MAX_CANDIDATES = 400;
+    private static final long PRIME = 2147483647L;
+
+    private static final float TEXT_WEIGHT = 0.7f;
+    private static final float ATTRIBUTE_WEIGHT = 0.3f;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "with", "that", "this", "from", "are", "was", "were", "will", "can",
+            "you", "your", "our", "their", "they", "them", "has", "have", "had", "not", "but", "all",
+            "any", "its", "into", "also", "more", "most", "such", "than", "then", "there", "these",
+            "those", "which", "who", "what", "when", "where", "how", "use", "using", "used", "per");
+
+    // MinHash permutations; fixed seed so signatures are comparable across rebuilds
+    private final long[] hashA = new long[HASHES];
+    private final long[] hashB = new long[HASHES];
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private int[] documentFrequency = new int[1024];
+    private int documents;
+
+    private final Map<Long, Integer> indexOf = new HashMap<>();
+    private long[] ideaIds;
+    private int[][] terms;
+    private float[][] weights;
+    private int[] signatures;
+    private int[] category;
+    private int[] sector;
+    private int[] band;
+    private boolean[] removed;
+
+    // Current top list per slot, best first: NEIGHBOURS slots and scores each
+    private int[] topSlots;
+    private float[] topScores;
+    private byte[] topCount;
+    private float[] weakestScore;
+    private int size;
+
+    private long[] bandEntries = new long[0];
+    private final Map<Integer, List<Integer>> recentBuckets = new HashMap<>();
+    private int addedSinceBuild;
+
+    private int[] stamps;
+    private int stamp;
+
+    /**
+     * Text and attributes of one idea
+     */
+    record Document(long ideaId, String text, String category, String sector, BigDecimal investment) {}
+
+    private SimilarIdeasIndex(int capacity) {
+        Random random = new Random(0x5EED);
+        for (int h = 0; h < HASHES; h++) {
+            hashA[h] = 1 + random.nextInt((int) (PRIME - 1));
+            hashB[h] = random.nextInt((int) PRIME);
+        }
+        capacity = Math.max(capacity, 16);
+        ideaIds = new long[capacity];
+        terms = new int[capacity][];
+        weights = new float[capacity][];
+        signatures = new int[capacity * HASHES];
+        category = new int[capacity];
+        sector = new int[capacity];
+        band = new int[capacity];
+        removed = new boolean[capacity];
+        topSlots = new int[capacity * NEIGHBOURS];
+        topScores = new float[capacity * NEIGHBOURS];
+        topCount = new byte[capacity];
+        weakestScore = new float[capacity];
+        stamps = new int[capacity];
+    }
+
+    static SimilarIdeasIndex build(List<Document> documents) {
+        SimilarIdeasIndex index = new SimilarIdeasIndex(documents.size());
+
+        // Document frequencies first, so every vector is weighted against the whole corpus
+        List<Map<Integer, Integer>> termCounts = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            Map<Integer, Integer> counts = index.countTerms(document.text());
+            index.countDocument(counts);
+            termCounts.add(counts);
+        }
+        for (int d = 0; d < documents.size(); d++) {
+            index.append(documents.get(d), termCounts.get(d));
+        }
+
+        long[] entries = new long[index.size * BANDS];
+        for (int i = 0; i < index.size; i++) {
+            for (int b = 0; b < BANDS; b++) {
+                entries[i * BANDS + b] = ((long) index.bucket(i, b) << 32) | i;
+            }
+        }
+        Arrays.sort(entries);
+        index.bandEntries = entries;
+        return index;
+    }
+
+    // Neighbour lists for every idea in the index
+    Map<Long, long[]> allNeighbours() {
+        Map<Long, long[]> neighbours = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            if (!removed[i]) {
+                computeNeighbours(i, null);
+                neighbours.put(ideaIds[i], storedNeighbours(i));
+            }
+        }
+        return neighbours;
+    }
+
+    /**
+     * Add or replace an idea. Returns the idea ids whose neighbour lists
+     * changed: the idea itself and every candidate it now outranks a
+     * current neighbour of.
+     */
+    List<Long> upsert(Document document) {
+        Integer previous = indexOf.get(document.ideaId());
+        if (previous != null) {
+            removed[previous] = true;
+        }
+        Map<Integer, Integer> counts = countTerms(document.text());
+        if (previous == null) {
+            countDocument(counts);
+        }
+        int i = append(document, counts);
+        for (int b = 0; b < BANDS; b++) {
+            recentBuckets.computeIfAbsent(bucket(i, b), key -> new ArrayList<>(2)).add(i);
+        }
+        addedSinceBuild++;
+
+        List<Integer> improved = new ArrayList<>();
+        computeNeighbours(i, improved);
+        List<Long> affected = new ArrayList<>(improved.size() + 1);
+        affected.add(document.ideaId());
+        for (int c : improved) {
+            affected.add(ideaIds[c]);
+        }
+        return affected;
+    }
+
+    void remove(long ideaId) {
+        Integer i = indexOf.remove(ideaId);
+        if (i != null) {
+            removed[i] = true;
+        }
+    }
+
+    long[] neighboursOf(long ideaId) {
+        Integer i = indexOf.get(ideaId);
+        return i == null ? new long[0] : storedNeighbours(i);
+    }
+
+    int addedSinceBuild() {
+        return addedSinceBuild;
+    }
+
+    int size() {
+        return indexOf.size();
+    }
+
+    // Fills slot i's top list; with improved set, also links i into the lists it outranks
+    private void computeNeighbours(int i, List<Integer> improved) {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+        stamps[i] = stamp;
+
+        int[] best = new int[NEIGHBOURS];
+        float[] bestScores = new float[NEIGHBOURS];
+        int found = 0;
+        int candidates = 0;
+
+        for (int b = 0; b < BANDS && candidates < MAX_CANDIDATES; b++) {
+            int bucket = bucket(i, b);
+            int from = lowerBound(bandEntries, (long) bucket << 32);
+            for (int e = from, scanned = 0; e < bandEntries.length && scanned < MAX_BUCKET_SCAN; e++, scanned++) {
+                if ((int) (bandEntries[e] >> 32) != bucket) {
+                    break;
+                }
+                int c = (int) bandEntries[e];
+                if (stamps[c] != stamp && !removed[c]) {
+                    stamps[c] = stamp;
+                    candidates++;
+                    found = consider(i, c, best, bestScores, found, improved);
+                }
+            }
+            List<Integer> recent = recentBuckets.get(bucket);
+            if (recent != null) {
+                // Newest first, bounded like the sorted bucket scan
+                for (int r = recent.size() - 1, scanned = 0; r >= 0 && scanned < MAX_BUCKET_SCAN; r--, scanned++) {
+                    int c = recent.get(r);
+                    if (stamps[c] != stamp && !removed[c]) {
+                        stamps[c] = stamp;
+                        candidates++;
+                        found = consider(i, c, best, bestScores, found, improved);
+                    }
+                }
+            }
+        }
+
+        System.arraycopy(best, 0, topSlots, i * NEIGHBOURS, found);
+        System.arraycopy(bestScores, 0, topScores, i * NEIGHBOURS, found);
+        topCount[i] = (byte) found;
+        weakestScore[i] = found == NEIGHBOURS ? bestScores[NEIGHBOURS - 1] : 0f;
+    }
+
+    // Idea ids of slot i's top list, skipping ideas removed since it was filled
+    private long[] storedNeighbours(int i) {
+        long[] ids = new long[topCount[i]];
+        int n = 0;
+        for (int k = 0; k < topCount[i]; k++) {
+            long ideaId = ideaIds[topSlots[i * NEIGHBOURS + k]];
+            if (indexOf.containsKey(ideaId)) {
+                ids[n++] = ideaId;
+            }
+        }
+        return n == ids.length ? ids : Arrays.copyOf(ids, n);
+    }
+
+    // Insert slot i into slot c's top list, replacing an older version of the same idea
+    private void linkNeighbour(int c, int i, float score) {
+        int offset = c * NEIGHBOURS;
+        int found = topCount[c];
+        for (int k = 0; k < found; k++) {
+            if (ideaIds[topSlots[offset + k]] == ideaIds[i]) {
+                System.arraycopy(topSlots, offset + k + 1, topSlots, offset + k, found - k - 1);
+                System.arraycopy(topScores, offset + k + 1, topScores, offset + k, found - k - 1);
+                found--;
+                break;
+            }
+        }
+        int k = found == NEIGHBOURS ? NEIGHBOURS - 1 : found++;
+        while (k > 0 && topScores[offset + k - 1] < score) {
+            topSlots[offset + k] = topSlots[offset + k - 1];
+            topScores[offset + k] = topScores[offset + k - 1];
+            k--;
+        }
+        topSlots[offset + k] = i;
+        topScores[offset + k] = score;
+        topCount[c] = (byte) found;
+        weakestScore[c] = found == NEIGHBOURS ? topScores[offset + NEIGHBOURS - 1] : 0f;
+    }
+
+    // Insert c into the descending top list if it scores high enough
+    private int consider(int i, int c, int[] best, float[] bestScores, int found, List<Integer> improved) {
+        float score = score(i, c);
+        if (score <= 0f) {
+            return found;
+        }
+        if (improved != null && score > weakestScore[c]) {
+            linkNeighbour(c, i, score);
+            improved.add(c);
+        }
+        if (found == NEIGHBOURS && score <= bestScores[NEIGHBOURS - 1]) {
+            return found;
+        }
+        int k = found == NEIGHBOURS ? NEIGHBOURS - 1 : found++;
+        while (k > 0 && bestScores[k - 1] < score) {
+            best[k] = best[k - 1];
+            bestScores[k] = bestScores[k - 1];
+            k--;
+        }
+        best[k] = c;
+        bestScores[k] = score;
+        return found;
+    }
+
+    private float score(int i, int c) {
+        float attributes = 0f;
+        if (category[i] >= 0 && category[i] == category[c]) attributes += 0.4f;
+        if (sector[i] >= 0 && sector[i] == sector[c]) attributes += 0.4f;
+        if (band[i] >= 0 && band[c] >= 0) {
+            int distance = Math.abs(band[i] - band[c]);
+            attributes += distance == 0 ? 0.2f : distance == 1 ? 0.1f : 0f;
+        }
+        return TEXT_WEIGHT * cosine(i, c) + ATTRIBUTE_WEIGHT * attributes;
+    }
+
+    private float cosine(int i, int c) {
+        int[] a = terms[i], b = terms[c];
+        float[] wa = weights[i], wb = weights[c];
+        float dot = 0f;
+        int x = 0, y = 0;
+        while (x < a.length && y < b.length) {
+            if (a[x] == b[y]) dot += wa[x++] * wb[y++];
+            else if (a[x] < b[y]) x++;
+            else y++;
+        }
+        return dot;
+    }
+
+    private int append(Document document, Map<Integer, Integer> counts) {
+        ensureCapacity(size + 1);
+        int i = size++;
+        ideaIds[i] = document.ideaId();
+        indexOf.put(document.ideaId(), i);
+        category[i] = attributeCode("category:", document.category());
+        sector[i] = attributeCode("sector:", document.sector());
+        band[i] = RecommendationIndex.investmentBand(document.investment());
+
+        // TF-IDF over the strongest terms, L2-normalised so cosine is a dot product
+        double idfBase = Math.log(documents + 1.0);
+        int[] termArray = new int[counts.size()];
+        float[] weightArray = new float[counts.size()];
+        int t = 0;
+        for (Map.Entry<Integer, Integer> entry : counts.entrySet()) {
+            int term = entry.getKey();
+            double tf = 1 + Math.log(entry.getValue());
+            double idf = idfBase - Math.log(documentFrequency[term] + 1.0) + 1;
+            termArray[t] = term;
+            weightArray[t++] = (float) (tf * idf);
+        }
+        Integer[] order = new Integer[termArray.length];
+        for (int k = 0; k < order.length; k++) {
+            order[k] = k;
+        }
+        Arrays.sort(order, (p, q) -> Float.compare(weightArray[q], weightArray[p]));
+
+        // Signature over the strongest terms plus the attribute pseudo-terms
+        int signatureLength = Math.min(SIGNATURE_TERMS, order.length);
+        int[] signatureTerms = new int[signatureLength + 3];
+        for (int k = 0; k < signatureLength; k++) {
+            signatureTerms[k] = termArray[order[k]];
+        }
+        signatureTerms[signatureLength] = category[i];
+        signatureTerms[signatureLength + 1] = sector[i];
+        signatureTerms[signatureLength + 2] = band[i] >= 0 ? attributeCode("band:", Integer.toString(band[i])) : -1;
+        minHash(signatureTerms, i * HASHES);
+
+        // Keep the strongest terms, stored in term order for merge-style dot products
+        int kept = Math.min(VECTOR_TERMS, order.length);
+        Integer[] keptOrder = Arrays.copyOf(order, kept);
+        Arrays.sort(keptOrder, (p, q) -> Integer.compare(termArray[p], termArray[q]));
+        int[] keptTerms = new int[kept];
+        float[] keptWeights = new float[kept];
+        double norm = 0;
+        for (int k = 0; k < kept; k++) {
+            keptTerms[k] = termArray[keptOrder[k]];
+            keptWeights[k] = weightArray[keptOrder[k]];
+            norm += (double) keptWeights[k] * keptWeights[k];
+        }
+        float inverseNorm = norm > 0 ? (float) (1 / Math.sqrt(norm)) : 0f;
+        for (int k = 0; k < kept; k++) {
+            keptWeights[k] *= inverseNorm;
+        }
+        terms[i] = keptTerms;
+        weights[i] = keptWeights;
+        return i;
+    }
+
+    private void minHash(int[] signatureTerms, int offset) {
+        for (int h = 0; h < HASHES; h++) {
+            long min = Long.MAX_VALUE;
+            for (int term : signatureTerms) {
+                if (term < 0) continue;
+                long value = (hashA[h] * (term + 1L) + hashB[h]) % PRIME;
+                if (value < min) min = value;
+            }
+            signatures[offset + h] = (int) min;
+        }
+    }
+
+    private int bucket(int i, int b) {
+        int hash = b * 0x9E3779B1;
+        int offset = i * HASHES + b * ROWS_PER_BAND;
+        for (int r = 0; r < ROWS_PER_BAND; r++) {
+            hash = 31 * hash + signatures[offset + r];
+        }
+        return hash;
+    }
+
+    private Map<Integer, Integer> countTerms(String text) {
+        Map<Integer, Integer> counts = new LinkedHashMap<>();
+        if (text == null) {
+            return counts;
+        }
+        for (String token : text.toLowerCase().split("[^a-z0-9]+")) {
+            if (token.length() < 3 || STOP_WORDS.contains(token)) {
+                continue;
+            }
+            counts.merge(termId(token), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private void countDocument(Map<Integer, Integer> counts) {
+        documents++;
+        for (int term : counts.keySet()) {
+            documentFrequency[term]++;
+        }
+    }
+
+    private int termId(String term) {
+        Integer id = termIds.get(term);
+        if (id == null) {
+            id = termIds.size();
+            termIds.put(term, id);
+            if (id >= documentFrequency.length) {
+                documentFrequency = Arrays.copyOf(documentFrequency, documentFrequency.length * 2);
+            }
+        }
+        return id;
+    }
+
+    private int attributeCode(String prefix, String value) {
+        if (value == null || value.isBlank()) {
+            return -1;
+        }
+        return termId(prefix + value.trim().toLowerCase());
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ideaIds.length) {
+            return;
+        }
+        int grown = Math.max(capacity, ideaIds.length * 2);
+        ideaIds = Arrays.copyOf(ideaIds, grown);
+        terms = Arrays.copyOf(terms, grown);
+        weights = Arrays.copyOf(weights, grown);
+        signatures = Arrays.copyOf(signatures, grown * HASHES);
+        category = Arrays.copyOf(category, grown);
+        sector = Arrays.copyOf(sector, grown);
+        band = Arrays.copyOf(band, grown);
+        removed = Arrays.copyOf(removed, grown);
+        topSlots = Arrays.copyOf(topSlots, grown * NEIGHBOURS);
+        topScores = Arrays.copyOf(topScores, grown * NEIGHBOURS);
+        topCount = Arrays.copyOf(topCount, grown);
+        weakestScore = Arrays.copyOf(weakestScore, grown);
+        stamps = Arrays.copyOf(stamps, grown);
+    }
+
+    private static int lowerBound(long[] sorted, long key) {
+        int low = 0, high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,185 @@
+package com.ideafactory.service;
+
+import com.ideafactory.model.Idea;
+import com.ideafactory.repository.IdeaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Similar Ideas Service
+ * Serves precomputed "similar ideas" lists. A background job builds the
+ * SimilarIdeasIndex over the whole catalog; ideas saved since are queued
+ * by IdeaService and folded in incrementally, touching only the ideas
+ * whose neighbour lists change.
+ */
+@Service
+public class SimilarIdeasService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilarIdeasService.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    // Not synchronized: it is held across queries. Equivalent on Java 17, but once the app runs on Java 21 with
+    // spring.threads.virtual.enabled, a monitor held there would pin the virtual thread's carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private SimilarIdeasIndex index;
+
+    // Served lists, one compact id array per idea
+    private final Map<Long, long[]> neighbours = new ConcurrentHashMap<>();
+    private final Set<Long> changedIdeas = ConcurrentHashMap.newKeySet();
+
+    // Queue an idea whose text or attributes changed, or that was deleted
+    public void markChanged(Long ideaId) {
+        if (ideaId != null) {
+            changedIdeas.add(ideaId);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.similar-ideas.initial-delay-ms:15000}",
+               fixedDelayString = "${app.similar-ideas.rebuild-interval-ms:21600000}")
+    public void rebuildIndex() {
+        lock.lock();
+        try {
+            long start = System.currentTimeMillis();
+
+            List<SimilarIdeasIndex.Document> documents = new ArrayList<>();
+            long afterId = 0;
+            List<Object[]> rows;
+            do {
+                rows = ideaRepository.findActiveTextRowsAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+                documents.addAll(toDocuments(rows));
+                if (!rows.isEmpty()) {
+                    afterId = ((Number) rows.get(rows.size() - 1)[0]).longValue();
+                }
+            } while (rows.size() == BATCH_SIZE);
+
+            SimilarIdeasIndex rebuilt = SimilarIdeasIndex.build(documents);
+            Map<Long, long[]> all = rebuilt.allNeighbours();
+            index = rebuilt;
+            neighbours.keySet().retainAll(all.keySet());
+            neighbours.putAll(all);
+
+            logger.info("Rebuilt similar-ideas index: {} ideas in {} ms",
+                    documents.size(), System.currentTimeMillis() - start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.similar-ideas.refresh-interval-ms:30000}",
+               fixedDelayString = "${app.similar-ideas.refresh-interval-ms:30000}")
+    public void refreshChangedIdeas() {
+        if (changedIdeas.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (index == null) {
+                return;
+            }
+            List<Long> changed = new ArrayList<>(changedIdeas);
+            changedIdeas.removeAll(changed);
+
+            // Past a point the side buckets cost more than starting over
+            if (index.addedSinceBuild() + changed.size() > Math.max(BATCH_SIZE, index.size() / 5)) {
+                rebuildIndex();
+                return;
+            }
+
+            Set<Long> affected = new LinkedHashSet<>();
+            for (int from = 0; from < changed.size(); from += BATCH_SIZE) {
+                List<Long> batch = changed.subList(from, Math.min(from + BATCH_SIZE, changed.size()));
+                Set<Long> active = new HashSet<>();
+                for (SimilarIdeasIndex.Document document : toDocuments(ideaRepository.findActiveTextRowsByIds(batch))) {
+                    active.add(document.ideaId());
+                    affected.addAll(index.upsert(document));
+                }
+                for (Long ideaId : batch) {
+                    if (!active.contains(ideaId)) {
+                        index.remove(ideaId);
+                        neighbours.remove(ideaId);
+                        affected.remove(ideaId);
+                    }
+                }
+            }
+            for (Long ideaId : affected) {
+                neighbours.put(ideaId, index.neighboursOf(ideaId));
+            }
+
+            logger.debug("Refreshed similar ideas for {} changed ideas, {} lists updated",
+                    changed.size(), affected.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<Idea> getSimilarIdeas(Long ideaId, int limit) {
+        long[] similar = neighbours.get(ideaId);
+        if (similar == null || similar.length == 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = new ArrayList<>(Math.min(limit, similar.length));
+        for (int k = 0; k < similar.length && k < limit; k++) {
+            ids.add(similar[k]);
+        }
+
+        Map<Long, Idea> byId = new HashMap<>();
+        for (Idea idea : ideaRepository.findAllById(ids)) {
+            byId.put(idea.getId(), idea);
+        }
+        List<Idea> ideas = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Idea idea = byId.get(id);
+            if (idea != null && idea.isActive()) {
+                ideas.add(idea);
+            }
+        }
+        return ideas;
+    }
+
+    private List<SimilarIdeasIndex.Document> toDocuments(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add(((Number) row[0]).longValue());
+        }
+        Map<Long, StringBuilder> advantages = new HashMap<>();
+        for (Object[] row : ideaRepository.findSpecialAdvantageRowsByIds(ids)) {
+            advantages.computeIfAbsent(((Number) row[0]).longValue(), id -> new StringBuilder())
+                    .append(' ').append((String) row[1]);
+        }
+
+        List<SimilarIdeasIndex.Document> documents = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            long id = ((Number) row[0]).longValue();
+            StringBuilder text = new StringBuilder();
+            if (row[1] != null) text.append((String) row[1]);
+            if (row[2] != null) text.append(' ').append((String) row[2]);
+            if (advantages.containsKey(id)) text.append(advantages.get(id));
+            documents.add(new SimilarIdeasIndex.Document(id, text.toString(),
+                    (String) row[3], (String) row[4], (BigDecimal) row[5]));
+        }
+        return documents;
+    }
+}
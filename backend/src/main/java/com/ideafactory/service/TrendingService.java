@@ -0,0 +1,223 @@
+package com.ideafactory.service;
+
+import com.ideafactory.model.Idea;
+import com.ideafactory.repository.IdeaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Trending Service
+ * Counts idea views, saves and reviews in memory. Request threads only do
+ * lock-free adds; a scheduled flush decays the counters, refreshes the
+ * trending top-K and writes popularity scores in one JDBC batch, so an
+ * idea view never writes to the database.
+ *
+ * Trending ("popular now") comes from a Count-Min sketch with a short
+ * half-life plus a top-K heap over the ideas touched since the last flush.
+ * Popularity (sort=popular) uses forward decay against a fixed epoch: each
+ * flush adds ln(weight) + t / halfLife to ideas.popularity_score with a
+ * log-sum-exp update, so stored scores stay comparable without rewriting
+ * rows that saw no events.
+ */
+@Service
+public class TrendingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+
+    static final double VIEW_WEIGHT = 1.0;
+    static final double SAVE_WEIGHT = 5.0;
+    static final double REVIEW_WEIGHT = 8.0;
+
+    // 2024-01-01T00:00:00Z, the landmark popularity scores are decayed against
+    private static final long EPOCH_MILLIS = 1704067200000L;
+    private static final int BATCH_SIZE = 1000;
+
+    // Ideas whose decayed weight falls below this drop out of the trending list
+    private static final double MIN_TRENDING_WEIGHT = 0.05;
+
+    private static final String ADD_POPULARITY =
+            "UPDATE ideas SET popularity_score = CASE WHEN popularity_score IS NULL THEN CAST(? AS DOUBLE PRECISION) " +
+            "ELSE GREATEST(popularity_score, CAST(? AS DOUBLE PRECISION)) " +
+            "+ LN(1 + EXP(-ABS(popularity_score - CAST(? AS DOUBLE PRECISION)))) END WHERE id = ?";
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.trending.half-life-minutes:60}")
+    private double trendingHalfLifeMinutes;
+
+    @Value("${app.trending.popularity-half-life-hours:168}")
+    private double popularityHalfLifeHours;
+
+    @Value("${app.trending.top-k:100}")
+    private int topK;
+
+    private final DecayingCountMinSketch sketch = new DecayingCountMinSketch(4, 1 << 14);
+    private final Set<Long> touchedIdeas = ConcurrentHashMap.newKeySet();
+    private final Map<Long, DoubleAdder> pendingWeights = new ConcurrentHashMap<>();
+
+    // Published after every flush, best first
+    private volatile long[] trendingIdeaIds = new long[0];
+    private long lastDecayMillis = System.currentTimeMillis();
+
+    public void recordView(Long ideaId) {
+        record(ideaId, VIEW_WEIGHT);
+    }
+
+    public void recordSave(Long ideaId) {
+        record(ideaId, SAVE_WEIGHT);
+    }
+
+    public void recordReview(Long ideaId) {
+        record(ideaId, REVIEW_WEIGHT);
+    }
+
+    private void record(Long ideaId, double weight) {
+        if (ideaId == null) {
+            return;
+        }
+        sketch.add(ideaId, weight);
+        touchedIdeas.add(ideaId);
+        addPending(ideaId, weight);
+    }
+
+    private void addPending(Long ideaId, double weight) {
+        DoubleAdder adder = pendingWeights.computeIfAbsent(ideaId, id -> new DoubleAdder());
+        adder.add(weight);
+        // persistPopularity may have dropped the adder as idle meanwhile; move what it holds to the live one.
+        // sumThenReset takes each added value once, so racing with persistPopularity's own drain cannot double count
+        if (pendingWeights.get(ideaId) != adder) {
+            double detached = adder.sumThenReset();
+            if (detached > 0) {
+                addPending(ideaId, detached);
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.trending.flush-interval-ms:10000}",
+               fixedDelayString = "${app.trending.flush-interval-ms:10000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        sketch.decay(Math.pow(0.5, (now - lastDecayMillis) / (trendingHalfLifeMinutes * 60_000)));
+        lastDecayMillis = now;
+
+        refreshTrending();
+        persistPopularity(now);
+    }
+
+    public List<Idea> getTrendingIdeas(int limit) {
+        long[] ideaIds = trendingIdeaIds;
+        if (ideaIds.length == 0) {
+            // Nothing counted since startup yet: fall back to the persisted ranking
+            return ideaRepository.findAllActiveByPopularity(PageRequest.of(0, limit)).getContent();
+        }
+        List<Long> ids = new ArrayList<>(Math.min(limit, ideaIds.length));
+        for (int k = 0; k < ideaIds.length && k < limit; k++) {
+            ids.add(ideaIds[k]);
+        }
+        Map<Long, Idea> byId = new HashMap<>();
+        for (Idea idea : ideaRepository.findAllById(ids)) {
+            byId.put(idea.getId(), idea);
+        }
+        List<Idea> ideas = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Idea idea = byId.get(id);
+            if (idea != null && idea.isActive()) {
+                ideas.add(idea);
+            }
+        }
+        return ideas;
+    }
+
+    public Page<Idea> getPopularIdeas(Pageable pageable) {
+        return ideaRepository.findAllActiveByPopularity(pageable);
+    }
+
+    // Re-rank the previous top-K plus everything touched since the last flush
+    private void refreshTrending() {
+        Set<Long> candidates = new HashSet<>();
+        for (long ideaId : trendingIdeaIds) {
+            candidates.add(ideaId);
+        }
+        // A touch racing the removal is not lost: the idea is ranked below from the sketch, which already holds it
+        for (Long ideaId : touchedIdeas) {
+            if (touchedIdeas.remove(ideaId)) {
+                candidates.add(ideaId);
+            }
+        }
+
+        PriorityQueue<TrendingEntry> heap = new PriorityQueue<>(topK + 1, Comparator.comparingDouble(TrendingEntry::weight));
+        for (Long ideaId : candidates) {
+            double weight = sketch.estimate(ideaId);
+            if (weight < MIN_TRENDING_WEIGHT) {
+                continue;
+            }
+            if (heap.size() < topK) {
+                heap.add(new TrendingEntry(ideaId, weight));
+            } else if (weight > heap.peek().weight()) {
+                heap.poll();
+                heap.add(new TrendingEntry(ideaId, weight));
+            }
+        }
+
+        long[] ranked = new long[heap.size()];
+        for (int k = ranked.length - 1; k >= 0; k--) {
+            ranked[k] = heap.poll().ideaId();
+        }
+        trendingIdeaIds = ranked;
+    }
+
+    private void persistPopularity(long now) {
+        double landmark = Math.log(2) * (now - EPOCH_MILLIS) / (popularityHalfLifeHours * 3_600_000);
+        List<Object[]> updates = new ArrayList<>();
+        for (Map.Entry<Long, DoubleAdder> entry : pendingWeights.entrySet()) {
+            DoubleAdder adder = entry.getValue();
+            double weight = adder.sumThenReset();
+            if (weight <= 0) {
+                // Idle for a whole interval; a view landing in the adder as it is dropped is moved to a new one
+                if (pendingWeights.remove(entry.getKey(), adder)) {
+                    double late = adder.sumThenReset();
+                    if (late > 0) {
+                        addPending(entry.getKey(), late);
+                    }
+                }
+                continue;
+            }
+            double score = Math.log(weight) + landmark;
+            updates.add(new Object[] {score, score, score, entry.getKey()});
+        }
+
+        try {
+            for (int from = 0; from < updates.size(); from += BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(ADD_POPULARITY, updates.subList(from, Math.min(from + BATCH_SIZE, updates.size())));
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Failed to persist popularity for {} ideas: {}", updates.size(), e.getMessage());
+        }
+    }
+
+    private record TrendingEntry(long ideaId, double weight) {}
+}
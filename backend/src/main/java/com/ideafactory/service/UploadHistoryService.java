@@ -20,6 +20,9 @@ public class UploadHistoryService {
     @Autowired
     private IdeaRepository ideaRepository;
 
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
     public List<UploadHistory> getAllUploadHistory() {
         return uploadHistoryRepository.findAllOrderByUploadTimestampDesc();
     }
@@ -51,6 +54,7 @@ public class UploadHistoryService {
             // Delete all ideas associated with this batch
             int deletedIdeas = ideaRepository.deleteByUploadBatchId(batchId);
             System.out.println("Actually deleted " + deletedIdeas + " ideas for batch: " + batchId);
+            catalogSnapshotService.markChanged();
             
             // Delete the upload history record
             uploadHistoryRepository.delete(uploadHistory);
@@ -0,0 +1,91 @@
+package com.ideafactory.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ideafactory.dto.UserDashboardSummary;
+import com.ideafactory.dto.UserProfileResponse;
+import com.ideafactory.model.ProposedIdea;
+import com.ideafactory.model.User;
+import com.ideafactory.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * User Dashboard Service
+ * Builds the dashboard summary from a single aggregate query and caches it
+ * per user. Services that change a user's saved ideas, reviews, rewards,
+ * proposals or profile call invalidate(userId); the expiry only bounds
+ * staleness from writes made outside those services. A user deactivated
+ * (which happens outside the application) stops resolving within a minute,
+ * when the email's id expires and findActiveUserByEmail runs again.
+ */
+@Service
+public class UserDashboardService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Cache<Long, UserDashboardSummary> summaries = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    // Auth hands us the email; remembering the id lets repeat visits within the minute skip the query.
+    // Expiring after write, not access, re-checks the active flag however busy the user is
+    private final Cache<String, Long> userIdsByEmail = Caffeine.newBuilder()
+            .maximumSize(50_000)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+
+    public UserDashboardSummary getSummary(String email) {
+        // getUserId re-checks the active flag once a minute, so a deactivated user's cached summary stops being served
+        Long userId = getUserId(email);
+        // Loading through the cache means a concurrent invalidate cannot be overwritten by a stale load
+        return summaries.get(userId, id -> load(email));
+    }
+
+    // Id of an active user, without a query for a minute once the email has been seen
+    public Long getUserId(String email) {
+        return userIdsByEmail.get(email, key -> userRepository.findActiveUserByEmail(key)
+                .map(User::getId)
+                .orElseThrow(() -> new RuntimeException("User not found")));
+    }
+
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            summaries.invalidate(userId);
+        }
+    }
+
+    private UserDashboardSummary load(String email) {
+        List<Object[]> rows = userRepository.findDashboardSummaryByEmail(email);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("User not found");
+        }
+        Object[] row = rows.get(0);
+
+        UserDashboardSummary summary = new UserDashboardSummary();
+        summary.setProfile(UserProfileResponse.from((User) row[0]));
+        summary.setSavedIdeasCount(((Number) row[1]).longValue());
+        summary.setReviewsCount(((Number) row[2]).longValue());
+        summary.setRewardPoints(((Number) row[3]).longValue());
+
+        Map<String, Long> proposalsByStatus = new LinkedHashMap<>();
+        ProposedIdea.ProposalStatus[] statuses = {
+                ProposedIdea.ProposalStatus.PENDING, ProposedIdea.ProposalStatus.APPROVED,
+                ProposedIdea.ProposalStatus.REJECTED, ProposedIdea.ProposalStatus.UNDER_REVIEW
+        };
+        for (int k = 0; k < statuses.length; k++) {
+            proposalsByStatus.put(statuses[k].name(), ((Number) row[4 + k]).longValue());
+        }
+        summary.setProposalsByStatus(proposalsByStatus);
+        summary.setGeneratedAt(LocalDateTime.now());
+        return summary;
+    }
+}
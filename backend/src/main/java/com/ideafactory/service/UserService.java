@@ -12,6 +12,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -26,6 +28,9 @@ public class UserService {
     @Autowired
     private AdminSessionRepository adminSessionRepository;
     
+    @Autowired
+    private AdminSessionCache adminSessionCache;
+    
     @Autowired
     private PasswordEncoder passwordEncoder;
     
@@ -35,6 +40,9 @@ public class UserService {
     @Autowired
     private EmailService emailService;
     
+    @Autowired
+    private UserDashboardService userDashboardService;
+    
     // User Registration
     @Transactional
     public UserAuthResponse signup(UserSignupRequest request) {
@@ -159,6 +167,16 @@ public class UserService {
         AdminSession adminSession = new AdminSession(user, sessionId, expiresAt);
         adminSessionRepository.save(adminSession);
         
+        // The cache follows the table only once both changes are committed
+        Long userId = user.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                adminSessionCache.invalidateOtherSessionsForUser(userId, sessionId);
+                adminSessionCache.put(sessionId, userId, expiresAt);
+            }
+        });
+        
         // Update user's admin session info
         user.setLastAdminLogin(LocalDateTime.now());
         user.setAdminSessionId(sessionId);
@@ -307,19 +325,40 @@ public class UserService {
         user.setPhoneNumber(phoneNumber);
         user.setLocation(location);
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        
+        // Evict after commit so a concurrent dashboard load cannot re-cache the old profile
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userDashboardService.invalidate(userId);
+            }
+        });
+        return saved;
     }
     
-    // Admin Session Validation
+    // Admin Session Validation - served from the in-memory session table,
+    // falling back to the database for sessions this node has not cached
     public boolean validateAdminSession(String sessionId) {
+        AdminSessionCache.Entry cached = adminSessionCache.get(sessionId);
+        if (cached != null) {
+            return cached.isValid();
+        }
+        
         Optional<AdminSession> sessionOpt = adminSessionRepository.findBySessionIdAndActive(sessionId, true);
         
+        // Unknown and inactive sessions are not cached; the next check asks the database again
         if (sessionOpt.isEmpty()) {
             return false;
         }
         
         AdminSession session = sessionOpt.get();
-        return session.isValid();
+        if (!session.isValid()) {
+            return false;
+        }
+        
+        adminSessionCache.put(session.getSessionId(), session.getUser().getId(), session.getExpiresAt());
+        return true;
     }
     
     // Helper methods
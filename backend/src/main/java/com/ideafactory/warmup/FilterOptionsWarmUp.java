@@ -0,0 +1,42 @@
+package com.ideafactory.warmup;
+
+import com.ideafactory.service.CategoryService;
+import com.ideafactory.service.IdeaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Filter Options Warm-Up
+ * Fills the caches behind the filter drop-downs every catalog page loads:
+ * the categories, sectors, difficultyLevels and locations caches, and the
+ * category hierarchy in the categoryQueries region.
+ */
+@Component
+@Order(200)
+public class FilterOptionsWarmUp implements WarmUpTask {
+
+    @Autowired
+    private IdeaService ideaService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Override
+    public String getName() {
+        return "filter-options";
+    }
+
+    @Override
+    public List<Runnable> getSteps() {
+        return List.of(
+                ideaService::getAllCategories,
+                ideaService::getAllSectors,
+                ideaService::getAllDifficultyLevels,
+                ideaService::getAllLocations,
+                categoryService::getCategoryHierarchy,
+                categoryService::getAllCategories);
+    }
+}
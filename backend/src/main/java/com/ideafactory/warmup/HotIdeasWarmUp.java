@@ -0,0 +1,61 @@
+package com.ideafactory.warmup;
+
+import com.ideafactory.service.IdeaDetailService;
+import com.ideafactory.service.IdeaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hot Ideas Warm-Up
+ * Loads the app.warm-up.hot-ideas most popular ideas (by the traffic
+ * TrendingService has ranked) with their audiences and advantages, and
+ * the complete details (factors, investments, schemes, loans, reviews)
+ * of the hottest app.warm-up.hot-idea-details of them, filling the
+ * second-level cache regions their pages read.
+ */
+@Component
+@Order(300)
+public class HotIdeasWarmUp implements WarmUpTask {
+
+    private static final int IDEAS_PER_STEP = 20;
+
+    @Autowired
+    private IdeaService ideaService;
+
+    @Autowired
+    private IdeaDetailService ideaDetailService;
+
+    @Value("${app.warm-up.hot-ideas:100}")
+    private int hotIdeas;
+
+    @Value("${app.warm-up.hot-idea-details:20}")
+    private int hotIdeaDetails;
+
+    @Override
+    public String getName() {
+        return "hot-ideas";
+    }
+
+    @Override
+    public List<Runnable> getSteps() {
+        int limit = Math.max(hotIdeas, hotIdeaDetails);
+        if (limit <= 0) {
+            return List.of();
+        }
+        List<Long> ids = ideaService.getPopularIdeaIds(limit);
+        List<Runnable> steps = new ArrayList<>();
+        for (int from = 0; from < Math.min(hotIdeas, ids.size()); from += IDEAS_PER_STEP) {
+            List<Long> batch = ids.subList(from, Math.min(from + IDEAS_PER_STEP, Math.min(hotIdeas, ids.size())));
+            steps.add(() -> ideaService.loadIdeas(batch));
+        }
+        for (Long id : ids.subList(0, Math.min(hotIdeaDetails, ids.size()))) {
+            steps.add(() -> ideaDetailService.getCompleteIdeaDetails(id));
+        }
+        return steps;
+    }
+}
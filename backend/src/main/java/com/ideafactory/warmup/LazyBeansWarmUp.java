@@ -0,0 +1,53 @@
+package com.ideafactory.warmup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Lazy Beans Warm-Up
+ * With spring.main.lazy-initialization (the fast-start profile), creates
+ * the beans the context would have created at startup, so no request pays
+ * for them. One step: singletons are created one at a time anyway.
+ */
+@Component
+@Order(100)
+public class LazyBeansWarmUp implements WarmUpTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(LazyBeansWarmUp.class);
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Value("${spring.main.lazy-initialization:false}")
+    private boolean lazyInitialization;
+
+    @Override
+    public String getName() {
+        return "lazy-beans";
+    }
+
+    @Override
+    public List<Runnable> getSteps() {
+        return lazyInitialization ? List.of(this::createSingletons) : List.of();
+    }
+
+    private void createSingletons() {
+        int created = 0;
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.isSingleton() && !definition.isAbstract() && !beanFactory.containsSingleton(name)) {
+                beanFactory.getBean(name);
+                created++;
+            }
+        }
+        logger.info("Created {} lazily initialized beans", created);
+    }
+}
@@ -0,0 +1,122 @@
+package com.ideafactory.warmup;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Request Mix Recorder
+ * Keeps a uniform sample (reservoir sampling, lock-free on the request
+ * path) of the anonymous GET /api requests this node answered with 200,
+ * and writes it to app.warm-up.request-mix.path periodically and on
+ * shutdown. RequestMixReplay replays the file on the next start, so the
+ * JIT compiles the paths real traffic takes. Requests replayed by the
+ * warm-up itself are not recorded.
+ */
+@Component
+public class RequestMixRecorder extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestMixRecorder.class);
+
+    @Value("${app.warm-up.request-mix.path:data/request-mix.txt}")
+    private String path;
+
+    @Value("${app.warm-up.request-mix.size:500}")
+    private int size;
+
+    private AtomicReferenceArray<String> sample;
+    private final AtomicLong seen = new AtomicLong();
+    private volatile long written;
+
+    @PostConstruct
+    public void init() {
+        sample = new AtomicReferenceArray<>(size);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        chain.doFilter(request, response);
+        if (isReplayable(request) && response.getStatus() == HttpServletResponse.SC_OK) {
+            String query = request.getQueryString();
+            record(query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query);
+        }
+    }
+
+    // Replayed without credentials, so only anonymous reads are worth keeping
+    private static boolean isReplayable(HttpServletRequest request) {
+        return "GET".equals(request.getMethod())
+                && request.getRequestURI().startsWith("/api/")
+                && !request.getRequestURI().equals("/api/ideas/performance")
+                && request.getHeader(HttpHeaders.AUTHORIZATION) == null
+                && request.getHeader(RequestMixReplay.WARM_UP_HEADER) == null;
+    }
+
+    private void record(String request) {
+        long n = seen.getAndIncrement();
+        if (n < size) {
+            sample.set((int) n, request);
+        } else {
+            long slot = ThreadLocalRandom.current().nextLong(n + 1);
+            if (slot < size) {
+                sample.set((int) slot, request);
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.warm-up.request-mix.write-interval-ms:600000}",
+               fixedDelayString = "${app.warm-up.request-mix.write-interval-ms:600000}")
+    public void write() {
+        long count = seen.get();
+        if (count == written) {
+            // Nothing new; an idle node keeps the file it has
+            return;
+        }
+        List<String> requests = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String request = sample.get(i);
+            if (request != null) {
+                requests.add(request);
+            }
+        }
+        try {
+            Path file = Path.of(path);
+            if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, requests, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            written = count;
+            logger.debug("Wrote {} sampled requests of {} to {}", requests.size(), count, file);
+        } catch (IOException e) {
+            logger.warn("Could not write the request mix to {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        write();
+    }
+}
@@ -0,0 +1,142 @@
+package com.ideafactory.warmup;
+
+import com.ideafactory.service.IdeaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Request Mix Replay
+ * The last warm-up task: sends app.warm-up.replay-requests requests to this
+ * node over HTTP, drawn from the mix RequestMixRecorder wrote on the last
+ * run, so filters, controllers, queries and Jackson serialization run hot
+ * enough for the JIT to compile them before real traffic arrives. Without
+ * a recording, replays the catalog pages, filter options and the most
+ * popular ideas and their details. Replayed requests carry X-Warm-Up and
+ * are not counted as idea views.
+ */
+@Component
+@Order(400)
+public class RequestMixReplay implements WarmUpTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestMixReplay.class);
+
+    public static final String WARM_UP_HEADER = "X-Warm-Up";
+
+    private static final int DEFAULT_MIX_IDEAS = 20;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private IdeaService ideaService;
+
+    @Value("${app.warm-up.request-mix.path:data/request-mix.txt}")
+    private String path;
+
+    @Value("${app.warm-up.replay-requests:1000}")
+    private int replayRequests;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Override
+    public String getName() {
+        return "request-replay";
+    }
+
+    @Override
+    public List<Runnable> getSteps() {
+        String port = environment.getProperty("local.server.port");
+        List<String> mix = recordedMix();
+        if (port == null || mix.isEmpty() || replayRequests <= 0) {
+            return List.of();
+        }
+        // Shuffled rounds of the mix, so each request is replayed about as often as it was recorded
+        List<Runnable> steps = new ArrayList<>(replayRequests);
+        Random random = new Random(replayRequests);
+        List<String> round = new ArrayList<>(mix);
+        while (steps.size() < replayRequests) {
+            Collections.shuffle(round, random);
+            for (int i = 0; i < round.size() && steps.size() < replayRequests; i++) {
+                URI uri = URI.create("http://localhost:" + port + round.get(i));
+                steps.add(() -> send(uri));
+            }
+        }
+        return steps;
+    }
+
+    private List<String> recordedMix() {
+        Path file = Path.of(path);
+        if (Files.exists(file)) {
+            try {
+                List<String> mix = new ArrayList<>();
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    if (line.startsWith("/api/")) {
+                        mix.add(line);
+                    }
+                }
+                if (!mix.isEmpty()) {
+                    logger.info("Replaying {} requests from the mix of {} recorded in {}", replayRequests, mix.size(), file);
+                    return mix;
+                }
+            } catch (IOException e) {
+                logger.warn("Could not read the request mix {}: {}", file, e.getMessage());
+            }
+        }
+        return defaultMix();
+    }
+
+    private List<String> defaultMix() {
+        List<String> mix = new ArrayList<>(List.of(
+                "/api/ideas/paginated?page=0&size=20",
+                "/api/ideas/paginated?page=1&size=20",
+                "/api/ideas/paginated?page=0&size=20&sort=popular",
+                "/api/ideas/trending",
+                "/api/categories",
+                "/api/sectors",
+                "/api/difficulty-levels",
+                "/api/locations"));
+        for (Long id : ideaService.getPopularIdeaIds(DEFAULT_MIX_IDEAS)) {
+            mix.add("/api/ideas/" + id);
+            mix.add("/api/idea-details/" + id + "/complete");
+        }
+        return mix;
+    }
+
+    // A 4xx still ran the code path; only server errors and failed connections count as failures
+    private void send(URI uri) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header(WARM_UP_HEADER, "true")
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 500) {
+                throw new RuntimeException(uri.getPath() + " returned " + response.statusCode());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(uri.getPath() + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(uri.getPath() + " was interrupted", e);
+        }
+    }
+}
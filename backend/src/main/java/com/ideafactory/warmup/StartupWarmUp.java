@@ -0,0 +1,254 @@
+package com.ideafactory.warmup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Startup Warm-Up
+ * Runs the WarmUpTask beans once the application is ready: deferred
+ * seeding and lazy beans under the fast-start profile, then the caches
+ * and a replay of recorded requests, so the first real requests find
+ * warm caches and compiled code. Holds the application's ReadinessState
+ * at REFUSING_TRAFFIC, so /actuator/health/readiness is OUT_OF_SERVICE
+ * until every task has finished and at least app.warm-up.target-percent
+ * of the steps succeeded, and a load balancer never sends traffic to a
+ * cold node. Root /actuator/health is not affected. Tasks that fell short
+ * are run again up to app.warm-up.retries times. Progress per task is
+ * served by the warmup actuator endpoint.
+ */
+@Component
+public class StartupWarmUp {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmUp.class);
+
+    // Sorted by @Order
+    @Autowired
+    private List<WarmUpTask> tasks;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.warm-up.parallelism:4}")
+    private int parallelism;
+
+    @Value("${app.warm-up.target-percent:90}")
+    private int targetPercent;
+
+    // Steps not started by then are skipped, and count against the target
+    @Value("${app.warm-up.timeout-ms:180000}")
+    private long timeoutMillis;
+
+    // Further runs of the tasks that had failed or skipped steps, each with a fresh timeout
+    @Value("${app.warm-up.retries:1}")
+    private int retries;
+
+    private final List<TaskProgress> progress = new ArrayList<>();
+    private volatile String state = "waiting for startup";
+    private volatile boolean done;
+    private volatile long startedAt;
+    private volatile long durationMillis;
+
+    // Spring Boot reports ACCEPTING_TRAFFIC right after ApplicationReadyEvent; take it back until warmed up
+    @EventListener
+    public synchronized void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC && !done) {
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        synchronized (progress) {
+            for (WarmUpTask task : tasks) {
+                progress.add(new TaskProgress(task.getName()));
+            }
+        }
+        Thread thread = new Thread(this::warmUp, "startup-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUp() {
+        startedAt = System.currentTimeMillis();
+        long deadline = startedAt + timeoutMillis;
+        state = "running";
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "warm-up-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int t = 0; t < tasks.size(); t++) {
+                run(tasks.get(t), progress.get(t), workers, deadline);
+            }
+            for (int attempt = 1; attempt <= retries && succeededPercent() < targetPercent; attempt++) {
+                state = "retrying";
+                logger.warn("Startup warm-up at {}% of steps (target {}%); running the incomplete tasks again ({} of {})",
+                        succeededPercent(), targetPercent, attempt, retries);
+                long retryDeadline = System.currentTimeMillis() + timeoutMillis;
+                for (int t = 0; t < tasks.size(); t++) {
+                    if (progress.get(t).succeeded.get() < progress.get(t).steps) {
+                        // A fresh record: steps of the last attempt still running must not count towards this one
+                        TaskProgress taskProgress = new TaskProgress(tasks.get(t).getName());
+                        synchronized (progress) {
+                            progress.set(t, taskProgress);
+                        }
+                        run(tasks.get(t), taskProgress, workers, retryDeadline);
+                    }
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        durationMillis = System.currentTimeMillis() - startedAt;
+
+        int percent = succeededPercent();
+        if (percent >= targetPercent) {
+            state = "done";
+            acceptTraffic();
+            logger.info("Startup warm-up finished in {} ms, {}% of steps succeeded; ready for traffic",
+                    durationMillis, percent);
+        } else {
+            // Stay out of rotation: a node that could not warm up would serve its first requests cold, or not at all
+            state = "missed target";
+            logger.error("Startup warm-up finished in {} ms but only {}% of steps succeeded (target {}%) after {} retries; "
+                            + "readiness stays OUT_OF_SERVICE until a restart. Fix the failing tasks below (see the first "
+                            + "failure each logged above), or raise app.warm-up.timeout-ms if steps were skipped: {}",
+                    durationMillis, percent, targetPercent, retries, getProgress().get("tasks"));
+        }
+    }
+
+    private synchronized void acceptTraffic() {
+        done = true;
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    private void run(WarmUpTask task, TaskProgress taskProgress, ExecutorService workers, long deadline) {
+        long taskStart = System.currentTimeMillis();
+        taskProgress.state = "running";
+        List<Runnable> steps;
+        try {
+            steps = task.getSteps();
+        } catch (RuntimeException e) {
+            taskProgress.steps = 1;
+            taskProgress.failed.incrementAndGet();
+            taskProgress.state = "failed";
+            logger.warn("Warm-up task {} failed to start: {}", task.getName(), e.getMessage());
+            return;
+        }
+        taskProgress.steps = steps.size();
+
+        List<Future<?>> futures = new ArrayList<>(steps.size());
+        for (Runnable step : steps) {
+            futures.add(workers.submit(() -> {
+                if (System.currentTimeMillis() >= deadline) {
+                    taskProgress.skipped.incrementAndGet();
+                    return;
+                }
+                try {
+                    step.run();
+                    taskProgress.succeeded.incrementAndGet();
+                } catch (RuntimeException e) {
+                    if (taskProgress.failed.incrementAndGet() == 1) {
+                        logger.warn("Warm-up task {}: a step failed: {}", task.getName(), e.getMessage());
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Queued steps skip themselves from here on
+            } catch (Exception e) {
+                taskProgress.failed.incrementAndGet();
+            }
+        }
+        taskProgress.durationMillis = System.currentTimeMillis() - taskStart;
+        taskProgress.state = "done";
+        logger.info("Warm-up task {}: {} of {} steps succeeded in {} ms", task.getName(),
+                taskProgress.succeeded.get(), taskProgress.steps, taskProgress.durationMillis);
+    }
+
+    private int succeededPercent() {
+        int steps = 0;
+        int succeeded = 0;
+        synchronized (progress) {
+            for (TaskProgress taskProgress : progress) {
+                steps += taskProgress.steps;
+                succeeded += taskProgress.succeeded.get();
+            }
+        }
+        return steps == 0 ? 100 : (int) (100L * succeeded / steps);
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public Map<String, Object> getProgress() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("state", state);
+        summary.put("ready", done);
+        summary.put("targetPercent", targetPercent);
+        summary.put("succeededPercent", succeededPercent());
+        if (startedAt > 0) {
+            summary.put("elapsedMs", done || durationMillis > 0 ? durationMillis : System.currentTimeMillis() - startedAt);
+        }
+        List<Map<String, Object>> taskSummaries = new ArrayList<>();
+        synchronized (progress) {
+            for (TaskProgress taskProgress : progress) {
+                taskSummaries.add(taskProgress.describe());
+            }
+        }
+        summary.put("tasks", taskSummaries);
+        return summary;
+    }
+
+    private static final class TaskProgress {
+
+        private final String name;
+        private volatile String state = "pending";
+        private volatile int steps;
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private volatile long durationMillis;
+
+        TaskProgress(String name) {
+            this.name = name;
+        }
+
+        Map<String, Object> describe() {
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("name", name);
+            description.put("state", state);
+            description.put("steps", steps);
+            description.put("succeeded", succeeded.get());
+            description.put("failed", failed.get());
+            description.put("skipped", skipped.get());
+            description.put("durationMs", durationMillis);
+            return description;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ideafactory.warmup;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Warm-Up Endpoint
+ * GET /actuator/warmup: the state of the startup warm-up, the share of
+ * steps that succeeded against the target, and per task the steps
+ * succeeded, failed and skipped.
+ */
+@Component
+@Endpoint(id = "warmup")
+public class WarmUpEndpoint {
+
+    @Autowired
+    private StartupWarmUp startupWarmUp;
+
+    @ReadOperation
+    public Map<String, Object> progress() {
+        return startupWarmUp.getProgress();
+    }
+}
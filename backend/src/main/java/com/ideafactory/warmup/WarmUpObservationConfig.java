@@ -0,0 +1,22 @@
+package com.ideafactory.warmup;
+
+import io.micrometer.observation.ObservationPredicate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Warm-Up Observation Configuration
+ * Leaves the requests RequestMixReplay sends out of http.server.requests,
+ * so a thousand cold-start requests do not skew the latency percentiles
+ * of the node's real traffic.
+ */
+@Configuration
+public class WarmUpObservationConfig {
+
+    @Bean
+    public ObservationPredicate skipWarmUpRequests() {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext request
+                && request.getCarrier().getHeader(RequestMixReplay.WARM_UP_HEADER) != null);
+    }
+}
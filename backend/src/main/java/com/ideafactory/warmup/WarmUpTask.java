@@ -0,0 +1,19 @@
+package com.ideafactory.warmup;
+
+import java.util.List;
+
+/**
+ * Warm-Up Task
+ * One stage of StartupWarmUp; any bean implementing it is picked up. Tasks
+ * run one after another in @Order order, so a task can rely on the ones
+ * before it (the seeded data, say). The steps of one task run in parallel,
+ * app.warm-up.parallelism at a time, and each counts once towards the
+ * warm-up's progress and target.
+ */
+public interface WarmUpTask {
+
+    String getName();
+
+    /** Called when the task starts; a step that throws counts as failed */
+    List<Runnable> getSteps();
+}
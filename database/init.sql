@@ -41,6 +41,7 @@ CREATE TABLE IF NOT EXISTS ideas (
     location VARCHAR(50),
     image_url VARCHAR(500),
     is_active BOOLEAN DEFAULT TRUE,
+    popularity_score DOUBLE PRECISION,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -77,11 +78,17 @@ CREATE INDEX IF NOT EXISTS idx_ideas_sector_active ON ideas(sector, is_active);
 CREATE INDEX IF NOT EXISTS idx_ideas_difficulty_active ON ideas(difficulty_level, is_active);
 CREATE INDEX IF NOT EXISTS idx_ideas_location_active ON ideas(location, is_active);
 CREATE INDEX IF NOT EXISTS idx_ideas_investment_active ON ideas(investment_needed, is_active);
+CREATE INDEX IF NOT EXISTS idx_ideas_popularity ON ideas(popularity_score DESC NULLS LAST, id DESC);
+CREATE INDEX IF NOT EXISTS idx_ideas_updated_at ON ideas(updated_at);
 
--- Create function to update updated_at timestamp
+-- Create function to update updated_at timestamp. Popularity-only updates
+-- (TrendingService) leave it alone: the catalog catch-up keys on updated_at
 CREATE OR REPLACE FUNCTION update_updated_at_column()
 RETURNS TRIGGER AS $$
 BEGIN
+    IF to_jsonb(NEW) - 'popularity_score' - 'updated_at' = to_jsonb(OLD) - 'popularity_score' - 'updated_at' THEN
+        RETURN NEW;
+    END IF;
     NEW.updated_at = CURRENT_TIMESTAMP;
     RETURN NEW;
 END;
@@ -179,4 +186,14 @@ ON CONFLICT DO NOTHING;
 UPDATE ideas SET is_active = true WHERE is_active = false OR is_active IS NULL;
 
 -- Also ensure the default value is set for future inserts
-ALTER TABLE ideas ALTER COLUMN is_active SET DEFAULT true; 
\ No newline at end of file
+ALTER TABLE ideas ALTER COLUMN is_active SET DEFAULT true; 
+
+-- Hibernate takes ids 50 at a time from these sequences (see migrations/pooled_sequences.sql);
+-- switched after the seed rows above, whose audience and advantage rows refer to ideas 1-3 by id
+ALTER SEQUENCE admins_id_seq INCREMENT BY 50;
+ALTER SEQUENCE ideas_id_seq INCREMENT BY 50;
+SELECT setval('admins_id_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM admins), false);
+SELECT setval('ideas_id_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM ideas), false);
+
+-- The application stores category, sector, difficulty_level, time_to_market, location and the
+-- audience and advantage values as idea_terms codes: run migrations/idea_terms.sql after this script
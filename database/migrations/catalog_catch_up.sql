@@ -0,0 +1,18 @@
+-- Catalog Catch-Up Migration (PostgreSQL)
+-- CatalogSnapshotService re-reads the ideas whose updated_at is past the
+-- snapshot version. Indexes that column, and stops the update trigger from
+-- bumping it for TrendingService's popularity-only updates, which would
+-- otherwise send every viewed idea through each catch-up.
+
+CREATE INDEX IF NOT EXISTS idx_ideas_updated_at ON ideas(updated_at);
+
+CREATE OR REPLACE FUNCTION update_updated_at_column()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF to_jsonb(NEW) - 'popularity_score' - 'updated_at' = to_jsonb(OLD) - 'popularity_score' - 'updated_at' THEN
+        RETURN NEW;
+    END IF;
+    NEW.updated_at = CURRENT_TIMESTAMP;
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
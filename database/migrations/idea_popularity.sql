@@ -0,0 +1,9 @@
+-- Idea Popularity Migration
+-- Adds the forward-decayed popularity score written by TrendingService.
+-- The score is ln(decayed engagement weight) against a fixed epoch, so rows
+-- that see no new views, saves or reviews never need rewriting.
+
+ALTER TABLE ideas ADD COLUMN IF NOT EXISTS popularity_score DOUBLE PRECISION;
+
+-- Backs GET /api/ideas/paginated?sort=popular
+CREATE INDEX IF NOT EXISTS idx_ideas_popularity ON ideas(popularity_score DESC NULLS LAST, id DESC);
@@ -0,0 +1,70 @@
+-- Idea Terms Migration (PostgreSQL)
+-- Dictionary-encodes the low-cardinality idea attributes. Category, sector,
+-- difficulty level, time to market and location on ideas, and the values
+-- of idea_target_audience and idea_special_advantages, become INTEGER
+-- foreign keys into idea_terms, which holds each distinct value once.
+-- The application maps the codes back through IdeaTermDictionary.
+-- Run once, with the application stopped: it rewrites the ideas table.
+
+BEGIN;
+
+CREATE TABLE idea_terms (
+    id INTEGER PRIMARY KEY,
+    term VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_idea_terms_term UNIQUE (term)
+);
+
+INSERT INTO idea_terms (id, term)
+SELECT ROW_NUMBER() OVER (ORDER BY term), term FROM (
+    SELECT category AS term FROM ideas
+    UNION SELECT sector FROM ideas
+    UNION SELECT difficulty_level FROM ideas
+    UNION SELECT time_to_market FROM ideas
+    UNION SELECT location FROM ideas
+    UNION SELECT target_audience FROM idea_target_audience
+    UNION SELECT special_advantages FROM idea_special_advantages
+) AS terms
+WHERE term IS NOT NULL;
+
+-- Swap each text column for a code column of the same name; dropping the
+-- text column drops the indexes and keys on it, which are recreated below
+DO $$
+DECLARE
+    c RECORD;
+BEGIN
+    FOR c IN SELECT * FROM (VALUES
+        ('ideas', 'category'), ('ideas', 'sector'), ('ideas', 'difficulty_level'),
+        ('ideas', 'time_to_market'), ('ideas', 'location'),
+        ('idea_target_audience', 'target_audience'), ('idea_special_advantages', 'special_advantages')
+    ) AS v(tbl, col) LOOP
+        EXECUTE format('ALTER TABLE %I ADD COLUMN %I INTEGER', c.tbl, c.col || '_code');
+        EXECUTE format('UPDATE %I x SET %I = t.id FROM idea_terms t WHERE t.term = x.%I',
+                       c.tbl, c.col || '_code', c.col);
+        EXECUTE format('ALTER TABLE %I DROP COLUMN %I', c.tbl, c.col);
+        EXECUTE format('ALTER TABLE %I RENAME COLUMN %I TO %I', c.tbl, c.col || '_code', c.col);
+        EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I FOREIGN KEY (%I) REFERENCES idea_terms(id)',
+                       c.tbl, 'fk_' || c.tbl || '_' || c.col, c.col);
+    END LOOP;
+END $$;
+
+ALTER TABLE ideas ALTER COLUMN category SET NOT NULL;
+ALTER TABLE ideas ALTER COLUMN sector SET NOT NULL;
+
+-- The same indexes as before, now four bytes per key
+CREATE INDEX IF NOT EXISTS idx_ideas_category ON ideas(category);
+CREATE INDEX IF NOT EXISTS idx_ideas_sector ON ideas(sector);
+CREATE INDEX IF NOT EXISTS idx_ideas_difficulty_level ON ideas(difficulty_level);
+CREATE INDEX IF NOT EXISTS idx_ideas_location ON ideas(location);
+CREATE INDEX IF NOT EXISTS idx_ideas_category_sector ON ideas(category, sector);
+CREATE INDEX IF NOT EXISTS idx_ideas_category_active ON ideas(category, is_active);
+CREATE INDEX IF NOT EXISTS idx_ideas_sector_active ON ideas(sector, is_active);
+CREATE INDEX IF NOT EXISTS idx_ideas_difficulty_active ON ideas(difficulty_level, is_active);
+CREATE INDEX IF NOT EXISTS idx_ideas_location_active ON ideas(location, is_active);
+CREATE INDEX IF NOT EXISTS idx_idea_target_audience_idea ON idea_target_audience(idea_id, target_audience);
+CREATE INDEX IF NOT EXISTS idx_idea_special_advantages_idea ON idea_special_advantages(idea_id, special_advantages);
+
+COMMIT;
+
+-- Storage before and after (run before the migration too):
+-- SELECT relname, pg_size_pretty(pg_relation_size(oid)) FROM pg_class
+--  WHERE relname LIKE 'idx_idea%' OR relname IN ('ideas', 'idea_target_audience', 'idea_special_advantages');
@@ -0,0 +1,11 @@
+-- Idea Terms Sequence Migration (PostgreSQL)
+-- IdeaTermDictionary draws new term ids from idea_terms_id_seq, inside the
+-- transaction that saves the idea. Run after idea_terms.sql; the sequence
+-- starts past the ids that migration assigned.
+
+CREATE SEQUENCE IF NOT EXISTS idea_terms_id_seq INCREMENT BY 1;
+
+SELECT setval('idea_terms_id_seq', COALESCE((SELECT MAX(id) FROM idea_terms), 0) + 1, false);
+
+ALTER TABLE idea_terms ALTER COLUMN id SET DEFAULT nextval('idea_terms_id_seq');
+ALTER SEQUENCE idea_terms_id_seq OWNED BY idea_terms.id;
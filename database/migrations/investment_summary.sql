@@ -0,0 +1,5 @@
+-- Investment Summary Migration
+-- Covering index for the grouped investment aggregates (per idea, and for a
+-- page of idea ids), so the totals are read from the index alone.
+
+CREATE INDEX idx_idea_investments_summary ON idea_investments(idea_id, priority_level, is_optional, amount);
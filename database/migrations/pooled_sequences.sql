@@ -0,0 +1,23 @@
+-- Pooled Sequences Migration (PostgreSQL)
+-- Entities now take their ids from <table>_id_seq with allocationSize 50
+-- instead of IDENTITY, so Hibernate can batch inserts. Each sequence must
+-- step by 50 and start above the current maximum id; Hibernate refuses to
+-- start if the increment does not match. Plain inserts that rely on the
+-- column default keep working and just skip ahead.
+
+DO $$
+DECLARE
+    t TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY[
+        'admins', 'admin_sessions', 'categories', 'ideas', 'idea_bank_loans',
+        'idea_internal_factors', 'idea_investments', 'idea_reviews', 'idea_schemes',
+        'proposed_ideas', 'saved_ideas', 'upload_history', 'users', 'user_reviews', 'user_rewards'
+    ] LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I', t || '_id_seq');
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', t || '_id_seq');
+        -- pooled-lo hands out nextval .. nextval + 49, so nextval must be above every existing id
+        EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 1, false)', t || '_id_seq', t);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET DEFAULT nextval(%L)', t, t || '_id_seq');
+    END LOOP;
+END $$;
@@ -0,0 +1,20 @@
+-- Proposal Moderation Migration
+-- Adds the columns ProposalModerationService needs: a queue priority, an
+-- optimistic-lock version checked by every claim, the id of the idea an
+-- approved proposal was promoted to, and the sector copied onto that idea.
+
+ALTER TABLE proposed_ideas ADD COLUMN priority INT NOT NULL DEFAULT 0;
+ALTER TABLE proposed_ideas ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE proposed_ideas ADD COLUMN idea_id BIGINT NULL;
+ALTER TABLE proposed_ideas ADD COLUMN sector VARCHAR(100) NULL;
+
+-- The entity stores the reviewing admin's login name, not a user id
+ALTER TABLE proposed_ideas DROP FOREIGN KEY proposed_ideas_ibfk_2;
+ALTER TABLE proposed_ideas MODIFY reviewed_by VARCHAR(255) NULL;
+
+ALTER TABLE proposed_ideas ADD CONSTRAINT fk_proposed_ideas_idea
+    FOREIGN KEY (idea_id) REFERENCES ideas(id) ON DELETE SET NULL;
+
+-- Keyset order of the moderation queue: status filter, then highest priority,
+-- age, id, matching the entity's index
+CREATE INDEX idx_proposed_ideas_queue ON proposed_ideas(status, priority DESC, submitted_at, id);
@@ -0,0 +1,5 @@
+-- Review Moderation Migration
+-- Backs the keyset-paged pending queue: WHERE is_approved = FALSE
+-- ORDER BY created_at DESC, id DESC reads straight off this index.
+
+CREATE INDEX idx_idea_reviews_pending ON idea_reviews(is_approved, created_at, id);
@@ -0,0 +1,18 @@
+-- Review Ranking Migration
+-- Precomputes the helpfulness rank behind GET /api/idea-details/{id}/reviews?sort=helpful:
+-- the lower bound of the 95% Wilson score interval of helpful / (helpful + unhelpful).
+-- The application keeps it current on every vote; each sort gets its own keyset index.
+
+ALTER TABLE idea_reviews ADD COLUMN helpfulness_score DOUBLE NOT NULL DEFAULT 0;
+
+-- Backfill with z = 1.96, rearranged to
+-- (h + z^2/2 - z * sqrt(h*u/n + z^2/4)) / (n + z^2), n = h + u
+UPDATE idea_reviews
+SET helpfulness_score = (helpful_votes + 1.9208
+        - 1.96 * SQRT(1.0 * helpful_votes * unhelpful_votes / (helpful_votes + unhelpful_votes) + 0.9604))
+    / (helpful_votes + unhelpful_votes + 3.8416)
+WHERE helpful_votes + unhelpful_votes > 0;
+
+CREATE INDEX idx_idea_reviews_recent ON idea_reviews(idea_id, is_approved, created_at, id);
+CREATE INDEX idx_idea_reviews_rating ON idea_reviews(idea_id, is_approved, rating, id);
+CREATE INDEX idx_idea_reviews_helpful ON idea_reviews(idea_id, is_approved, helpfulness_score, id);
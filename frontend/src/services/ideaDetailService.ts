@@ -4,6 +4,8 @@ import {
   RatingSummary, 
   IdeaInternalFactors, 
   IdeaInvestment, 
+  InvestmentAggregate,
+  InvestmentTotals,
   IdeaScheme, 
   IdeaBankLoan,
   ReviewFormData,
@@ -69,6 +71,14 @@ class IdeaDetailService {
     }>(`/${ideaId}/investments`);
   }
 
+  async getInvestmentAggregate(ideaId: number): Promise<InvestmentAggregate> {
+    return this.request<InvestmentAggregate>(`/${ideaId}/investments/summary`);
+  }
+
+  async getInvestmentTotals(ideaIds: number[]): Promise<Record<number, InvestmentTotals>> {
+    return this.request<Record<number, InvestmentTotals>>(`/investments/totals?ideaIds=${ideaIds.join(',')}`);
+  }
+
   async createInvestment(ideaId: number, data: InvestmentFormData): Promise<IdeaInvestment> {
     return this.request<IdeaInvestment>(`/${ideaId}/investments`, {
       method: 'POST',
@@ -127,8 +137,15 @@ class IdeaDetailService {
   }
 
   // Reviews
-  async getReviews(ideaId: number): Promise<IdeaReview[]> {
-    return this.request<IdeaReview[]>(`/${ideaId}/reviews`);
+  async getReviews(
+    ideaId: number,
+    sort: 'recent' | 'rating' | 'helpful' = 'recent',
+    cursor?: string,
+    size = 10
+  ): Promise<{ reviews: IdeaReview[]; size: number; sort: string; nextCursor: string | null }> {
+    const params = new URLSearchParams({ sort, size: String(size) });
+    if (cursor) params.set('cursor', cursor);
+    return this.request(`/${ideaId}/reviews?${params}`);
   }
 
   async getRatingSummary(ideaId: number): Promise<RatingSummary> {
@@ -149,8 +166,10 @@ class IdeaDetailService {
   }
 
   // Admin endpoints
-  async getPendingReviews(): Promise<IdeaReview[]> {
-    return this.request<IdeaReview[]>('/admin/reviews/pending');
+  async getPendingReviews(cursor?: string, size = 50): Promise<{ reviews: IdeaReview[]; size: number; nextCursor: string | null }> {
+    const params = new URLSearchParams({ size: String(size) });
+    if (cursor) params.set('cursor', cursor);
+    return this.request(`/admin/reviews/pending?${params}`);
   }
 
   async approveReview(reviewId: number): Promise<IdeaReview> {
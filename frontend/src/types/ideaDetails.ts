@@ -8,6 +8,7 @@ export interface IdeaReview {
   rating: number;
   helpfulVotes: number;
   unhelpfulVotes: number;
+  helpfulnessScore: number;
   isRecommended: boolean;
   createdAt: string;
   updatedAt: string;
@@ -49,6 +50,21 @@ export interface InvestmentSummary {
   investmentCount: number;
 }
 
+export interface InvestmentTotals {
+  total: number;
+  count: number;
+  requiredTotal?: number;
+}
+
+export interface InvestmentAggregate {
+  ideaId: number;
+  totalInvestment: number;
+  investmentCount: number;
+  byPriority: Record<string, InvestmentTotals>;
+  required: InvestmentTotals;
+  optional: InvestmentTotals;
+}
+
 export interface IdeaScheme {
   id: number;
   ideaId: number;
@@ -99,6 +115,7 @@ export interface CompleteIdeaDetails {
   bankLoans: IdeaBankLoan[];
   ratingSummary: RatingSummary;
   reviews: IdeaReview[];
+  reviewsNextCursor: string | null;
 }
 
 export interface ReviewFormData {